@@ -7,6 +7,8 @@ import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.UUID;
+
 import wiki.creeper.superiorskyblockIntegeration.api.NetworkSkyblockService;
 import wiki.creeper.superiorskyblockIntegeration.api.PlayerMetadataService;
 import wiki.creeper.superiorskyblockIntegeration.api.PlayerProfileService;
@@ -30,11 +32,13 @@ import wiki.creeper.superiorskyblockIntegeration.client.services.NetworkPlayerPr
 import wiki.creeper.superiorskyblockIntegeration.client.services.QuestProgressService;
 import wiki.creeper.superiorskyblockIntegeration.client.services.FarmHistoryService;
 import wiki.creeper.superiorskyblockIntegeration.common.ComponentLifecycle;
+import wiki.creeper.superiorskyblockIntegeration.common.MetricsReporter;
 import wiki.creeper.superiorskyblockIntegeration.config.PluginConfig;
 import wiki.creeper.superiorskyblockIntegeration.redis.HmacSigner;
 import wiki.creeper.superiorskyblockIntegeration.redis.MessageSecurity;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisChannels;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisManager;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisWireCodec;
 
 /**
  * Client component running on non-SSB servers that proxies player commands to the gateway.
@@ -49,6 +53,7 @@ public final class ClientApplication implements ComponentLifecycle {
 
     private RedisChannels channels;
     private MessageSecurity security;
+    private RedisWireCodec wire;
     private ClientPendingRequests pendingRequests;
     private ClientRedisListener listener;
     private ClientRequestDispatcher dispatcher;
@@ -64,6 +69,7 @@ public final class ClientApplication implements ComponentLifecycle {
     private QuestProgressListener questProgressListener;
     private FarmRewardService farmRewardService;
     private FarmShopService farmShopService;
+    private MetricsReporter metricsReporter;
 
     public ClientApplication(JavaPlugin plugin, PluginConfig config, RedisManager redisManager, Messages messages) {
         this.plugin = plugin;
@@ -78,9 +84,11 @@ public final class ClientApplication implements ComponentLifecycle {
         this.presenceService = new PlayerPresenceService(plugin);
         this.channels = new RedisChannels(config.channels().prefix());
         this.security = new MessageSecurity(new HmacSigner(config.security().hmacSecret()));
+        this.wire = new RedisWireCodec(security, config.redis());
         this.cache = new ClientCache(config.client().cache());
         this.pendingRequests = new ClientPendingRequests(plugin);
-        this.dispatcher = new ClientRequestDispatcher(plugin, config, redisManager, channels, security, pendingRequests);
+        String replyChannel = channels.replyChannel(UUID.randomUUID().toString());
+        this.dispatcher = new ClientRequestDispatcher(plugin, config, redisManager, channels, wire, pendingRequests, replyChannel);
         this.networkService = new ClientNetworkService(dispatcher);
         plugin.getServer().getServicesManager().register(NetworkSkyblockService.class, networkService, plugin, ServicePriority.Normal);
         this.menuManager = new IslandMenuManager(plugin, networkService, cache);
@@ -100,13 +108,13 @@ public final class ClientApplication implements ComponentLifecycle {
         if (presenceService != null) {
             this.menuManager.setPresenceService(presenceService);
         }
-        this.listener = new ClientRedisListener(plugin, security, channels, pendingRequests, cache, headDataService, menuManager, messages);
+        this.listener = new ClientRedisListener(plugin, wire, channels, replyChannel, pendingRequests, cache, headDataService, menuManager, messages);
         this.playerListener = new ClientPlayerListener(plugin, networkService, headDataService);
         ChestSortIntegrationListener chestSort = new ChestSortIntegrationListener(plugin);
         if (chestSort.isEnabled()) {
             this.chestSortListener = chestSort;
         }
-        this.questProgressService = new QuestProgressService(plugin, networkService);
+        this.questProgressService = new QuestProgressService(plugin, networkService, config.client().questProgress());
         this.questProgressListener = new QuestProgressListener(questProgressService);
         this.menuManager.setQuestProgressService(questProgressService);
 
@@ -118,10 +126,14 @@ public final class ClientApplication implements ComponentLifecycle {
         plugin.getServer().getServicesManager().register(PlayerMetadataService.class, metadataService, plugin, ServicePriority.Normal);
         plugin.getServer().getServicesManager().register(PlayerProfileService.class, profileService, plugin, ServicePriority.Normal);
 
-        StatefulRedisPubSubConnection<String, String> connection = redisManager.connectPubSub();
+        StatefulRedisPubSubConnection<String, byte[]> connection = redisManager.connectBinaryPubSub();
         listener.register(connection);
 
         registerCommands();
+        this.metricsReporter = new MetricsReporter(plugin, config.logging().metricsIntervalSeconds());
+        metricsReporter.register("requests", dispatcher.metrics()::summary);
+        metricsReporter.register("redis", redisManager::latencySummary);
+        metricsReporter.start();
         plugin.getLogger().info("Client component ready; Redis prefix=" + channels.requestPattern());
     }
 
@@ -143,6 +155,13 @@ public final class ClientApplication implements ComponentLifecycle {
 
     @Override
     public void stop() {
+        if (metricsReporter != null) {
+            metricsReporter.stop();
+            metricsReporter = null;
+        }
+        if (questProgressService != null) {
+            questProgressService.shutdown();
+        }
         if (listener != null) {
             listener.gracefulShutdown();
         }
@@ -6,6 +6,7 @@ import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -16,6 +17,7 @@ import wiki.creeper.superiorskyblockIntegeration.api.NetworkPayloadCustomizer;
 import wiki.creeper.superiorskyblockIntegeration.api.NetworkSkyblockService;
 import wiki.creeper.superiorskyblockIntegeration.client.messaging.ClientRequestDispatcher;
 import wiki.creeper.superiorskyblockIntegeration.common.Operations;
+import wiki.creeper.superiorskyblockIntegeration.common.quest.QuestProgressIncrement;
 import wiki.creeper.superiorskyblockIntegeration.common.quest.QuestType;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisMessage;
 
@@ -199,6 +201,24 @@ public final class ClientNetworkService implements NetworkSkyblockService {
         });
     }
 
+    @Override
+    public CompletableFuture<NetworkOperationResult> questProgressBatch(Player actor,
+                                                                         List<QuestProgressIncrement> increments,
+                                                                         String contributorUuid) {
+        return execute(Operations.QUEST_PROGRESS_BATCH, actor, message -> {
+            JsonArray entries = new JsonArray();
+            if (increments != null) {
+                for (QuestProgressIncrement increment : increments) {
+                    entries.add(increment.toJson());
+                }
+            }
+            message.data().add("entries", entries);
+            if (contributorUuid != null && !contributorUuid.isBlank()) {
+                message.data().addProperty("contributor", contributorUuid);
+            }
+        });
+    }
+
     @Override
     public CompletableFuture<NetworkOperationResult> farmRankingTop(Player actor, int limit) {
         return execute(Operations.FARM_RANKING_TOP, actor, message ->
@@ -12,6 +12,7 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.inventory.FurnaceExtractEvent;
 import org.bukkit.event.player.PlayerFishEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
 import wiki.creeper.superiorskyblockIntegeration.client.services.QuestProgressService;
 import wiki.creeper.superiorskyblockIntegeration.common.quest.QuestType;
@@ -91,6 +92,11 @@ public final class QuestProgressListener implements Listener {
         incrementBoth(player, 11, 1);
     }
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        progressService.flush(event.getPlayer().getUniqueId());
+    }
+
     private boolean isMatureCrop(Material material, Block block) {
         if (material == Material.WHEAT || material == Material.POTATOES || material == Material.CARROTS) {
             return isFullyGrown(block);
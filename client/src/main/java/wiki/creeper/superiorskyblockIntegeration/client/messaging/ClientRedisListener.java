@@ -8,6 +8,7 @@ import org.bukkit.ChatColor;
 import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
@@ -23,33 +24,37 @@ import wiki.creeper.superiorskyblockIntegeration.client.cache.ClientCache;
 import wiki.creeper.superiorskyblockIntegeration.client.menu.IslandMenuManager;
 import wiki.creeper.superiorskyblockIntegeration.client.services.ClientHeadDataService;
 import wiki.creeper.superiorskyblockIntegeration.client.lang.Messages;
-import wiki.creeper.superiorskyblockIntegeration.redis.MessageSecurity;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisBatch;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisChannels;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisMessage;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisWireCodec;
 
-public final class ClientRedisListener extends RedisPubSubAdapter<String, String> {
+public final class ClientRedisListener extends RedisPubSubAdapter<String, byte[]> {
 
     private final JavaPlugin plugin;
-    private final MessageSecurity security;
+    private final RedisWireCodec wire;
     private final RedisChannels channels;
+    private final String replyChannel;
     private final ClientPendingRequests pendingRequests;
     private final ClientCache cache;
     private final ClientHeadDataService headDataService;
     private final IslandMenuManager menus;
     private final Messages messages;
-    private StatefulRedisPubSubConnection<String, String> connection;
+    private StatefulRedisPubSubConnection<String, byte[]> connection;
 
     public ClientRedisListener(JavaPlugin plugin,
-                               MessageSecurity security,
+                               RedisWireCodec wire,
                                RedisChannels channels,
+                               String replyChannel,
                                ClientPendingRequests pendingRequests,
                                ClientCache cache,
                                ClientHeadDataService headDataService,
                                IslandMenuManager menus,
                                Messages messages) {
         this.plugin = plugin;
-        this.security = security;
+        this.wire = wire;
         this.channels = channels;
+        this.replyChannel = replyChannel;
         this.pendingRequests = pendingRequests;
         this.cache = cache;
         this.headDataService = headDataService;
@@ -57,30 +62,46 @@ public final class ClientRedisListener extends RedisPubSubAdapter<String, String
         this.messages = messages;
     }
 
-    public void register(StatefulRedisPubSubConnection<String, String> connection) {
+    public void register(StatefulRedisPubSubConnection<String, byte[]> connection) {
         this.connection = connection;
         connection.addListener(this);
-        connection.async().psubscribe(channels.responsePattern(), channels.eventPattern(), channels.busPattern());
+        // Responses arrive on this node's own channel; only events and bus topics need pattern matching.
+        connection.async().subscribe(replyChannel);
+        connection.async().psubscribe(channels.eventPattern(), channels.busPattern());
     }
 
     @Override
-    public void message(String pattern, String channel, String message) {
+    public void message(String pattern, String channel, byte[] message) {
+        handle(channel, message);
+    }
+
+    @Override
+    public void message(String channel, byte[] message) {
+        handle(channel, message);
+    }
+
+    private void handle(String channel, byte[] message) {
         try {
             if (channels.isBusChannel(channel)) {
-                handleBusChannel(channel, message);
+                handleBusChannel(channel, new String(message, StandardCharsets.UTF_8));
                 return;
             }
-            if (messages != null && messages.redisDebugEnabled()) {
-                plugin.getLogger().info("[RedisEvt] recv " + channel + " => " + message);
-            }
-            RedisMessage payload = RedisMessage.parse(message);
-            if (!security.verify(payload)) {
+            RedisMessage payload = wire.decode(message);
+            if (payload == null) {
                 plugin.getLogger().warning("Dropped message with invalid signature from " + channel);
                 return;
             }
-            payload.decompressDataIfNeeded();
-            if (channels.isResponseChannel(channel)) {
-                pendingRequests.complete(payload.id(), payload);
+            if (messages != null && messages.redisDebugEnabled()) {
+                plugin.getLogger().info("[RedisEvt] recv " + channel + " (" + payload.wireFormat() + ") => " + payload.toJson());
+            }
+            if (channel.equals(replyChannel)) {
+                if (RedisBatch.isBatch(payload)) {
+                    for (RedisMessage response : RedisBatch.responses(payload)) {
+                        pendingRequests.complete(response.id(), response);
+                    }
+                } else {
+                    pendingRequests.complete(payload.id(), payload);
+                }
             } else if (channels.isEventChannel(channel)) {
                 String eventType = extractEventType(channel);
                 cache.invalidateByEvent(eventType, payload);
@@ -96,10 +117,10 @@ public final class ClientRedisListener extends RedisPubSubAdapter<String, String
             return;
         }
         try {
-            CompletableFuture<?> future = connection.async()
-                    .punsubscribe(channels.responsePattern(), channels.eventPattern(), channels.busPattern())
-                    .toCompletableFuture();
-            future.join();
+            CompletableFuture.allOf(
+                    connection.async().unsubscribe(replyChannel).toCompletableFuture(),
+                    connection.async().punsubscribe(channels.eventPattern(), channels.busPattern()).toCompletableFuture()
+            ).join();
         } catch (Exception ex) {
             plugin.getLogger().log(Level.WARNING, "Error while unsubscribing client listener", ex);
         } finally {
@@ -112,11 +133,6 @@ public final class ClientRedisListener extends RedisPubSubAdapter<String, String
         }
     }
 
-    @Override
-    public void message(String channel, String message) {
-        // not used
-    }
-
     @Override
     public void subscribed(String channel, long count) {
         // no-op
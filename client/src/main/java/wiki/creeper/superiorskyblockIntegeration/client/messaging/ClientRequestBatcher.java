@@ -0,0 +1,105 @@
+package wiki.creeper.superiorskyblockIntegeration.client.messaging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import wiki.creeper.superiorskyblockIntegeration.common.Operations;
+import wiki.creeper.superiorskyblockIntegeration.config.PluginConfig;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisBatch;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisMessage;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisRequestPublisher;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisWireCodec;
+
+/**
+ * Coalesces requests issued within {@code client.batch.windowMs} into one {@link RedisBatch} envelope, so a menu
+ * that opens with several lookups costs one signature and one publish. The window starts with the first queued
+ * request; a full batch is sent immediately and a lone request is published on its own.
+ */
+final class ClientRequestBatcher {
+
+    private final RedisRequestPublisher publisher;
+    private final RedisWireCodec wire;
+    private final String replyChannel;
+    private final Logger logger;
+    private final long windowMs;
+    private final int maxSize;
+    private final Object lock = new Object();
+    private List<Entry> queued = new ArrayList<>();
+
+    ClientRequestBatcher(RedisRequestPublisher publisher,
+                         RedisWireCodec wire,
+                         PluginConfig.BatchSettings settings,
+                         String replyChannel,
+                         Logger logger) {
+        this.publisher = publisher;
+        this.wire = wire;
+        this.replyChannel = replyChannel;
+        this.logger = logger;
+        this.windowMs = settings.windowMs();
+        this.maxSize = settings.maxSize();
+    }
+
+    /**
+     * Sends {@code request} now or with the current batch. {@code publishAlone} publishes it as a regular request
+     * and is used when batching is disabled or nothing else joined the window.
+     */
+    void submit(RedisMessage request, Runnable publishAlone) {
+        if (windowMs <= 0L) {
+            publishAlone.run();
+            return;
+        }
+        List<Entry> full = null;
+        boolean first;
+        synchronized (lock) {
+            queued.add(new Entry(request, publishAlone));
+            first = queued.size() == 1;
+            if (queued.size() >= maxSize) {
+                full = queued;
+                queued = new ArrayList<>();
+            }
+        }
+        if (full != null) {
+            publish(full);
+        } else if (first) {
+            CompletableFuture.delayedExecutor(windowMs, TimeUnit.MILLISECONDS).execute(this::flush);
+        }
+    }
+
+    private void flush() {
+        List<Entry> batch;
+        synchronized (lock) {
+            if (queued.isEmpty()) {
+                return;
+            }
+            batch = queued;
+            queued = new ArrayList<>();
+        }
+        publish(batch);
+    }
+
+    private void publish(List<Entry> batch) {
+        try {
+            if (batch.size() == 1) {
+                batch.get(0).publishAlone().run();
+                return;
+            }
+            List<RedisMessage> requests = new ArrayList<>(batch.size());
+            for (Entry entry : batch) {
+                requests.add(entry.request());
+            }
+            RedisMessage envelope = RedisBatch.envelope(requests);
+            envelope.setReplyTo(replyChannel);
+            publisher.send(Operations.BATCH.op(), wire.encode(envelope));
+        } catch (RuntimeException ex) {
+            // the requests time out and are retried individually where allowed
+            logger.log(Level.WARNING, "Failed to publish batch of " + batch.size() + " request(s)", ex);
+        }
+    }
+
+    private record Entry(RedisMessage request, Runnable publishAlone) {
+    }
+}
@@ -1,44 +1,62 @@
 package wiki.creeper.superiorskyblockIntegeration.client.messaging;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
 import wiki.creeper.superiorskyblockIntegeration.common.Operations;
 import wiki.creeper.superiorskyblockIntegeration.config.PluginConfig;
-import wiki.creeper.superiorskyblockIntegeration.redis.MessageSecurity;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisChannels;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisManager;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisMessage;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisRequestPublisher;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisWireCodec;
 
 /**
- * Handles outgoing requests to the gateway and awaits responses.
+ * Handles outgoing requests to the gateway and awaits responses. Requests that {@link ClientRetryPolicy} allows
+ * are re-published with the same id when an attempt times out after {@code timeouts.requestMs} or the gateway
+ * answers with a retryable error; the whole exchange never outlasts {@code timeouts.responseMaxWaitMs}.
+ * Every request names this node's reply channel, so responses reach only the server that asked.
  */
 public final class ClientRequestDispatcher {
 
     private final JavaPlugin plugin;
     private final PluginConfig config;
-    private final RedisManager redisManager;
-    private final RedisChannels channels;
-    private final MessageSecurity security;
+    private final RedisRequestPublisher publisher;
+    private final RedisWireCodec wire;
     private final ClientPendingRequests pendingRequests;
+    private final String replyChannel;
+    private final ClientRetryPolicy retryPolicy;
+    private final ClientRequestBatcher batcher;
+    private final ClientRequestMetrics metrics = new ClientRequestMetrics();
 
     public ClientRequestDispatcher(JavaPlugin plugin,
                                    PluginConfig config,
                                    RedisManager redisManager,
                                    RedisChannels channels,
-                                   MessageSecurity security,
-                                   ClientPendingRequests pendingRequests) {
+                                   RedisWireCodec wire,
+                                   ClientPendingRequests pendingRequests,
+                                   String replyChannel) {
         this.plugin = plugin;
         this.config = config;
-        this.redisManager = redisManager;
-        this.channels = channels;
-        this.security = security;
+        this.publisher = new RedisRequestPublisher(redisManager, channels, config.channels());
+        this.wire = wire;
         this.pendingRequests = pendingRequests;
+        this.replyChannel = replyChannel;
+        this.retryPolicy = new ClientRetryPolicy(config.client().retry());
+        this.batcher = new ClientRequestBatcher(publisher, wire, config.client().batch(), replyChannel, plugin.getLogger());
+    }
+
+    public ClientRequestMetrics metrics() {
+        return metrics;
     }
 
     public CompletableFuture<RedisMessage> send(Operations operation,
@@ -59,17 +77,145 @@ public final class ClientRequestDispatcher {
         if (payloadCustomizer != null) {
             payloadCustomizer.accept(request);
         }
+        request.setReplyTo(replyChannel);
+
+        return new Exchange(operation, request).start();
+    }
+
+    private static boolean retryableError(RedisMessage response) {
+        // RedisMessage#error() would insert an empty error object into ok responses
+        JsonElement error = response.root().get("error");
+        if (error == null || !error.isJsonObject()) {
+            return false;
+        }
+        JsonElement retryable = error.getAsJsonObject().get("retryable");
+        return retryable != null && retryable.isJsonPrimitive() && retryable.getAsBoolean();
+    }
+
+    /**
+     * One logical request and its attempts. Attempts never overlap except for the hedged duplicate, which shares
+     * the first attempt's pending registration. The first attempt may travel inside a batch envelope; retries and
+     * hedges are published on their own.
+     */
+    private final class Exchange {
+
+        private final Operations operation;
+        private final RedisMessage request;
+        private final String requestId;
+        private byte[] frame;
+        private final int maxRetries;
+        private final long deadlineNanos;
+        private final CompletableFuture<RedisMessage> result = new CompletableFuture<>();
+        private volatile int retries;
+
+        private Exchange(Operations operation, RedisMessage request) {
+            this.operation = operation;
+            this.request = request;
+            this.requestId = request.id();
+            this.maxRetries = retryPolicy.retriesFor(operation);
+            this.deadlineNanos = System.nanoTime()
+                    + TimeUnit.MILLISECONDS.toNanos(config.timeouts().responseMaxWaitMs());
+        }
+
+        private CompletableFuture<RedisMessage> start() {
+            attempt();
+            long hedgeDelay = retryPolicy.hedgeDelayFor(operation);
+            if (hedgeDelay > 0L && hedgeDelay < remainingMs()) {
+                CompletableFuture.delayedExecutor(hedgeDelay, TimeUnit.MILLISECONDS).execute(this::hedge);
+            }
+            return result;
+        }
+
+        private void attempt() {
+            long remaining = remainingMs();
+            long wait = retries < maxRetries ? Math.min(remaining, config.timeouts().requestMs()) : remaining;
+            CompletableFuture<RedisMessage> pending = pendingRequests.register(requestId, Math.max(1L, wait));
+            pending.whenComplete(this::onAttemptDone);
+            try {
+                if (retries == 0) {
+                    batcher.submit(request, this::publishAlone);
+                } else {
+                    publishAlone();
+                }
+            } catch (RuntimeException ex) {
+                pending.completeExceptionally(ex);
+            }
+        }
+
+        private void publishAlone() {
+            publisher.send(operation.op(), frame());
+        }
+
+        /**
+         * Encodes on first use; signing and compression happen once however often the frame is re-published.
+         */
+        private synchronized byte[] frame() {
+            if (frame == null) {
+                frame = wire.encode(request);
+            }
+            return frame;
+        }
+
+        private void hedge() {
+            if (result.isDone() || retries > 0) {
+                return;
+            }
+            metrics.hedge(operation);
+            try {
+                publishAlone();
+            } catch (RuntimeException ignored) {
+                // the first attempt is still waiting and fails on its own
+            }
+        }
 
-        request.compressDataIfNeeded(config.redis().messageCompressionThreshold());
-        security.sign(request);
+        private void onAttemptDone(RedisMessage response, Throwable error) {
+            if (result.isDone()) {
+                return;
+            }
+            if (error == null) {
+                if (!response.ok() && retryableError(response) && scheduleRetry()) {
+                    return;
+                }
+                if (response.ok()) {
+                    metrics.success(operation);
+                } else {
+                    metrics.failure(operation);
+                }
+                result.complete(response);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof TimeoutException) {
+                if (scheduleRetry()) {
+                    return;
+                }
+                metrics.timeout(operation);
+            } else {
+                metrics.failure(operation);
+            }
+            result.completeExceptionally(cause);
+        }
 
-        CompletableFuture<RedisMessage> future = pendingRequests.register(
-                request.id(),
-                config.timeouts().responseMaxWaitMs()
-        );
+        private boolean scheduleRetry() {
+            if (retries >= maxRetries) {
+                return false;
+            }
+            long delay = retryPolicy.backoffMs(retries + 1);
+            if (delay >= remainingMs()) {
+                return false;
+            }
+            retries++;
+            metrics.retry(operation);
+            if (delay == 0L) {
+                attempt();
+            } else {
+                CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(this::attempt);
+            }
+            return true;
+        }
 
-        String channel = channels.requestChannel(operation.op());
-        redisManager.publish(channel, request.toJson());
-        return future;
+        private long remainingMs() {
+            return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+        }
     }
 }
@@ -0,0 +1,89 @@
+package wiki.creeper.superiorskyblockIntegeration.client.messaging;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.LongAdder;
+
+import wiki.creeper.superiorskyblockIntegeration.common.Operations;
+
+/**
+ * Per-operation outcome counters for requests sent by {@link ClientRequestDispatcher}.
+ */
+public final class ClientRequestMetrics {
+
+    private final Map<Operations, Counters> counters = new EnumMap<>(Operations.class);
+
+    ClientRequestMetrics() {
+        for (Operations operation : Operations.values()) {
+            counters.put(operation, new Counters());
+        }
+    }
+
+    void success(Operations operation) {
+        counters.get(operation).success.increment();
+    }
+
+    void failure(Operations operation) {
+        counters.get(operation).failure.increment();
+    }
+
+    void retry(Operations operation) {
+        counters.get(operation).retry.increment();
+    }
+
+    void hedge(Operations operation) {
+        counters.get(operation).hedge.increment();
+    }
+
+    void timeout(Operations operation) {
+        counters.get(operation).timeout.increment();
+    }
+
+    /**
+     * Counters of every operation that has been sent at least once.
+     */
+    public Map<Operations, OperationStats> snapshot() {
+        Map<Operations, OperationStats> result = new EnumMap<>(Operations.class);
+        counters.forEach((operation, c) -> {
+            OperationStats stats = new OperationStats(c.success.sum(), c.failure.sum(), c.retry.sum(),
+                    c.hedge.sum(), c.timeout.sum());
+            if (stats.success() + stats.failure() + stats.timeout() > 0L) {
+                result.put(operation, stats);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * One-line summary of {@link #snapshot()}, or an empty string when nothing has been sent yet.
+     */
+    public String summary() {
+        StringJoiner joiner = new StringJoiner(", ");
+        snapshot().forEach((operation, stats) -> joiner.add(operation.op()
+                + " ok=" + stats.success()
+                + " failed=" + stats.failure()
+                + " retried=" + stats.retry()
+                + " hedged=" + stats.hedge()
+                + " timedOut=" + stats.timeout()));
+        return joiner.toString();
+    }
+
+    /**
+     * @param success requests answered with {@code ok}
+     * @param failure requests answered with an error, after any retries
+     * @param retry   re-publishes after a timeout or a retryable error
+     * @param hedge   duplicate sends of slow reads
+     * @param timeout requests that never got an answer
+     */
+    public record OperationStats(long success, long failure, long retry, long hedge, long timeout) {
+    }
+
+    private static final class Counters {
+        private final LongAdder success = new LongAdder();
+        private final LongAdder failure = new LongAdder();
+        private final LongAdder retry = new LongAdder();
+        private final LongAdder hedge = new LongAdder();
+        private final LongAdder timeout = new LongAdder();
+    }
+}
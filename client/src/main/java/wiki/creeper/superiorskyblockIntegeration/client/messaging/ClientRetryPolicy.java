@@ -0,0 +1,99 @@
+package wiki.creeper.superiorskyblockIntegeration.client.messaging;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import wiki.creeper.superiorskyblockIntegeration.common.Operations;
+import wiki.creeper.superiorskyblockIntegeration.config.PluginConfig;
+
+/**
+ * Decides which requests may be re-published and how long to wait in between.
+ *
+ * <p>Only operations that are safe to run twice are retried: reads, and writes that either overwrite state or are
+ * deduplicated by the gateway's idempotency keys. A retry re-publishes the original frame, so the gateway sees the
+ * same request id. Reads are additionally hedged: if nothing arrived after {@code hedgeDelayMs}, one duplicate is
+ * sent while the first attempt keeps waiting.</p>
+ */
+final class ClientRetryPolicy {
+
+    private static final Set<Operations> READS = EnumSet.of(
+            Operations.INVITES_PENDING,
+            Operations.ISLAND_GET,
+            Operations.MEMBERS_LIST,
+            Operations.DATA_GET,
+            Operations.PLAYER_PROFILE_LOOKUP,
+            Operations.PLAYER_ISLAND_LOOKUP,
+            Operations.QUEST_STATE,
+            Operations.FARM_RANKING_TOP,
+            Operations.FARM_RANKING_MEMBERS,
+            Operations.FARM_HISTORY_LIST,
+            Operations.FARM_HISTORY_DETAIL,
+            Operations.FARM_BORDER_STATE,
+            Operations.FARM_REWARD_TABLE,
+            Operations.FARM_SHOP_TABLE,
+            Operations.FARM_POINTS_INFO,
+            Operations.FARM_HOPPER_INFO,
+            Operations.FARM_WARP_HOME_LIST,
+            Operations.FARM_WARP_PLAYER_LIST,
+            Operations.FARM_WARP_GLOBAL_LIST,
+            Operations.FARM_RULE_LIST,
+            Operations.FARM_COOP_LIST,
+            Operations.FARM_BAN_LIST,
+            Operations.ROLE_PERMISSIONS_LIST,
+            Operations.BANK_STATE,
+            Operations.BANK_HISTORY,
+            Operations.ADMIN_LOOKUP_ISLAND_UUID,
+            Operations.ADMIN_LOOKUP_ISLAND_OWNER,
+            Operations.ADMIN_LOAD_POWER_REWARD,
+            Operations.ADMIN_LOAD_TOP_REWARD
+    );
+    private static final Set<Operations> IDEMPOTENT_WRITES = EnumSet.of(
+            Operations.INVITE_CREATE,
+            Operations.INVITE_ACCEPT,
+            Operations.INVITE_DENY,
+            Operations.DATA_PUT,
+            Operations.DATA_DELETE,
+            Operations.PLAYER_PROFILE_REGISTER,
+            Operations.BANK_LOCK_SET,
+            Operations.ADMIN_SAVE_POWER_REWARD,
+            Operations.ADMIN_SAVE_TOP_REWARD
+    );
+
+    private final int attempts;
+    private final long backoffMs;
+    private final long hedgeDelayMs;
+
+    ClientRetryPolicy(PluginConfig.RetrySettings settings) {
+        this.attempts = settings.attempts();
+        this.backoffMs = settings.backoffMs();
+        this.hedgeDelayMs = settings.hedgeDelayMs();
+    }
+
+    /**
+     * Number of re-publishes allowed after the first attempt.
+     */
+    int retriesFor(Operations operation) {
+        return READS.contains(operation) || IDEMPOTENT_WRITES.contains(operation) ? attempts : 0;
+    }
+
+    /**
+     * Delay before the hedged duplicate, or {@code 0} when the operation is not hedged.
+     */
+    long hedgeDelayFor(Operations operation) {
+        return READS.contains(operation) ? hedgeDelayMs : 0L;
+    }
+
+    /**
+     * Backoff before retry number {@code retry} (1-based): doubles every retry, with the upper half jittered so
+     * clients that lost the same gateway do not come back in lockstep.
+     */
+    long backoffMs(int retry) {
+        if (backoffMs <= 0L) {
+            return 0L;
+        }
+        long ceiling = backoffMs << Math.min(10, Math.max(0, retry - 1));
+        long half = ceiling / 2;
+        return half + ThreadLocalRandom.current().nextLong(ceiling - half + 1);
+    }
+}
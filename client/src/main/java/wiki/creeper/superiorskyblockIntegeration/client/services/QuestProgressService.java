@@ -8,45 +8,162 @@ import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 
 import wiki.creeper.superiorskyblockIntegeration.api.NetworkOperationResult;
 import wiki.creeper.superiorskyblockIntegeration.api.NetworkSkyblockService;
 import wiki.creeper.superiorskyblockIntegeration.common.quest.QuestDefinition;
+import wiki.creeper.superiorskyblockIntegeration.common.quest.QuestProgressIncrement;
 import wiki.creeper.superiorskyblockIntegeration.common.quest.QuestRewards;
 import wiki.creeper.superiorskyblockIntegeration.common.quest.QuestType;
+import wiki.creeper.superiorskyblockIntegeration.config.PluginConfig;
 
 /**
  * Dispatches quest progress updates to the gateway and provides player feedback.
+ *
+ * <p>Progress is coalesced per contributor, quest type and quest id over the configured flush window so that a
+ * player breaking blocks produces one request per window instead of one per event. The contributor identifies
+ * the island on the gateway side, so each window sends a single {@code quest.progress.batch} request per
+ * contributor which the gateway applies with one load and save of the island's quest state.</p>
  */
 public final class QuestProgressService {
 
     private final JavaPlugin plugin;
     private final NetworkSkyblockService network;
+    private final long flushIntervalMs;
     private final Map<String, Set<String>> questCompletions = new ConcurrentHashMap<>();
     private final Set<String> rewardAnnouncements = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final Map<ProgressKey, Integer> pending = new ConcurrentHashMap<>();
+    private BukkitTask flushTask;
 
-    public QuestProgressService(JavaPlugin plugin, NetworkSkyblockService network) {
+    public QuestProgressService(JavaPlugin plugin,
+                                NetworkSkyblockService network,
+                                PluginConfig.QuestProgressSettings settings) {
         this.plugin = plugin;
         this.network = network;
+        this.flushIntervalMs = settings != null ? Math.max(0L, settings.flushIntervalMs()) : 0L;
+        if (flushIntervalMs > 0L) {
+            long periodTicks = Math.max(1L, flushIntervalMs / 50L);
+            this.flushTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::flushAll, periodTicks, periodTicks);
+        }
     }
 
     public void increment(Player player, QuestType type, int questId, int amount) {
         if (player == null || type == null || amount <= 0) {
             return;
         }
+        if (flushTask == null) {
+            submit(player, type, questId, amount);
+            return;
+        }
+        pending.merge(new ProgressKey(player.getUniqueId(), type, questId), amount, Integer::sum);
+    }
+
+    /**
+     * Sends all buffered progress for the given contributor immediately, e.g. when the player quits.
+     */
+    public void flush(UUID contributor) {
+        if (contributor == null || pending.isEmpty()) {
+            return;
+        }
+        List<QuestProgressIncrement> increments = new ArrayList<>();
+        for (ProgressKey key : List.copyOf(pending.keySet())) {
+            if (contributor.equals(key.contributor())) {
+                drain(key, increments);
+            }
+        }
+        submitBatch(contributor, increments);
+    }
+
+    public void flushAll() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<UUID, List<QuestProgressIncrement>> grouped = new HashMap<>();
+        for (ProgressKey key : List.copyOf(pending.keySet())) {
+            drain(key, grouped.computeIfAbsent(key.contributor(), unused -> new ArrayList<>()));
+        }
+        grouped.forEach(this::submitBatch);
+    }
+
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        flushAll();
+    }
+
+    private void drain(ProgressKey key, List<QuestProgressIncrement> target) {
+        Integer amount = pending.remove(key);
+        if (amount == null || amount <= 0) {
+            return;
+        }
+        target.add(new QuestProgressIncrement(key.type(), key.questId(), amount));
+    }
+
+    private void submit(Player player, QuestType type, int questId, int amount) {
         UUID contributor = player.getUniqueId();
-        network.questProgress(player, type, questId, amount, contributor.toString())
-                .thenAccept(result -> handleResult(player, type, questId, amount, result))
-                .exceptionally(ex -> {
-                    plugin.getLogger().warning("Failed to submit quest progress for " + player.getName() + ": " + ex.getMessage());
-                    return null;
-                });
+        try {
+            network.questProgress(player, type, questId, amount, contributor.toString())
+                    .thenAccept(result -> handleResult(player, type, questId, amount, result))
+                    .exceptionally(ex -> {
+                        plugin.getLogger().warning("Failed to submit quest progress for " + player.getName() + ": " + ex.getMessage());
+                        return null;
+                    });
+        } catch (Exception ex) {
+            plugin.getLogger().log(Level.WARNING, "Failed to submit quest progress for " + player.getName(), ex);
+        }
+    }
+
+    private void submitBatch(UUID contributor, List<QuestProgressIncrement> increments) {
+        if (increments.isEmpty()) {
+            return;
+        }
+        Player player = plugin.getServer().getPlayer(contributor);
+        if (player == null) {
+            plugin.getLogger().fine("Dropping buffered quest progress for offline player " + contributor);
+            return;
+        }
+        try {
+            network.questProgressBatch(player, increments, contributor.toString())
+                    .thenAccept(result -> handleBatchResult(player, increments, result))
+                    .exceptionally(ex -> {
+                        plugin.getLogger().warning("Failed to submit quest progress for " + player.getName() + ": " + ex.getMessage());
+                        return null;
+                    });
+        } catch (Exception ex) {
+            plugin.getLogger().log(Level.WARNING, "Failed to submit quest progress for " + player.getName(), ex);
+        }
+    }
+
+    private void handleBatchResult(Player player,
+                                   List<QuestProgressIncrement> increments,
+                                   NetworkOperationResult result) {
+        if (result == null) {
+            return;
+        }
+        if (result.failed()) {
+            plugin.getLogger().fine("Quest progress batch failed for " + player.getName() + ": "
+                    + result.errorCode() + " - " + result.errorMessage());
+            return;
+        }
+        JsonObject data = result.data();
+        plugin.getServer().getScheduler().runTask(plugin, () -> {
+            for (QuestProgressIncrement increment : increments) {
+                applyFeedback(player, increment.type(), increment.questId(), increment.amount(), data);
+            }
+        });
     }
 
     private void handleResult(Player player,
@@ -200,4 +317,7 @@ public final class QuestProgressService {
         });
         rewardAnnouncements.remove(rewardKey(islandId, type));
     }
+
+    private record ProgressKey(UUID contributor, QuestType type, int questId) {
+    }
 }
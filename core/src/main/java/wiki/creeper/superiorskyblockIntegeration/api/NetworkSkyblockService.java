@@ -5,10 +5,12 @@ import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 import wiki.creeper.superiorskyblockIntegeration.common.Operations;
+import wiki.creeper.superiorskyblockIntegeration.common.quest.QuestProgressIncrement;
 import wiki.creeper.superiorskyblockIntegeration.common.quest.QuestType;
 
 /**
@@ -69,6 +71,10 @@ public interface NetworkSkyblockService {
                                                             int amount,
                                                             String contributorUuid);
 
+    CompletableFuture<NetworkOperationResult> questProgressBatch(Player actor,
+                                                                 List<QuestProgressIncrement> increments,
+                                                                 String contributorUuid);
+
     default CompletableFuture<NetworkOperationResult> farmRankingTop(Player actor) {
         return farmRankingTop(actor, 10);
     }
@@ -0,0 +1,67 @@
+package wiki.creeper.superiorskyblockIntegeration.common;
+
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * Logs the runtime metrics of registered components every {@code logging.metricsIntervalSeconds}, one line per
+ * component, so queue depths, latencies and retry counts can be watched and used to tune the settings.
+ *
+ * <p>Sections are read on a scheduler thread; a section that returns {@code null} or an empty string is skipped.</p>
+ */
+public final class MetricsReporter {
+
+    private final JavaPlugin plugin;
+    private final long intervalSeconds;
+    private final Map<String, Supplier<?>> sections = new ConcurrentSkipListMap<>();
+    private BukkitTask task;
+
+    public MetricsReporter(JavaPlugin plugin, long intervalSeconds) {
+        this.plugin = plugin;
+        this.intervalSeconds = intervalSeconds;
+    }
+
+    public void register(String name, Supplier<?> section) {
+        sections.put(name, section);
+    }
+
+    public void start() {
+        if (intervalSeconds <= 0L || task != null) {
+            return;
+        }
+        long periodTicks = intervalSeconds * 20L;
+        task = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this::report, periodTicks, periodTicks);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        sections.clear();
+    }
+
+    /**
+     * Logs every section once.
+     */
+    public void report() {
+        for (Map.Entry<String, Supplier<?>> section : sections.entrySet()) {
+            Object value;
+            try {
+                value = section.getValue().get();
+            } catch (RuntimeException ex) {
+                plugin.getLogger().log(Level.FINE, "Failed to read metrics section " + section.getKey(), ex);
+                continue;
+            }
+            String line = value != null ? value.toString() : null;
+            if (line != null && !line.isEmpty()) {
+                plugin.getLogger().info("[metrics] " + section.getKey() + ": " + line);
+            }
+        }
+    }
+}
@@ -25,6 +25,7 @@ public enum Operations {
     QUEST_STATE("quest.state"),
     QUEST_ASSIGN("quest.assign"),
     QUEST_PROGRESS("quest.progress"),
+    QUEST_PROGRESS_BATCH("quest.progress.batch"),
     FARM_RANKING_TOP("farm.ranking.top"),
     FARM_RANKING_MEMBERS("farm.ranking.members"),
     FARM_RANKING_INCREMENT("farm.ranking.increment"),
@@ -72,7 +73,8 @@ public enum Operations {
     ADMIN_SAVE_POWER_REWARD("admin.reward.power.save"),
     ADMIN_LOAD_TOP_REWARD("admin.reward.top.load"),
     ADMIN_SAVE_TOP_REWARD("admin.reward.top.save"),
-    ADMIN_GIVE_TOP_REWARD("admin.reward.top.give");
+    ADMIN_GIVE_TOP_REWARD("admin.reward.top.give"),
+    BATCH("batch");
 
     private final String op;
 
@@ -0,0 +1,23 @@
+package wiki.creeper.superiorskyblockIntegeration.common.quest;
+
+import com.google.gson.JsonObject;
+
+import java.util.Objects;
+
+/**
+ * Single progress delta carried inside a {@code quest.progress.batch} request.
+ */
+public record QuestProgressIncrement(QuestType type, int questId, int amount) {
+
+    public QuestProgressIncrement {
+        Objects.requireNonNull(type, "type");
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("type", type.name());
+        json.addProperty("questId", questId);
+        json.addProperty("amount", amount);
+        return json;
+    }
+}
@@ -28,6 +28,30 @@ public final class RedisKeys {
         return ROOT + ":data:" + normalise(namespace) + ':' + normalise(key);
     }
 
+    public static String rankingScores(String metric) {
+        return ROOT + ":ranking:" + normalise(metric);
+    }
+
+    public static String rankingMembers(String islandUuid) {
+        return ROOT + ":ranking:members:" + islandUuid.toLowerCase(Locale.ROOT);
+    }
+
+    public static String rankingIslands() {
+        return ROOT + ":ranking:islands";
+    }
+
+    public static String rankingPlayers() {
+        return ROOT + ":ranking:players";
+    }
+
+    public static String rankingRebuildLock() {
+        return ROOT + ":ranking:rebuild";
+    }
+
+    public static String islandLock(String islandKey) {
+        return ROOT + ":lock:island:" + normalise(islandKey);
+    }
+
     private static String normalise(String input) {
         return input == null ? "" : input.trim().toLowerCase(Locale.ROOT);
     }
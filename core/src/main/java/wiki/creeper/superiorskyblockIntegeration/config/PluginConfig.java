@@ -85,9 +85,22 @@ public final class PluginConfig {
                 config.getString("redis.password", ""),
                 config.getBoolean("redis.ssl", false),
                 Math.max(0, config.getInt("redis.database", 0)),
-                Math.max(4096, config.getInt("redis.compressionThreshold", 16384))
+                Math.max(1024, config.getInt("redis.compressionThreshold", 4096)),
+                wiki.creeper.superiorskyblockIntegeration.redis.WireFormat.byName(config.getString("redis.wireFormat", "JSON")),
+                wiki.creeper.superiorskyblockIntegeration.redis.MessageCompression.byName(config.getString("redis.compression", "GZIP")),
+                Math.max(1, Math.min(8, config.getInt("redis.commandConnections", 2)))
+        );
+        ChannelSettings channels = new ChannelSettings(
+                config.getString("channels.prefix", "ssb.v1"),
+                wiki.creeper.superiorskyblockIntegeration.redis.RequestTransport.byName(
+                        config.getString("channels.requestTransport", "PUBSUB")),
+                new StreamSettings(
+                        config.getString("channels.streams.group", "gateways"),
+                        Math.max(1000L, config.getLong("channels.streams.maxLength", 10_000L)),
+                        Math.max(1000L, config.getLong("channels.streams.claimIdleMs", 15_000L)),
+                        Math.max(1, config.getInt("channels.streams.readCount", 32))
+                )
         );
-        ChannelSettings channels = new ChannelSettings(config.getString("channels.prefix", "ssb.v1"));
         TimeoutSettings timeouts = new TimeoutSettings(
                 Math.max(10, config.getInt("timeouts.requestMs", 3000)),
                 Math.max(50, config.getInt("timeouts.responseMaxWaitMs", 5000))
@@ -95,7 +108,8 @@ public final class PluginConfig {
         SecuritySettings security = new SecuritySettings(config.getString("security.hmacSecret", ""));
         LoggingSettings logging = new LoggingSettings(
                 config.getBoolean("logging.requestBodies", false),
-                config.getBoolean("logging.redis", false));
+                config.getBoolean("logging.redis", false),
+                Math.max(0L, config.getLong("logging.metricsIntervalSeconds", 300L)));
         DatabaseSettings database = new DatabaseSettings(
                 config.getString("gateway.database.type", "mysql"),
                 config.getString("gateway.database.host", "127.0.0.1"),
@@ -117,10 +131,47 @@ public final class PluginConfig {
                 )
         );
         GatewaySettings gateway = new GatewaySettings(
-                new ConcurrencySettings(Math.max(1, config.getInt("gateway.concurrency.workers", 16))),
-                new LockSettings(Math.max(100, config.getInt("gateway.locks.islandLockTtlMs", 2000))),
+                new ConcurrencySettings(
+                        Math.max(1, config.getInt("gateway.concurrency.workers", 16)),
+                        Math.max(16, config.getInt("gateway.concurrency.queueCapacity", 512))),
+                new LockSettings(
+                        Math.max(100, config.getInt("gateway.locks.islandLockTtlMs", 2000)),
+                        config.getBoolean("gateway.locks.distributed", false)),
                 new SuperiorSkyblockSettings(Math.max(100, config.getInt("gateway.superiorSkyblock.apiHookTimeoutMs", 1000))),
+                new SnapshotSettings(
+                        config.getBoolean("gateway.snapshots.enabled", true),
+                        Math.max(5_000L, config.getLong("gateway.snapshots.sweepIntervalMs", 60_000L)),
+                        Math.max(1, config.getInt("gateway.snapshots.sweepBatchSize", 100)),
+                        Math.max(10, config.getInt("gateway.snapshots.bankHistoryWindow", 200)),
+                        Math.max(1, config.getInt("gateway.snapshots.bankHistoryIslands", 500))
+                ),
+                new QuestStoreSettings(
+                        Math.max(0L, config.getLong("gateway.quests.flushIntervalMs", 2000L)),
+                        Math.max(1, config.getInt("gateway.quests.maxBatchSize", 200)),
+                        Math.max(1000L, config.getLong("gateway.quests.maxStalenessMs", 30_000L)),
+                        Math.max(60_000L, config.getLong("gateway.quests.idleEvictMs", 600_000L))
+                ),
+                new RankingSettings(
+                        Math.max(0L, config.getLong("gateway.ranking.flushIntervalMs", 1000L)),
+                        config.getBoolean("gateway.ranking.redisMirror", false)
+                ),
                 database,
+                new DataCacheSettings(
+                        config.getBoolean("gateway.dataCache.enabled", true),
+                        Math.max(100L, config.getLong("gateway.dataCache.maximumSize", 20_000L)),
+                        Math.max(1000L, config.getLong("gateway.dataCache.maxTtlMs", 300_000L)),
+                        Math.max(0L, config.getLong("gateway.dataCache.negativeTtlMs", 30_000L))
+                ),
+                new MetadataWriteSettings(
+                        Math.max(0L, config.getLong("gateway.metadataWrites.windowMs", 250L)),
+                        Math.max(1, Math.min(1000, config.getInt("gateway.metadataWrites.maxBatchSize", 200))),
+                        Math.max(1000L, config.getLong("gateway.metadataWrites.dedupTtlMs", 600_000L))
+                ),
+                new ProfileRegistrationSettings(
+                        Math.max(0L, config.getLong("gateway.profiles.flushIntervalMs", 1000L)),
+                        Math.max(1, Math.min(1000, config.getInt("gateway.profiles.maxBatchSize", 200))),
+                        Math.max(1000L, config.getLong("gateway.profiles.lastSeenGranularityMs", 60_000L))
+                ),
                 RewardSettings.parse(config),
                 ShopSettings.parse(config)
         );
@@ -133,12 +184,20 @@ public final class PluginConfig {
                 new UiSettings(config.getString("client.ui.localeDefault", "ko_KR")),
                 new RetrySettings(
                         Math.max(0, config.getInt("client.retry.attempts", 1)),
-                        Math.max(0, config.getInt("client.retry.backoffMs", 250))
+                        Math.max(0, config.getInt("client.retry.backoffMs", 250)),
+                        Math.max(0, config.getInt("client.retry.hedgeDelayMs", 1000))
+                ),
+                new BatchSettings(
+                        Math.max(0L, config.getLong("client.batch.windowMs", 2L)),
+                        Math.max(2, Math.min(64, config.getInt("client.batch.maxSize", 16)))
                 ),
                 new VelocitySettings(
                         config.getBoolean("client.velocity.enabled", false),
                         config.getString("client.velocity.targetServer", "skyblock"),
                         config.getString("client.velocity.lobbyServer", "lobby")
+                ),
+                new QuestProgressSettings(
+                        Math.max(0L, config.getLong("client.questProgress.flushIntervalMs", 1000L))
                 )
         );
         QuestSettings quest = QuestSettings.parse(config);
@@ -169,29 +228,60 @@ public final class PluginConfig {
         }
     }
 
-    public record RedisSettings(String host, int port, String password, boolean ssl, int database, int messageCompressionThreshold) { }
+    public record RedisSettings(String host,
+                                int port,
+                                String password,
+                                boolean ssl,
+                                int database,
+                                int messageCompressionThreshold,
+                                wiki.creeper.superiorskyblockIntegeration.redis.WireFormat wireFormat,
+                                wiki.creeper.superiorskyblockIntegeration.redis.MessageCompression compression,
+                                int commandConnections) { }
 
-    public record ChannelSettings(String prefix) { }
+    public record ChannelSettings(String prefix,
+                                  wiki.creeper.superiorskyblockIntegeration.redis.RequestTransport requestTransport,
+                                  StreamSettings streams) { }
+
+    public record StreamSettings(String group, long maxLength, long claimIdleMs, int readCount) { }
 
     public record TimeoutSettings(int requestMs, int responseMaxWaitMs) { }
 
     public record SecuritySettings(String hmacSecret) { }
 
-    public record LoggingSettings(boolean requestBodies, boolean redisDebug) { }
+    public record LoggingSettings(boolean requestBodies, boolean redisDebug, long metricsIntervalSeconds) { }
 
     public record GatewaySettings(ConcurrencySettings concurrency,
                                   LockSettings locks,
                                   SuperiorSkyblockSettings superiorSkyblock,
+                                  SnapshotSettings snapshots,
+                                  QuestStoreSettings quests,
+                                  RankingSettings ranking,
                                   DatabaseSettings database,
+                                  DataCacheSettings dataCache,
+                                  MetadataWriteSettings metadataWrites,
+                                  ProfileRegistrationSettings profiles,
                                   RewardSettings rewards,
                                   ShopSettings shop) { }
 
-    public record ConcurrencySettings(int workers) { }
+    public record ConcurrencySettings(int workers, int queueCapacity) { }
 
-    public record LockSettings(int islandLockTtlMs) { }
+    public record LockSettings(int islandLockTtlMs, boolean distributed) { }
 
     public record SuperiorSkyblockSettings(int apiHookTimeoutMs) { }
 
+    public record SnapshotSettings(boolean enabled,
+                                   long sweepIntervalMs,
+                                   int sweepBatchSize,
+                                   int bankHistoryWindow,
+                                   int bankHistoryIslands) { }
+
+    public record QuestStoreSettings(long flushIntervalMs,
+                                     int maxBatchSize,
+                                     long maxStalenessMs,
+                                     long idleEvictMs) { }
+
+    public record RankingSettings(long flushIntervalMs, boolean redisMirror) { }
+
     public record DatabaseSettings(String type,
                                    String host,
                                    int port,
@@ -200,6 +290,12 @@ public final class PluginConfig {
                                    String password,
                                    HikariSettings hikari) { }
 
+    public record DataCacheSettings(boolean enabled, long maximumSize, long maxTtlMs, long negativeTtlMs) { }
+
+    public record MetadataWriteSettings(long windowMs, int maxBatchSize, long dedupTtlMs) { }
+
+    public record ProfileRegistrationSettings(long flushIntervalMs, int maxBatchSize, long lastSeenGranularityMs) { }
+
     public record HikariSettings(int maximumPoolSize,
                                  int minimumIdle,
                                  long connectionTimeoutMs,
@@ -336,16 +432,25 @@ public final class PluginConfig {
                            String command,
                            boolean enabled) { }
 
-    public record ClientSettings(CacheSettings cache, UiSettings ui, RetrySettings retry, VelocitySettings velocity) { }
+    public record ClientSettings(CacheSettings cache,
+                                 UiSettings ui,
+                                 RetrySettings retry,
+                                 BatchSettings batch,
+                                 VelocitySettings velocity,
+                                 QuestProgressSettings questProgress) { }
 
     public record CacheSettings(boolean enabled, int ttlSeconds, long maximumSize) { }
 
     public record UiSettings(String localeDefault) { }
 
-    public record RetrySettings(int attempts, int backoffMs) { }
+    public record RetrySettings(int attempts, int backoffMs, int hedgeDelayMs) { }
+
+    public record BatchSettings(long windowMs, int maxSize) { }
 
     public record VelocitySettings(boolean enabled, String targetServer, String lobbyServer) { }
 
+    public record QuestProgressSettings(long flushIntervalMs) { }
+
     public record QuestSettings(FarmPointSettings farmPoints, FurnaceSettings furnace) {
 
         public static QuestSettings parse(FileConfiguration config) {
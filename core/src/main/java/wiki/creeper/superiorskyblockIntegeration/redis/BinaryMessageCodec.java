@@ -0,0 +1,421 @@
+package wiki.creeper.superiorskyblockIntegeration.redis;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.internal.LazilyParsedNumber;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact tagged encoding of {@link RedisMessage} trees.
+ *
+ * <pre>
+ * magic(1) version(1) sigLength(1) sig(sigLength) | flags(1) envelope(varint length + tree) data(varint length + tree)
+ * </pre>
+ *
+ * <p>The signature is the raw HMAC over everything after it, so receivers verify before decoding anything. The
+ * envelope holds every root field except {@code data} and {@code sig}; the data tree is compressed as raw bytes
+ * when it exceeds the compression threshold, with the codec named by a {@link MessageCompression} flag bit.
+ * Frequent keys are written as one-byte references into {@link #KNOWN_KEYS}. Changing that table requires bumping
+ * {@link #FORMAT_VERSION}.</p>
+ */
+final class BinaryMessageCodec {
+
+    static final byte MAGIC = (byte) 0xB5;
+    static final byte FORMAT_VERSION = 1;
+
+    private static final int FLAG_HAS_DATA = 1;
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_FALSE = 1;
+    private static final int TAG_TRUE = 2;
+    private static final int TAG_LONG = 3;
+    private static final int TAG_DOUBLE = 4;
+    private static final int TAG_NUMBER = 5;
+    private static final int TAG_STRING = 6;
+    private static final int TAG_ARRAY = 7;
+    private static final int TAG_OBJECT = 8;
+
+    private static final String KEY_DATA = "data";
+    private static final String KEY_SIGNATURE = "sig";
+
+    private static final List<String> KNOWN_KEYS = List.of(
+            "ver", "id", "ts", "op", "actor", "actorName", "ctx", "server", "locale", "ok", "error", "code",
+            "message", "retryable", "target", "islandId", "islandUuid", "islandName", "playerUuid", "playerName",
+            "uuid", "name", "owner", "ownerUuid", "ownerName", "members", "member", "memberUuid", "memberName",
+            "role", "online", "rank", "points", "score", "total", "daily", "weekly", "amount", "type", "questId",
+            "quests", "progress", "completed", "entries", "applied", "rejected", "contributorUuid",
+            "warps", "warp", "world", "x", "y", "z", "yaw", "pitch", "items", "page", "offset", "limit", "count",
+            "timestamp", "createdAt", "updatedAt", "expiresAt", "balance", "locked", "reason", "value", "values");
+    private static final Map<String, Integer> KNOWN_KEY_INDEX = indexKnownKeys();
+
+    private BinaryMessageCodec() {
+        // utility
+    }
+
+    static boolean isBinary(byte[] wire) {
+        return wire.length > 2 && wire[0] == MAGIC;
+    }
+
+    static byte[] encode(JsonObject root, int compressionThreshold, MessageCompression compression, MessageSecurity security) {
+        Output body = new Output(256);
+        JsonElement data = root.get(KEY_DATA);
+        boolean hasData = data != null && !data.isJsonNull();
+
+        Output dataOut = null;
+        byte[] compressed = null;
+        if (hasData) {
+            dataOut = new Output(256);
+            writeElement(dataOut, data);
+            if (compressionThreshold > 0 && dataOut.length() >= compressionThreshold) {
+                compressed = compression.compress(dataOut.buffer(), 0, dataOut.length());
+            }
+        }
+
+        body.writeByte((hasData ? FLAG_HAS_DATA : 0) | (compressed != null ? compression.binaryFlag() : 0));
+        Output envelope = new Output(128);
+        writeEnvelope(envelope, root);
+        body.writeVarint(envelope.length());
+        body.write(envelope.buffer(), 0, envelope.length());
+        if (compressed != null) {
+            body.writeVarint(compressed.length);
+            body.write(compressed, 0, compressed.length);
+        } else if (hasData) {
+            body.writeVarint(dataOut.length());
+            body.write(dataOut.buffer(), 0, dataOut.length());
+        }
+
+        byte[] signature = security.mac(body.buffer(), 0, body.length());
+        byte[] wire = new byte[3 + signature.length + body.length()];
+        wire[0] = MAGIC;
+        wire[1] = FORMAT_VERSION;
+        wire[2] = (byte) signature.length;
+        System.arraycopy(signature, 0, wire, 3, signature.length);
+        System.arraycopy(body.buffer(), 0, wire, 3 + signature.length, body.length());
+        return wire;
+    }
+
+    /**
+     * Decodes a binary message, returning {@code null} when the signature does not match.
+     */
+    static JsonObject decode(byte[] wire, MessageSecurity security) throws IOException {
+        if (wire[1] != FORMAT_VERSION) {
+            throw new IOException("Unsupported binary message version " + wire[1]);
+        }
+        int signatureLength = wire[2] & 0xFF;
+        int bodyOffset = 3 + signatureLength;
+        if (bodyOffset >= wire.length) {
+            throw new IOException("Truncated binary message");
+        }
+        byte[] signature = Arrays.copyOfRange(wire, 3, bodyOffset);
+        if (!security.verify(wire, bodyOffset, wire.length - bodyOffset, signature)) {
+            return null;
+        }
+
+        Input in = new Input(wire, bodyOffset, wire.length);
+        int flags = in.readByte();
+        int envelopeLength = in.readVarint();
+        JsonObject root = readObjectBody(in.slice(envelopeLength));
+        if ((flags & FLAG_HAS_DATA) != 0) {
+            int dataLength = in.readVarint();
+            Input dataIn = in.slice(dataLength);
+            if ((flags & MessageCompression.BINARY_FLAGS) != 0) {
+                byte[] inflated = MessageCompression.byBinaryFlags(flags)
+                        .decompress(dataIn.buffer, dataIn.position, dataIn.limit - dataIn.position);
+                dataIn = new Input(inflated, 0, inflated.length);
+            }
+            root.add(KEY_DATA, readElement(dataIn));
+        }
+        return root;
+    }
+
+    private static void writeEnvelope(Output out, JsonObject root) {
+        int fields = 0;
+        for (String key : root.keySet()) {
+            if (!KEY_DATA.equals(key) && !KEY_SIGNATURE.equals(key)) {
+                fields++;
+            }
+        }
+        out.writeVarint(fields);
+        for (Map.Entry<String, JsonElement> entry : root.entrySet()) {
+            if (KEY_DATA.equals(entry.getKey()) || KEY_SIGNATURE.equals(entry.getKey())) {
+                continue;
+            }
+            writeKey(out, entry.getKey());
+            writeElement(out, entry.getValue());
+        }
+    }
+
+    private static void writeElement(Output out, JsonElement element) {
+        if (element == null || element.isJsonNull()) {
+            out.writeByte(TAG_NULL);
+        } else if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            out.writeByte(TAG_OBJECT);
+            out.writeVarint(object.size());
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                writeKey(out, entry.getKey());
+                writeElement(out, entry.getValue());
+            }
+        } else if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            out.writeByte(TAG_ARRAY);
+            out.writeVarint(array.size());
+            for (JsonElement value : array) {
+                writeElement(out, value);
+            }
+        } else {
+            writePrimitive(out, element.getAsJsonPrimitive());
+        }
+    }
+
+    private static void writePrimitive(Output out, JsonPrimitive primitive) {
+        if (primitive.isBoolean()) {
+            out.writeByte(primitive.getAsBoolean() ? TAG_TRUE : TAG_FALSE);
+        } else if (primitive.isString()) {
+            out.writeByte(TAG_STRING);
+            out.writeString(primitive.getAsString());
+        } else {
+            Number number = primitive.getAsNumber();
+            if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte) {
+                out.writeByte(TAG_LONG);
+                out.writeVarlong(number.longValue());
+            } else if (number instanceof Double) {
+                out.writeByte(TAG_DOUBLE);
+                out.writeLong(Double.doubleToRawLongBits(number.doubleValue()));
+            } else {
+                String text = number.toString();
+                if (isPlainLong(text)) {
+                    out.writeByte(TAG_LONG);
+                    out.writeVarlong(Long.parseLong(text));
+                } else {
+                    out.writeByte(TAG_NUMBER);
+                    out.writeString(text);
+                }
+            }
+        }
+    }
+
+    private static void writeKey(Output out, String key) {
+        Integer index = KNOWN_KEY_INDEX.get(key);
+        if (index != null) {
+            out.writeVarint(index + 1);
+        } else {
+            out.writeVarint(0);
+            out.writeString(key);
+        }
+    }
+
+    private static JsonElement readElement(Input in) throws IOException {
+        int tag = in.readByte();
+        return switch (tag) {
+            case TAG_NULL -> JsonNull.INSTANCE;
+            case TAG_FALSE -> new JsonPrimitive(false);
+            case TAG_TRUE -> new JsonPrimitive(true);
+            case TAG_LONG -> new JsonPrimitive(in.readVarlong());
+            case TAG_DOUBLE -> new JsonPrimitive(Double.longBitsToDouble(in.readLong()));
+            case TAG_NUMBER -> new JsonPrimitive(new LazilyParsedNumber(in.readString()));
+            case TAG_STRING -> new JsonPrimitive(in.readString());
+            case TAG_ARRAY -> {
+                int size = in.readVarint();
+                JsonArray array = new JsonArray(size);
+                for (int i = 0; i < size; i++) {
+                    array.add(readElement(in));
+                }
+                yield array;
+            }
+            case TAG_OBJECT -> readObjectBody(in);
+            default -> throw new IOException("Unknown binary tag " + tag);
+        };
+    }
+
+    private static JsonObject readObjectBody(Input in) throws IOException {
+        int size = in.readVarint();
+        JsonObject object = new JsonObject();
+        for (int i = 0; i < size; i++) {
+            String key = readKey(in);
+            object.add(key, readElement(in));
+        }
+        return object;
+    }
+
+    private static String readKey(Input in) throws IOException {
+        int reference = in.readVarint();
+        if (reference == 0) {
+            return in.readString();
+        }
+        if (reference > KNOWN_KEYS.size()) {
+            throw new IOException("Unknown key reference " + reference);
+        }
+        return KNOWN_KEYS.get(reference - 1);
+    }
+
+    private static boolean isPlainLong(String text) {
+        int length = text.length();
+        int start = length > 0 && text.charAt(0) == '-' ? 1 : 0;
+        if (length == start || length - start > 18 || (text.charAt(start) == '0' && length - start > 1)) {
+            return false;
+        }
+        for (int i = start; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return !"-0".equals(text);
+    }
+
+    private static Map<String, Integer> indexKnownKeys() {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < KNOWN_KEYS.size(); i++) {
+            index.putIfAbsent(KNOWN_KEYS.get(i), i);
+        }
+        return Map.copyOf(index);
+    }
+
+    private static final class Output {
+
+        private byte[] buffer;
+        private int length;
+
+        private Output(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        byte[] buffer() {
+            return buffer;
+        }
+
+        int length() {
+            return length;
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[length++] = (byte) value;
+        }
+
+        void write(byte[] source, int offset, int count) {
+            ensure(count);
+            System.arraycopy(source, offset, buffer, length, count);
+            length += count;
+        }
+
+        void writeVarint(int value) {
+            writeUnsigned(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarlong(long value) {
+            writeUnsigned((value << 1) ^ (value >> 63));
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[length++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+
+        private void writeUnsigned(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[length++] = (byte) value;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+            }
+        }
+    }
+
+    private static final class Input {
+
+        private final byte[] buffer;
+        private int position;
+        private final int limit;
+
+        private Input(byte[] buffer, int position, int limit) {
+            this.buffer = buffer;
+            this.position = position;
+            this.limit = limit;
+        }
+
+        int readByte() throws IOException {
+            require(1);
+            return buffer[position++] & 0xFF;
+        }
+
+        int readVarint() throws IOException {
+            long value = readUnsigned();
+            if (value > Integer.MAX_VALUE) {
+                throw new IOException("Length out of range");
+            }
+            return (int) value;
+        }
+
+        long readVarlong() throws IOException {
+            long raw = readUnsigned();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        long readLong() throws IOException {
+            require(8);
+            long value = 0L;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFFL);
+            }
+            return value;
+        }
+
+        String readString() throws IOException {
+            int length = readVarint();
+            require(length);
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        Input slice(int length) throws IOException {
+            require(length);
+            Input slice = new Input(buffer, position, position + length);
+            position += length;
+            return slice;
+        }
+
+        private long readUnsigned() throws IOException {
+            long value = 0L;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        private void require(int count) throws IOException {
+            if (count < 0 || position + count > limit) {
+                throw new IOException("Truncated binary message");
+            }
+        }
+    }
+}
@@ -2,32 +2,188 @@ package wiki.creeper.superiorskyblockIntegeration.redis;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.util.Base64;
 
 /**
  * Utility for HMAC-SHA256 signatures.
+ *
+ * <p>Each thread keeps its own initialised {@link Mac}, so signing does not pay for provider lookup and key
+ * setup per message. {@link #digest(PayloadSource)} streams text straight into the MAC as UTF-8 without building
+ * the intermediate string.</p>
  */
 public final class HmacSigner {
 
-    private final byte[] key;
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<MacSink> sinks;
 
     public HmacSigner(String secret) {
-        this.key = secret.getBytes(StandardCharsets.UTF_8);
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.sinks = ThreadLocal.withInitial(() -> new MacSink(newMac()));
     }
 
     public String sign(String payload) {
+        byte[] digest = sinks.get().mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+
+    public boolean verify(String payload, String signature) {
+        byte[] expected = decode(signature);
+        return expected != null
+                && MessageDigest.isEqual(sinks.get().mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)), expected);
+    }
+
+    public byte[] digest(byte[] payload, int offset, int length) {
+        Mac mac = sinks.get().mac;
+        mac.update(payload, offset, length);
+        return mac.doFinal();
+    }
+
+    /**
+     * Computes the raw MAC of the text written by {@code source}, encoded as UTF-8.
+     */
+    public byte[] digest(PayloadSource source) throws IOException {
+        MacSink sink = sinks.get();
+        sink.reset();
         try {
-            Mac mac = Mac.getInstance("HmacSHA256");
-            mac.init(new SecretKeySpec(key, "HmacSHA256"));
-            byte[] digest = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(digest);
-        } catch (Exception ex) {
-            throw new IllegalStateException("Unable to sign payload", ex);
+            source.writeTo(sink);
+            return sink.finish();
+        } finally {
+            sink.reset();
         }
     }
 
-    public boolean verify(String payload, String signature) {
-        return sign(payload).equals(signature);
+    static byte[] decode(String signature) {
+        if (signature == null || signature.isBlank()) {
+            return null;
+        }
+        try {
+            return Base64.getDecoder().decode(signature);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to initialise " + ALGORITHM, ex);
+        }
+    }
+
+    @FunctionalInterface
+    public interface PayloadSource {
+
+        void writeTo(Writer writer) throws IOException;
+    }
+
+    /**
+     * Writer that UTF-8 encodes into a small reusable buffer and feeds the MAC, matching
+     * {@code String.getBytes(UTF_8)} including its replacement of unpaired surrogates.
+     */
+    private static final class MacSink extends Writer {
+
+        private final Mac mac;
+        private final byte[] buffer = new byte[1024];
+        private int position;
+        private char pendingHighSurrogate;
+
+        private MacSink(Mac mac) {
+            this.mac = mac;
+        }
+
+        @Override
+        public void write(int c) {
+            encode((char) c);
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                encode(chars[i]);
+            }
+        }
+
+        @Override
+        public void write(String text, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                encode(text.charAt(i));
+            }
+        }
+
+        @Override
+        public void flush() {
+            // bytes are only handed to the MAC in finish()
+        }
+
+        @Override
+        public void close() {
+            // reused per thread
+        }
+
+        private void encode(char c) {
+            if (pendingHighSurrogate != 0) {
+                char high = pendingHighSurrogate;
+                pendingHighSurrogate = 0;
+                if (Character.isLowSurrogate(c)) {
+                    int codePoint = Character.toCodePoint(high, c);
+                    put((byte) (0xF0 | (codePoint >> 18)));
+                    put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                    put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                    put((byte) (0x80 | (codePoint & 0x3F)));
+                    return;
+                }
+                put((byte) '?');
+            }
+            if (c < 0x80) {
+                put((byte) c);
+            } else if (c < 0x800) {
+                put((byte) (0xC0 | (c >> 6)));
+                put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c)) {
+                pendingHighSurrogate = c;
+            } else if (Character.isLowSurrogate(c)) {
+                put((byte) '?');
+            } else {
+                put((byte) (0xE0 | (c >> 12)));
+                put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+
+        private void put(byte value) {
+            if (position == buffer.length) {
+                mac.update(buffer, 0, position);
+                position = 0;
+            }
+            buffer[position++] = value;
+        }
+
+        private byte[] finish() {
+            if (pendingHighSurrogate != 0) {
+                pendingHighSurrogate = 0;
+                put((byte) '?');
+            }
+            if (position > 0) {
+                mac.update(buffer, 0, position);
+                position = 0;
+            }
+            return mac.doFinal();
+        }
+
+        private void reset() {
+            position = 0;
+            pendingHighSurrogate = 0;
+            mac.reset();
+        }
     }
 }
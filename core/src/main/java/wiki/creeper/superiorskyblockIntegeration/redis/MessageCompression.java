@@ -0,0 +1,207 @@
+package wiki.creeper.superiorskyblockIntegeration.redis;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Codecs for large message payloads. The id is carried in the JSON {@code __encoding} field and as a flag bit in
+ * binary frames, so every node can decode every codec and the configured one only affects what a node sends.
+ *
+ * <p>The deflate codecs run at {@link Deflater#BEST_SPEED} and reuse one {@link Deflater}/{@link Inflater} per
+ * thread, along with a scratch buffer of at most {@link #MAX_SCRATCH_BYTES}; larger payloads use a one-off buffer.
+ * Decompression stops at {@link #MAX_INFLATED_BYTES} so a small frame cannot expand into an unbounded allocation.
+ * {@link #DEFLATE_DICTIONARY} additionally primes the window with {@link #DICTIONARY}, built from the
+ * shapes of the largest responses ({@code members.list}, {@code quest.state}, {@code farm.warp.global.list}).
+ * The dictionary is versioned through the codec id; edit it only together with a new id.</p>
+ */
+public enum MessageCompression {
+    GZIP("gzip", 1 << 1),
+    DEFLATE("deflate", 1 << 2),
+    DEFLATE_DICTIONARY("deflate-dict1", 1 << 3);
+
+    static final int BINARY_FLAGS = GZIP.binaryFlag | DEFLATE.binaryFlag | DEFLATE_DICTIONARY.binaryFlag;
+
+    private static final byte[] DICTIONARY = (
+            "{\"page\":1,\"pageSize\":10,\"total\":0,\"islands\":[{\"islandId\":\"\",\"islandName\":\"\","
+                    + "\"ownerUuid\":\"\",\"ownerName\":\"\",\"totalRating\":0.0,\"members\":1,\"creation\":1700000000000,"
+                    + "\"warpCount\":1,\"warps\":[{\"name\":\"\",\"private\":false}]}]}"
+                    + "{\"islandUuid\":\"\",\"daily\":{\"type\":\"DAILY\",\"assignedAt\":1700000000000,\"questCount\":3,"
+                    + "\"rewardGranted\":false,\"rewardGrantedAt\":0,\"quests\":[{\"questId\":1,\"target\":100,"
+                    + "\"progress\":0,\"completedAt\":1700000000000,\"completedBy\":\"\",\"contributions\":{\"\":1}}]},"
+                    + "\"weekly\":{\"type\":\"WEEKLY\",\"assignedAt\":1700000000000,\"questCount\":5,"
+                    + "\"rewardGranted\":false,\"quests\":[{\"questId\":1,\"target\":1000,\"progress\":0}]}}"
+                    + "\"skinTexture\":\"ewogICJ0aW1lc3RhbXAiIDogMTcwMDAwMDAwMDAwMCwKICAicHJvZmlsZUlkIiA6ICIi"
+                    + "LAogICJwcm9maWxlTmFtZSIgOiAiIiwKICAic2lnbmF0dXJlUmVxdWlyZWQiIDogdHJ1ZSwKICAidGV4dHVyZXMiIDog"
+                    + "ewogICAgIlNLSU4iIDogewogICAgICAidXJsIiA6ICJodHRwOi8vdGV4dHVyZXMubWluZWNyYWZ0Lm5ldC90ZXh0dXJl"
+                    + "{\"islandId\":\"\",\"islandName\":\"\",\"ownerUuid\":\"\",\"ownerName\":\"\",\"membersCount\":1,"
+                    + "\"membersLimit\":4,\"members\":[{\"uuid\":\"\",\"name\":\"\",\"role\":\"MEMBER\",\"roleWeight\":0,"
+                    + "\"online\":false,\"server\":\"\",\"skinTexture\":\"\"},{\"uuid\":\"\",\"name\":\"\",\"role\":\"OWNER\","
+                    + "\"roleWeight\":2,\"online\":true,\"server\":\"skyblock\"}]}"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    private static final ThreadLocal<Deflater> DEFLATERS = ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+    private static final ThreadLocal<Inflater> INFLATERS = ThreadLocal.withInitial(Inflater::new);
+    static final int MAX_INFLATED_BYTES = 16 * 1024 * 1024;
+    private static final int MAX_SCRATCH_BYTES = 64 * 1024;
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[8192]);
+
+    private final String id;
+    private final int binaryFlag;
+
+    MessageCompression(String id, int binaryFlag) {
+        this.id = id;
+        this.binaryFlag = binaryFlag;
+    }
+
+    public static MessageCompression byName(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return GZIP;
+        }
+        try {
+            return MessageCompression.valueOf(raw.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return GZIP;
+        }
+    }
+
+    /**
+     * Resolves the codec named by a JSON {@code __encoding} value, or {@code null} when it is not recognised.
+     */
+    static MessageCompression byEncoding(String encoding) {
+        for (MessageCompression codec : values()) {
+            if (codec.jsonEncoding().equalsIgnoreCase(encoding)) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    static MessageCompression byBinaryFlags(int flags) {
+        for (MessageCompression codec : values()) {
+            if ((flags & codec.binaryFlag) != 0) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    String jsonEncoding() {
+        return id + "+base64";
+    }
+
+    int binaryFlag() {
+        return binaryFlag;
+    }
+
+    /**
+     * Compresses the range, or returns {@code null} when the result would not be smaller.
+     */
+    byte[] compress(byte[] data, int offset, int length) {
+        byte[] compressed = this == GZIP ? gzip(data, offset, length) : deflate(data, offset, length);
+        return compressed != null && compressed.length < length ? compressed : null;
+    }
+
+    byte[] decompress(byte[] data, int offset, int length) throws IOException {
+        return this == GZIP ? gunzip(data, offset, length) : inflate(data, offset, length);
+    }
+
+    private byte[] deflate(byte[] data, int offset, int length) {
+        Deflater deflater = DEFLATERS.get();
+        deflater.reset();
+        try {
+            if (this == DEFLATE_DICTIONARY) {
+                deflater.setDictionary(DICTIONARY);
+            }
+            deflater.setInput(data, offset, length);
+            deflater.finish();
+            byte[] buffer = SCRATCH.get();
+            int written = 0;
+            while (!deflater.finished()) {
+                if (written == buffer.length) {
+                    // anything that no longer fits the input size is not worth sending compressed
+                    if (buffer.length >= length || buffer.length >= MAX_INFLATED_BYTES) {
+                        return null;
+                    }
+                    buffer = grow(buffer);
+                }
+                written += deflater.deflate(buffer, written, buffer.length - written);
+            }
+            return Arrays.copyOf(buffer, written);
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    private byte[] inflate(byte[] data, int offset, int length) throws IOException {
+        Inflater inflater = INFLATERS.get();
+        inflater.reset();
+        try {
+            inflater.setInput(data, offset, length);
+            byte[] buffer = SCRATCH.get();
+            int written = 0;
+            while (!inflater.finished()) {
+                if (written == buffer.length) {
+                    if (buffer.length >= MAX_INFLATED_BYTES) {
+                        throw new IOException("Compressed payload inflates past " + MAX_INFLATED_BYTES + " bytes");
+                    }
+                    buffer = grow(buffer);
+                }
+                int count = inflater.inflate(buffer, written, buffer.length - written);
+                if (count == 0) {
+                    if (inflater.needsDictionary()) {
+                        if (this != DEFLATE_DICTIONARY) {
+                            throw new IOException("Unexpected preset dictionary");
+                        }
+                        inflater.setDictionary(DICTIONARY);
+                    } else if (inflater.needsInput()) {
+                        throw new IOException("Truncated compressed payload");
+                    }
+                }
+                written += count;
+            }
+            return Arrays.copyOf(buffer, written);
+        } catch (DataFormatException ex) {
+            throw new IOException("Malformed compressed payload", ex);
+        } finally {
+            inflater.reset();
+        }
+    }
+
+    private static byte[] grow(byte[] buffer) {
+        byte[] grown = Arrays.copyOf(buffer, (int) Math.min((long) buffer.length * 2, MAX_INFLATED_BYTES));
+        if (grown.length <= MAX_SCRATCH_BYTES) {
+            SCRATCH.set(grown);
+        }
+        return grown;
+    }
+
+    private static byte[] gzip(byte[] data, int offset, int length) {
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream(Math.max(64, length / 2));
+             GZIPOutputStream gzip = new GZIPOutputStream(baos)) {
+            gzip.write(data, offset, length);
+            gzip.finish();
+            return baos.toByteArray();
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private static byte[] gunzip(byte[] data, int offset, int length) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data, offset, length))) {
+            byte[] inflated = gzip.readNBytes(MAX_INFLATED_BYTES);
+            if (inflated.length == MAX_INFLATED_BYTES && gzip.read() != -1) {
+                throw new IOException("Compressed payload inflates past " + MAX_INFLATED_BYTES + " bytes");
+            }
+            return inflated;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package wiki.creeper.superiorskyblockIntegeration.redis;
 
+import java.io.IOException;
+import java.security.MessageDigest;
+
 /**
  * Applies HMAC signatures to messages.
  */
@@ -16,11 +19,35 @@ public final class MessageSecurity {
         message.attachSignature(signer.sign(message.canonicalPayload()));
     }
 
+    /**
+     * Signs the message and returns its wire form, reusing the canonical serialization instead of serializing the
+     * tree a second time.
+     */
+    public String signAndSerialize(RedisMessage message) {
+        message.ensureVersion();
+        String canonical = message.canonicalPayload();
+        String signature = signer.sign(canonical);
+        message.attachSignature(signature);
+        return RedisMessage.appendSignature(canonical, signature);
+    }
+
+    byte[] mac(byte[] payload, int offset, int length) {
+        return signer.digest(payload, offset, length);
+    }
+
+    boolean verify(byte[] payload, int offset, int length, byte[] signature) {
+        return MessageDigest.isEqual(signer.digest(payload, offset, length), signature);
+    }
+
     public boolean verify(RedisMessage message) {
-        String provided = message.signature();
-        if (provided == null || provided.isBlank()) {
+        byte[] provided = HmacSigner.decode(message.signature());
+        if (provided == null) {
+            return false;
+        }
+        try {
+            return MessageDigest.isEqual(signer.digest(message::writeCanonical), provided);
+        } catch (IOException ex) {
             return false;
         }
-        return signer.verify(message.canonicalPayload(), provided);
     }
 }
@@ -0,0 +1,73 @@
+package wiki.creeper.superiorskyblockIntegeration.redis;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import wiki.creeper.superiorskyblockIntegeration.common.Operations;
+
+/**
+ * Multi-request envelope: several requests travel in the {@code data.requests} array of one signed
+ * {@link Operations#BATCH} message, and the gateway answers with one response whose {@code data.responses} array
+ * holds a complete response, with its own id, per request. Entries are neither signed nor compressed individually;
+ * the envelope covers them.
+ */
+public final class RedisBatch {
+
+    private static final String KEY_REQUESTS = "requests";
+    private static final String KEY_RESPONSES = "responses";
+
+    private RedisBatch() {
+    }
+
+    public static boolean isBatch(RedisMessage message) {
+        return Operations.BATCH.op().equals(message.op());
+    }
+
+    public static RedisMessage envelope(Collection<RedisMessage> requests) {
+        RedisMessage envelope = RedisMessage.request(Operations.BATCH.op());
+        JsonArray entries = new JsonArray(requests.size());
+        for (RedisMessage request : requests) {
+            entries.add(request.root().deepCopy());
+        }
+        envelope.data().add(KEY_REQUESTS, entries);
+        return envelope;
+    }
+
+    public static List<RedisMessage> requests(RedisMessage envelope) {
+        return entries(envelope, KEY_REQUESTS);
+    }
+
+    public static RedisMessage response(RedisMessage envelope, Collection<RedisMessage> responses) {
+        RedisMessage response = RedisMessage.responseFor(envelope);
+        response.setOk(true);
+        JsonArray entries = new JsonArray(responses.size());
+        for (RedisMessage entry : responses) {
+            entries.add(entry.root());
+        }
+        response.data().add(KEY_RESPONSES, entries);
+        return response;
+    }
+
+    public static List<RedisMessage> responses(RedisMessage response) {
+        return entries(response, KEY_RESPONSES);
+    }
+
+    private static List<RedisMessage> entries(RedisMessage message, String key) {
+        JsonElement element = message.data().get(key);
+        if (element == null || !element.isJsonArray()) {
+            return List.of();
+        }
+        List<RedisMessage> entries = new ArrayList<>(element.getAsJsonArray().size());
+        for (JsonElement entry : element.getAsJsonArray()) {
+            if (entry.isJsonObject()) {
+                entries.add(RedisMessage.wrap(entry.getAsJsonObject()));
+            }
+        }
+        return entries;
+    }
+}
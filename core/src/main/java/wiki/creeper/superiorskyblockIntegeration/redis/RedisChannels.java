@@ -17,10 +17,24 @@ public final class RedisChannels {
         return prefix + ".req." + operation;
     }
 
+    /**
+     * Stream key used by {@link RequestTransport#STREAMS}; one stream carries every operation.
+     */
+    public String requestStream() {
+        return prefix + ".req-stream";
+    }
+
     public String responseChannel(String requestId) {
         return prefix + ".resp." + requestId;
     }
 
+    /**
+     * Channel a client node subscribes to for the responses to its own requests.
+     */
+    public String replyChannel(String nodeId) {
+        return prefix + ".reply." + nodeId;
+    }
+
     public String eventChannel(String eventType) {
         return prefix + ".evt." + eventType;
     }
@@ -41,6 +55,10 @@ public final class RedisChannels {
         return channel.startsWith(prefix + ".resp.");
     }
 
+    public boolean isReplyChannel(String channel) {
+        return channel.startsWith(prefix + ".reply.");
+    }
+
     public boolean isEventChannel(String channel) {
         return channel.startsWith(prefix + ".evt.");
     }
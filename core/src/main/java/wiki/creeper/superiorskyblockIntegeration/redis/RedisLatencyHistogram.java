@@ -0,0 +1,68 @@
+package wiki.creeper.superiorskyblockIntegeration.redis;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two microsecond buckets. Bucket {@code i} counts samples below
+ * {@code 2^i} microseconds, so percentiles are reported as the upper bound of their bucket.
+ */
+public final class RedisLatencyHistogram {
+
+    private static final int BUCKETS = 26; // the last bucket also holds everything above ~33 seconds
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0L);
+
+    public RedisLatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long elapsedNanos) {
+        long micros = Math.max(0L, TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        buckets[bucket].increment();
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long count = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        if (count == 0L) {
+            return new Snapshot(0L, 0L, 0L, 0L, 0L);
+        }
+        long max = maxMicros.get();
+        return new Snapshot(count,
+                totalMicros.sum() / count,
+                percentile(counts, count, 0.50d, max),
+                percentile(counts, count, 0.99d, max),
+                max);
+    }
+
+    private static long percentile(long[] counts, long count, double quantile, long max) {
+        long rank = (long) Math.ceil(count * quantile);
+        long seen = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, 1L << i);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Latencies in microseconds.
+     */
+    public record Snapshot(long count, long meanMicros, long p50Micros, long p99Micros, long maxMicros) {
+    }
+}
@@ -1,32 +1,77 @@
 package wiki.creeper.superiorskyblockIntegeration.redis;
 
 import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisFuture;
 import io.lettuce.core.RedisURI;
+import io.lettuce.core.XAddArgs;
 import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
 import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
 import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.StringCodec;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.logging.Level;
 
 import wiki.creeper.superiorskyblockIntegeration.config.PluginConfig;
 
 /**
  * Lazily initialised Redis client for pub/sub and command execution using Lettuce.
+ *
+ * <p>Connections are split by workload so one kind of traffic never queues behind another on a multiplexed
+ * connection: a small round-robin set for {@link #async()} commands, one connection for publishes and stream
+ * appends, one for {@link #sync()} callers that wait on the reply, and one with manual flushing for
+ * {@link #pipeline(Function) pipelined} bulk work. Each role keeps a {@link RedisLatencyHistogram}.</p>
  */
 public final class RedisManager {
 
+    private static final io.lettuce.core.codec.RedisCodec<String, byte[]> BINARY_CODEC =
+            io.lettuce.core.codec.RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE);
+
+    public enum ConnectionRole {
+        COMMAND,
+        PUBLISH,
+        BLOCKING,
+        BULK
+    }
+
     private final JavaPlugin plugin;
     private final PluginConfig.RedisSettings settings;
+    private final Map<ConnectionRole, RedisLatencyHistogram> latency = new EnumMap<>(ConnectionRole.class);
+    private final AtomicInteger nextCommandConnection = new AtomicInteger();
+    private final Object bulkLock = new Object();
 
     private RedisClient client;
-    private StatefulRedisConnection<String, String> commandConnection;
+    private final List<StatefulRedisConnection<String, String>> commandConnections = new ArrayList<>();
+    private final List<RedisAsyncCommands<String, String>> commandPool = new ArrayList<>();
+    private StatefulRedisConnection<String, String> publishConnection;
+    private StatefulRedisConnection<String, byte[]> binaryConnection;
+    private StatefulRedisConnection<String, String> blockingConnection;
+    private RedisCommands<String, String> blockingCommands;
+    private StatefulRedisConnection<String, String> bulkConnection;
 
     public RedisManager(JavaPlugin plugin, PluginConfig.RedisSettings settings) {
         this.plugin = plugin;
         this.settings = settings;
+        for (ConnectionRole role : ConnectionRole.values()) {
+            latency.put(role, new RedisLatencyHistogram());
+        }
     }
 
     public void start() {
@@ -45,28 +90,46 @@ public final class RedisManager {
 
         try {
             this.client = RedisClient.create(builder.build());
-            this.commandConnection = client.connect();
-            plugin.getLogger().info("Connected to Redis @ " + settings.host() + ':' + settings.port());
+            for (int i = 0; i < settings.commandConnections(); i++) {
+                StatefulRedisConnection<String, String> connection = client.connect();
+                commandConnections.add(connection);
+                commandPool.add(timed(RedisAsyncCommands.class, connection.async(), ConnectionRole.COMMAND));
+            }
+            this.publishConnection = client.connect();
+            this.binaryConnection = client.connect(BINARY_CODEC);
+            this.blockingConnection = client.connect();
+            this.blockingCommands = timed(RedisCommands.class, blockingConnection.sync(), ConnectionRole.BLOCKING);
+            this.bulkConnection = client.connect();
+            bulkConnection.setAutoFlushCommands(false);
+            plugin.getLogger().info("Connected to Redis @ " + settings.host() + ':' + settings.port()
+                    + " with " + commandConnections.size() + " command connection(s)");
         } catch (Exception ex) {
             plugin.getLogger().log(Level.SEVERE, "Failed to initialise Redis connection", ex);
+            stop();
             throw ex;
         }
     }
 
     public void stop() {
-        if (commandConnection != null) {
-            try {
-                commandConnection.close();
-            } catch (Exception ex) {
-                plugin.getLogger().log(Level.WARNING, "Error while closing Redis connection", ex);
-            }
-        }
+        close(bulkConnection);
+        close(blockingConnection);
+        close(binaryConnection);
+        close(publishConnection);
+        commandConnections.forEach(this::close);
+        commandConnections.clear();
+        commandPool.clear();
+        bulkConnection = null;
+        blockingConnection = null;
+        blockingCommands = null;
+        binaryConnection = null;
+        publishConnection = null;
         if (client != null) {
             try {
                 client.shutdown();
             } catch (Exception ex) {
                 plugin.getLogger().log(Level.WARNING, "Error while shutting down Redis client", ex);
             }
+            client = null;
         }
     }
 
@@ -75,18 +138,157 @@ public final class RedisManager {
         return client.connectPubSub();
     }
 
+    /**
+     * Pub/sub connection with raw byte values, used for {@link RedisMessage} traffic in either wire format.
+     */
+    public StatefulRedisPubSubConnection<String, byte[]> connectBinaryPubSub() {
+        ensureStarted();
+        return client.connectPubSub(BINARY_CODEC);
+    }
+
+    /**
+     * Synchronous commands on the connection reserved for callers that wait on the reply, so they never stall
+     * the {@link #async()} pool. Long blocking reads should use {@link #connectBinary()} instead.
+     */
     public RedisCommands<String, String> sync() {
         ensureStarted();
-        return commandConnection.sync();
+        return blockingCommands;
+    }
+
+    /**
+     * Asynchronous commands on the next connection of the command pool.
+     */
+    public RedisAsyncCommands<String, String> async() {
+        ensureStarted();
+        return commandPool.get(Math.floorMod(nextCommandConnection.getAndIncrement(), commandPool.size()));
+    }
+
+    /**
+     * Queues the commands issued by {@code batch} on the bulk connection and sends them in one write. The futures
+     * returned by {@code batch} are handed back unchanged; the caller awaits them.
+     */
+    public <T extends Collection<? extends RedisFuture<?>>> T pipeline(
+            Function<RedisAsyncCommands<String, String>, T> batch) {
+        ensureStarted();
+        long started = System.nanoTime();
+        T futures;
+        synchronized (bulkLock) {
+            try {
+                futures = batch.apply(bulkConnection.async());
+            } finally {
+                // also sends whatever was queued before a failure so it cannot leak into the next batch
+                bulkConnection.flushCommands();
+            }
+        }
+        if (futures != null && !futures.isEmpty()) {
+            CompletableFuture.allOf(futures.stream()
+                            .map(CompletionStage::toCompletableFuture)
+                            .toArray(CompletableFuture[]::new))
+                    .whenComplete((ignored, error) -> latency.get(ConnectionRole.BULK).record(System.nanoTime() - started));
+        }
+        return futures;
     }
 
     public void publish(String channel, String message) {
         ensureStarted();
-        commandConnection.async().publish(channel, message);
+        record(ConnectionRole.PUBLISH, publishConnection.async().publish(channel, message));
+    }
+
+    public void publish(String channel, byte[] message) {
+        ensureStarted();
+        record(ConnectionRole.PUBLISH, binaryConnection.async().publish(channel, message));
+    }
+
+    /**
+     * Appends a single-field entry to {@code stream}, trimming it to roughly {@code maxLength} entries.
+     */
+    public RedisFuture<String> append(String stream, String field, byte[] value, long maxLength) {
+        ensureStarted();
+        return record(ConnectionRole.PUBLISH, binaryConnection.async().xadd(stream,
+                XAddArgs.Builder.maxlen(maxLength).approximateTrimming(),
+                Map.of(field, value)));
+    }
+
+    /**
+     * Dedicated connection with raw byte values for blocking commands such as {@code XREADGROUP ... BLOCK}, which
+     * must not stall the shared connections. The caller closes it.
+     */
+    public StatefulRedisConnection<String, byte[]> connectBinary() {
+        ensureStarted();
+        return client.connect(BINARY_CODEC);
+    }
+
+    /**
+     * Command latency per connection role, from issue to completion.
+     */
+    public Map<ConnectionRole, RedisLatencyHistogram.Snapshot> latency() {
+        Map<ConnectionRole, RedisLatencyHistogram.Snapshot> result = new EnumMap<>(ConnectionRole.class);
+        latency.forEach((role, histogram) -> result.put(role, histogram.snapshot()));
+        return result;
+    }
+
+    /**
+     * One-line summary of {@link #latency()} for the roles that issued commands, or an empty string.
+     */
+    public String latencySummary() {
+        StringJoiner joiner = new StringJoiner(", ");
+        latency().forEach((role, snapshot) -> {
+            if (snapshot.count() > 0L) {
+                joiner.add(role.name().toLowerCase(Locale.ROOT)
+                        + " n=" + snapshot.count()
+                        + " mean=" + snapshot.meanMicros() + "us"
+                        + " p50=" + snapshot.p50Micros() + "us"
+                        + " p99=" + snapshot.p99Micros() + "us"
+                        + " max=" + snapshot.maxMicros() + "us");
+            }
+        });
+        return joiner.toString();
+    }
+
+    private <T> RedisFuture<T> record(ConnectionRole role, RedisFuture<T> future) {
+        long started = System.nanoTime();
+        future.whenComplete((ignored, error) -> latency.get(role).record(System.nanoTime() - started));
+        return future;
+    }
+
+    /**
+     * Wraps a Lettuce command interface so every call is timed: asynchronous calls until their future completes,
+     * synchronous ones until they return.
+     */
+    private <C> C timed(Class<C> type, C target, ConnectionRole role) {
+        RedisLatencyHistogram histogram = latency.get(role);
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (instance, method, args) -> {
+            long started = System.nanoTime();
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                histogram.record(System.nanoTime() - started);
+                throw ex.getCause();
+            }
+            if (result instanceof CompletionStage<?> stage) {
+                stage.whenComplete((ignored, error) -> histogram.record(System.nanoTime() - started));
+            } else if (method.getDeclaringClass() != Object.class) {
+                histogram.record(System.nanoTime() - started);
+            }
+            return result;
+        });
+        return type.cast(proxy);
+    }
+
+    private void close(StatefulRedisConnection<?, ?> connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (Exception ex) {
+            plugin.getLogger().log(Level.WARNING, "Error while closing Redis connection", ex);
+        }
     }
 
     private void ensureStarted() {
         Objects.requireNonNull(client, "RedisManager not started");
-        Objects.requireNonNull(commandConnection, "RedisManager not started");
+        Objects.requireNonNull(publishConnection, "RedisManager not started");
     }
 }
@@ -1,17 +1,18 @@
 package wiki.creeper.superiorskyblockIntegeration.redis;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.Map;
 import java.util.UUID;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 /**
  * Canonical representation of SSB messaging payloads.
@@ -20,15 +21,32 @@ public final class RedisMessage {
 
     public static final int CURRENT_VERSION = 1;
 
+    private static final String KEY_SIGNATURE = "sig";
     private static final String KEY_COMPRESSED = "__compressed";
     private static final String KEY_ENCODING = "__encoding";
     private static final String KEY_PAYLOAD = "__payload";
-    private static final String ENCODING_GZIP_BASE64 = "gzip+base64";
 
     private final JsonObject root;
+    private final WireFormat wireFormat;
 
     private RedisMessage(JsonObject root) {
+        this(root, WireFormat.JSON);
+    }
+
+    private RedisMessage(JsonObject root, WireFormat wireFormat) {
         this.root = root;
+        this.wireFormat = wireFormat;
+    }
+
+    static RedisMessage decoded(JsonObject root, WireFormat wireFormat) {
+        return new RedisMessage(root, wireFormat);
+    }
+
+    /**
+     * Wraps an existing tree without copying it, e.g. an entry of a {@link RedisBatch} envelope.
+     */
+    public static RedisMessage wrap(JsonObject root) {
+        return new RedisMessage(root);
     }
 
     public static RedisMessage parse(String json) {
@@ -66,6 +84,13 @@ public final class RedisMessage {
         return root;
     }
 
+    /**
+     * Format the message arrived in; locally built messages report {@link WireFormat#JSON}.
+     */
+    public WireFormat wireFormat() {
+        return wireFormat;
+    }
+
     public String id() {
         JsonElement element = root.get("id");
         return element != null ? element.getAsString() : null;
@@ -117,6 +142,18 @@ public final class RedisMessage {
         return element != null ? element.getAsString() : null;
     }
 
+    /**
+     * Channel the response should be published to, or {@code null} for the per-request response channel.
+     */
+    public String replyTo() {
+        JsonElement element = root.get("replyTo");
+        return element != null && !element.isJsonNull() ? element.getAsString() : null;
+    }
+
+    public void setReplyTo(String channel) {
+        root.addProperty("replyTo", channel);
+    }
+
     public void setTarget(String targetUuid) {
         JsonObject data = data();
         data.addProperty("target", targetUuid);
@@ -142,22 +179,54 @@ public final class RedisMessage {
     }
 
     public void attachSignature(String signature) {
-        root.addProperty("sig", signature);
+        root.addProperty(KEY_SIGNATURE, signature);
     }
 
     public String signature() {
-        JsonElement element = root.get("sig");
+        JsonElement element = root.get(KEY_SIGNATURE);
         return element != null ? element.getAsString() : null;
     }
 
     public String toJson() {
-        return RedisCodec.gson().toJson(root.deepCopy());
+        return RedisCodec.gson().toJson(root);
     }
 
     public String canonicalPayload() {
-        JsonObject copy = root.deepCopy();
-        copy.remove("sig");
-        return RedisCodec.gson().toJson(copy);
+        StringWriter writer = new StringWriter(256);
+        try {
+            writeCanonical(writer);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to serialize message", ex);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Streams the signed form of the message (every field except {@code sig}) without copying the tree. The output
+     * is identical to serializing a copy with the signature removed.
+     */
+    public void writeCanonical(Writer out) throws IOException {
+        Gson gson = RedisCodec.gson();
+        JsonWriter writer = gson.newJsonWriter(out);
+        writer.beginObject();
+        for (Map.Entry<String, JsonElement> entry : root.entrySet()) {
+            if (KEY_SIGNATURE.equals(entry.getKey())) {
+                continue;
+            }
+            writer.name(entry.getKey());
+            gson.toJson(entry.getValue(), writer);
+        }
+        writer.endObject();
+        writer.flush();
+    }
+
+    /**
+     * Appends the signature field to a canonical payload produced by {@link #canonicalPayload()}.
+     */
+    public static String appendSignature(String canonical, String signature) {
+        String field = '"' + KEY_SIGNATURE + "\":\"" + signature + '"';
+        String body = canonical.substring(0, canonical.length() - 1);
+        return body.length() > 1 ? body + ',' + field + '}' : body + field + '}';
     }
 
     public void ensureVersion() {
@@ -165,6 +234,10 @@ public final class RedisMessage {
     }
 
     public void compressDataIfNeeded(int threshold) {
+        compressDataIfNeeded(threshold, MessageCompression.GZIP);
+    }
+
+    public void compressDataIfNeeded(int threshold, MessageCompression codec) {
         if (threshold <= 0) {
             return;
         }
@@ -181,19 +254,15 @@ public final class RedisMessage {
         if (bytes.length < threshold) {
             return;
         }
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-             GZIPOutputStream gzip = new GZIPOutputStream(baos)) {
-            gzip.write(bytes);
-            gzip.finish();
-            String encoded = Base64.getEncoder().encodeToString(baos.toByteArray());
-            JsonObject wrapper = new JsonObject();
-            wrapper.addProperty(KEY_COMPRESSED, true);
-            wrapper.addProperty(KEY_ENCODING, ENCODING_GZIP_BASE64);
-            wrapper.addProperty(KEY_PAYLOAD, encoded);
-            root.add("data", wrapper);
-        } catch (IOException ignored) {
-            root.add("data", data);
+        byte[] compressed = codec.compress(bytes, 0, bytes.length);
+        if (compressed == null) {
+            return;
         }
+        JsonObject wrapper = new JsonObject();
+        wrapper.addProperty(KEY_COMPRESSED, true);
+        wrapper.addProperty(KEY_ENCODING, codec.jsonEncoding());
+        wrapper.addProperty(KEY_PAYLOAD, Base64.getEncoder().encodeToString(compressed));
+        root.add("data", wrapper);
     }
 
     public void decompressDataIfNeeded() {
@@ -202,7 +271,8 @@ public final class RedisMessage {
             return;
         }
         JsonObject data = element.getAsJsonObject();
-        if (!isCompressionWrapper(data)) {
+        MessageCompression codec = compressionOf(data);
+        if (codec == null) {
             return;
         }
         String payload = data.has(KEY_PAYLOAD) ? data.get(KEY_PAYLOAD).getAsString() : null;
@@ -217,9 +287,8 @@ public final class RedisMessage {
             root.add("data", new JsonObject());
             return;
         }
-        try (ByteArrayInputStream bais = new ByteArrayInputStream(compressed);
-             GZIPInputStream gzip = new GZIPInputStream(bais)) {
-            byte[] uncompressed = gzip.readAllBytes();
+        try {
+            byte[] uncompressed = codec.decompress(compressed, 0, compressed.length);
             JsonObject original = JsonParser.parseString(new String(uncompressed, StandardCharsets.UTF_8)).getAsJsonObject();
             root.add("data", original);
         } catch (IOException | RuntimeException ex) {
@@ -227,11 +296,11 @@ public final class RedisMessage {
         }
     }
 
-    private boolean isCompressionWrapper(JsonObject data) {
+    private MessageCompression compressionOf(JsonObject data) {
         if (!data.has(KEY_COMPRESSED) || !data.get(KEY_COMPRESSED).getAsBoolean()) {
-            return false;
+            return null;
         }
         String encoding = data.has(KEY_ENCODING) ? data.get(KEY_ENCODING).getAsString() : "";
-        return ENCODING_GZIP_BASE64.equalsIgnoreCase(encoding);
+        return MessageCompression.byEncoding(encoding);
     }
 }
@@ -0,0 +1,40 @@
+package wiki.creeper.superiorskyblockIntegeration.redis;
+
+import wiki.creeper.superiorskyblockIntegeration.config.PluginConfig;
+
+/**
+ * Sends encoded request frames to the gateway over the configured {@link RequestTransport}. With
+ * {@link RequestTransport#STREAMS} every operation shares {@link RedisChannels#requestStream()}; the operation is
+ * read back from the frame itself.
+ */
+public final class RedisRequestPublisher {
+
+    /**
+     * Stream entry field holding the encoded frame.
+     */
+    public static final String FRAME_FIELD = "m";
+
+    private final RedisManager redisManager;
+    private final RedisChannels channels;
+    private final RequestTransport transport;
+    private final long maxLength;
+
+    public RedisRequestPublisher(RedisManager redisManager, RedisChannels channels, PluginConfig.ChannelSettings settings) {
+        this.redisManager = redisManager;
+        this.channels = channels;
+        this.transport = settings.requestTransport();
+        this.maxLength = settings.streams().maxLength();
+    }
+
+    public RequestTransport transport() {
+        return transport;
+    }
+
+    public void send(String op, byte[] frame) {
+        if (transport == RequestTransport.STREAMS) {
+            redisManager.append(channels.requestStream(), FRAME_FIELD, frame, maxLength);
+        } else {
+            redisManager.publish(channels.requestChannel(op), frame);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package wiki.creeper.superiorskyblockIntegeration.redis;
+
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import wiki.creeper.superiorskyblockIntegeration.config.PluginConfig;
+
+/**
+ * Signs and encodes {@link RedisMessage}s for publishing, and verifies and decodes received ones. Both formats are
+ * always accepted on receive; binary frames are recognised by their leading magic byte, which never starts a JSON
+ * document.
+ */
+public final class RedisWireCodec {
+
+    private final MessageSecurity security;
+    private final WireFormat defaultFormat;
+    private final int compressionThreshold;
+    private final MessageCompression compression;
+
+    public RedisWireCodec(MessageSecurity security, PluginConfig.RedisSettings settings) {
+        this.security = security;
+        this.defaultFormat = settings.wireFormat();
+        this.compressionThreshold = settings.messageCompressionThreshold();
+        this.compression = settings.compression();
+    }
+
+    public WireFormat defaultFormat() {
+        return defaultFormat;
+    }
+
+    public byte[] encode(RedisMessage message) {
+        return encode(message, defaultFormat);
+    }
+
+    public byte[] encode(RedisMessage message, WireFormat format) {
+        if (format == WireFormat.BINARY) {
+            message.ensureVersion();
+            return BinaryMessageCodec.encode(message.root(), compressionThreshold, compression, security);
+        }
+        message.compressDataIfNeeded(compressionThreshold, compression);
+        return security.signAndSerialize(message).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Verifies and decodes a received message with its data already decompressed.
+     *
+     * @return the message, or {@code null} when the signature is missing or invalid
+     * @throws IOException when a binary frame is malformed
+     */
+    public RedisMessage decode(byte[] wire) throws IOException {
+        if (BinaryMessageCodec.isBinary(wire)) {
+            JsonObject root = BinaryMessageCodec.decode(wire, security);
+            return root != null ? RedisMessage.decoded(root, WireFormat.BINARY) : null;
+        }
+        RedisMessage message = RedisMessage.parse(new String(wire, StandardCharsets.UTF_8));
+        if (!security.verify(message)) {
+            return null;
+        }
+        message.decompressDataIfNeeded();
+        return message;
+    }
+}
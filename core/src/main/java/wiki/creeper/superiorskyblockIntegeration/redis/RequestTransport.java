@@ -0,0 +1,24 @@
+package wiki.creeper.superiorskyblockIntegeration.redis;
+
+import java.util.Locale;
+
+/**
+ * How clients hand requests to the gateway. {@link #PUBSUB} is fire-and-forget and reaches every gateway;
+ * {@link #STREAMS} appends to a Redis stream read by one consumer group, so each request is executed by one
+ * gateway and survives a gateway restart.
+ */
+public enum RequestTransport {
+    PUBSUB,
+    STREAMS;
+
+    public static RequestTransport byName(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return PUBSUB;
+        }
+        try {
+            return RequestTransport.valueOf(raw.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return PUBSUB;
+        }
+    }
+}
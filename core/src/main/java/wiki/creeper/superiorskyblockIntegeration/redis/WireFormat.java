@@ -0,0 +1,23 @@
+package wiki.creeper.superiorskyblockIntegeration.redis;
+
+import java.util.Locale;
+
+/**
+ * Encoding used for {@link RedisMessage} traffic. Receivers accept both formats; the setting only selects what a
+ * node publishes, and gateway responses mirror the format of the request they answer.
+ */
+public enum WireFormat {
+    JSON,
+    BINARY;
+
+    public static WireFormat byName(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return JSON;
+        }
+        try {
+            return WireFormat.valueOf(raw.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return JSON;
+        }
+    }
+}
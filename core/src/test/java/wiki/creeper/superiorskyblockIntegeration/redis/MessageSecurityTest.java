@@ -0,0 +1,59 @@
+package wiki.creeper.superiorskyblockIntegeration.redis;
+
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageSecurityTest {
+
+    private final MessageSecurity security = new MessageSecurity(new HmacSigner("test-secret"));
+
+    @Test
+    @DisplayName("Canonical payload matches the copy-and-remove serialization")
+    void canonicalPayloadMatchesLegacyForm() {
+        RedisMessage message = sample();
+        message.attachSignature("placeholder");
+
+        JsonObject legacy = message.root().deepCopy();
+        legacy.remove("sig");
+
+        assertEquals(RedisCodec.gson().toJson(legacy), message.canonicalPayload());
+    }
+
+    @Test
+    @DisplayName("Signed wire form verifies after a round trip")
+    void signedWireFormVerifies() {
+        String wire = security.signAndSerialize(sample());
+
+        RedisMessage parsed = RedisMessage.parse(wire);
+
+        assertTrue(security.verify(parsed));
+        assertEquals(wire, parsed.toJson());
+    }
+
+    @Test
+    @DisplayName("Tampered or malformed signatures are rejected")
+    void tamperedMessagesFailVerification() {
+        RedisMessage tampered = RedisMessage.parse(security.signAndSerialize(sample()));
+        tampered.data().addProperty("amount", 9_999);
+        assertFalse(security.verify(tampered));
+
+        RedisMessage malformed = RedisMessage.parse(security.signAndSerialize(sample()));
+        malformed.attachSignature("not base64!");
+        assertFalse(security.verify(malformed));
+    }
+
+    private static RedisMessage sample() {
+        RedisMessage message = RedisMessage.request("quest.progress");
+        message.setActor("00000000-0000-0000-0000-000000000001");
+        message.data().addProperty("name", "섬 <농장> 🌾");
+        message.data().addProperty("amount", 12);
+        message.data().add("note", JsonNull.INSTANCE);
+        return message;
+    }
+}
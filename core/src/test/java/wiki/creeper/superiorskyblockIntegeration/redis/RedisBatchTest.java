@@ -0,0 +1,72 @@
+package wiki.creeper.superiorskyblockIntegeration.redis;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import wiki.creeper.superiorskyblockIntegeration.config.PluginConfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedisBatchTest {
+
+    private final MessageSecurity security = new MessageSecurity(new HmacSigner("test-secret"));
+
+    @Test
+    @DisplayName("Batched requests survive the wire and keep their ids")
+    void envelopeRoundTrip() throws IOException {
+        for (WireFormat format : WireFormat.values()) {
+            RedisWireCodec codec = new RedisWireCodec(security,
+                    new PluginConfig.RedisSettings("127.0.0.1", 6379, "", false, 0, 64, format, MessageCompression.DEFLATE, 1));
+            RedisMessage state = request("bank.state", 1);
+            RedisMessage history = request("bank.history", 2);
+
+            RedisMessage decoded = codec.decode(codec.encode(RedisBatch.envelope(List.of(state, history))));
+
+            assertNotNull(decoded);
+            assertTrue(RedisBatch.isBatch(decoded));
+            List<RedisMessage> requests = RedisBatch.requests(decoded);
+            assertEquals(2, requests.size());
+            assertEquals(state.id(), requests.get(0).id());
+            assertEquals("bank.history", requests.get(1).op());
+            assertEquals(state.data(), requests.get(0).data());
+        }
+    }
+
+    @Test
+    @DisplayName("Combined responses demultiplex to the original request ids")
+    void responseDemultiplex() throws IOException {
+        RedisWireCodec codec = new RedisWireCodec(security,
+                new PluginConfig.RedisSettings("127.0.0.1", 6379, "", false, 0, 4096, WireFormat.JSON, MessageCompression.GZIP, 1));
+        RedisMessage first = request("island.get", 1);
+        RedisMessage second = request("members.list", 2);
+        RedisMessage envelope = RedisBatch.envelope(List.of(first, second));
+
+        RedisMessage ok = RedisMessage.responseFor(first);
+        ok.setOk(true);
+        RedisMessage failed = RedisMessage.responseFor(second);
+        failed.setOk(false);
+        failed.setError("NOT_FOUND", "Island not found", false);
+
+        RedisMessage decoded = codec.decode(codec.encode(RedisBatch.response(envelope, List.of(ok, failed))));
+
+        assertNotNull(decoded);
+        assertEquals(envelope.id(), decoded.id());
+        List<RedisMessage> responses = RedisBatch.responses(decoded);
+        assertEquals(first.id(), responses.get(0).id());
+        assertTrue(responses.get(0).ok());
+        assertEquals(second.id(), responses.get(1).id());
+        assertEquals("NOT_FOUND", responses.get(1).error().get("code").getAsString());
+    }
+
+    private static RedisMessage request(String op, int page) {
+        RedisMessage message = RedisMessage.request(op);
+        message.setActor("00000000-0000-0000-0000-000000000001");
+        message.data().addProperty("page", page);
+        return message;
+    }
+}
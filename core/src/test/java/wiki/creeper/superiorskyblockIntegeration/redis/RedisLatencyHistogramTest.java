@@ -0,0 +1,36 @@
+package wiki.creeper.superiorskyblockIntegeration.redis;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedisLatencyHistogramTest {
+
+    @Test
+    @DisplayName("Percentiles land in the bucket of the matching sample")
+    void percentiles() {
+        RedisLatencyHistogram histogram = new RedisLatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(300));
+        }
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(40));
+
+        RedisLatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(100L, snapshot.count());
+        assertEquals(512L, snapshot.p50Micros());
+        assertEquals(512L, snapshot.p99Micros());
+        assertEquals(40_000L, snapshot.maxMicros());
+        assertTrue(snapshot.meanMicros() > 300L);
+    }
+
+    @Test
+    @DisplayName("An empty histogram reports zeros")
+    void empty() {
+        assertEquals(new RedisLatencyHistogram.Snapshot(0L, 0L, 0L, 0L, 0L), new RedisLatencyHistogram().snapshot());
+    }
+}
@@ -0,0 +1,115 @@
+package wiki.creeper.superiorskyblockIntegeration.redis;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import wiki.creeper.superiorskyblockIntegeration.config.PluginConfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RedisWireCodecTest {
+
+    private final MessageSecurity security = new MessageSecurity(new HmacSigner("test-secret"));
+
+    @Test
+    @DisplayName("Binary frames round trip with every compression codec")
+    void binaryRoundTrip() throws IOException {
+        for (MessageCompression compression : MessageCompression.values()) {
+            for (int threshold : new int[]{0, 64}) {
+                RedisWireCodec codec = codec(WireFormat.BINARY, threshold, compression);
+                RedisMessage original = sample();
+                JsonObject expected = original.root().deepCopy();
+                expected.addProperty("ver", String.valueOf(RedisMessage.CURRENT_VERSION));
+
+                RedisMessage decoded = codec.decode(codec.encode(original));
+
+                assertNotNull(decoded);
+                assertEquals(WireFormat.BINARY, decoded.wireFormat());
+                assertEquals(expected, decoded.root());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Compressed JSON payloads decode on any node")
+    void compressedJsonRoundTrip() throws IOException {
+        for (MessageCompression compression : MessageCompression.values()) {
+            RedisMessage original = sample();
+            JsonObject expected = original.data().deepCopy();
+
+            byte[] encoded = codec(WireFormat.JSON, 64, compression).encode(original);
+            RedisMessage decoded = codec(WireFormat.JSON, 64, MessageCompression.GZIP).decode(encoded);
+
+            assertNotNull(decoded);
+            assertEquals(expected, decoded.data());
+        }
+    }
+
+    @Test
+    @DisplayName("Receivers accept JSON regardless of the configured format")
+    void jsonAcceptedByBinaryNode() throws IOException {
+        byte[] json = codec(WireFormat.JSON, 4096, MessageCompression.GZIP).encode(sample());
+
+        RedisMessage decoded = codec(WireFormat.BINARY, 4096, MessageCompression.GZIP).decode(json);
+
+        assertNotNull(decoded);
+        assertEquals(WireFormat.JSON, decoded.wireFormat());
+        assertEquals("quest.progress", decoded.op());
+    }
+
+    @Test
+    @DisplayName("Tampered binary frames are rejected")
+    void tamperedBinaryRejected() throws IOException {
+        RedisWireCodec codec = codec(WireFormat.BINARY, 0, MessageCompression.GZIP);
+        byte[] wire = codec.encode(sample());
+        wire[wire.length - 1] ^= 1;
+
+        assertNull(codec.decode(wire));
+    }
+
+    @Test
+    @DisplayName("Payloads inflating past the limit are rejected")
+    void oversizedInflationRejected() throws IOException {
+        byte[] large = new byte[MessageCompression.MAX_INFLATED_BYTES + 1];
+        for (MessageCompression compression : MessageCompression.values()) {
+            byte[] compressed = compression.compress(large, 0, large.length);
+            assertNotNull(compressed);
+
+            assertThrows(IOException.class, () -> compression.decompress(compressed, 0, compressed.length));
+
+            byte[] fits = compression.compress(large, 0, large.length - 1);
+            assertEquals(large.length - 1, compression.decompress(fits, 0, fits.length).length);
+        }
+    }
+
+    private RedisWireCodec codec(WireFormat format, int threshold, MessageCompression compression) {
+        return new RedisWireCodec(security,
+                new PluginConfig.RedisSettings("127.0.0.1", 6379, "", false, 0, threshold, format, compression, 1));
+    }
+
+    private static RedisMessage sample() {
+        RedisMessage message = RedisMessage.request("quest.progress");
+        message.setActor("00000000-0000-0000-0000-000000000001");
+        JsonArray entries = new JsonArray();
+        for (int i = 0; i < 20; i++) {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("questId", i);
+            entry.addProperty("amount", -i * 1_000_000_000L);
+            entry.addProperty("ratio", i / 3.0d);
+            entry.addProperty("name", "섬 " + i + " 🌾");
+            entries.add(entry);
+        }
+        message.data().add("entries", entries);
+        message.data().add("note", JsonNull.INSTANCE);
+        message.data().addProperty("completed", true);
+        return message;
+    }
+}
@@ -25,17 +25,26 @@ import wiki.creeper.superiorskyblockIntegeration.client.services.FarmShopService
 import wiki.creeper.superiorskyblockIntegeration.client.services.QuestProgressService;
 import wiki.creeper.superiorskyblockIntegeration.client.lang.Messages;
 import wiki.creeper.superiorskyblockIntegeration.common.ComponentLifecycle;
+import wiki.creeper.superiorskyblockIntegeration.common.MetricsReporter;
 import wiki.creeper.superiorskyblockIntegeration.config.PluginConfig;
+import wiki.creeper.superiorskyblockIntegeration.gateway.cache.IslandSnapshotStore;
 import wiki.creeper.superiorskyblockIntegeration.gateway.cache.PlayerIslandCache;
+import wiki.creeper.superiorskyblockIntegeration.gateway.concurrent.GatewayWorkerPool;
+import wiki.creeper.superiorskyblockIntegeration.gateway.concurrent.IslandLockService;
+import wiki.creeper.superiorskyblockIntegeration.gateway.concurrent.KeyedSerialExecutor;
 import wiki.creeper.superiorskyblockIntegeration.gateway.bridge.SuperiorSkyblockBridge;
 import wiki.creeper.superiorskyblockIntegeration.gateway.bridge.SuperiorSkyblockBridgeFactory;
+import wiki.creeper.superiorskyblockIntegeration.gateway.data.CachingGatewayDataService;
 import wiki.creeper.superiorskyblockIntegeration.gateway.data.GatewayDataService;
 import wiki.creeper.superiorskyblockIntegeration.gateway.data.GatewayDatabase;
 import wiki.creeper.superiorskyblockIntegeration.gateway.data.GatewayHeadDataService;
 import wiki.creeper.superiorskyblockIntegeration.gateway.data.GatewayPlayerMetadataService;
 import wiki.creeper.superiorskyblockIntegeration.gateway.data.GatewayPlayerProfileService;
 import wiki.creeper.superiorskyblockIntegeration.gateway.data.GatewayQuestService;
+import wiki.creeper.superiorskyblockIntegeration.gateway.data.GatewayQuestStore;
+import wiki.creeper.superiorskyblockIntegeration.gateway.data.GatewayRankingMirror;
 import wiki.creeper.superiorskyblockIntegeration.gateway.data.GatewayRankingService;
+import wiki.creeper.superiorskyblockIntegeration.gateway.data.ProfileRegistrationQueue;
 import wiki.creeper.superiorskyblockIntegeration.gateway.data.SqlGatewayDataService;
 import wiki.creeper.superiorskyblockIntegeration.gateway.commands.SpawnCommand;
 import wiki.creeper.superiorskyblockIntegeration.gateway.idempotency.IdempotencyService;
@@ -45,6 +54,8 @@ import wiki.creeper.superiorskyblockIntegeration.redis.HmacSigner;
 import wiki.creeper.superiorskyblockIntegeration.redis.MessageSecurity;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisChannels;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisManager;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisWireCodec;
+import wiki.creeper.superiorskyblockIntegeration.redis.RequestTransport;
 import wiki.creeper.superiorskyblockIntegeration.gateway.listeners.IslandBlockGeneratorListener;
 
 /**
@@ -59,10 +70,16 @@ public final class GatewayApplication implements ComponentLifecycle {
 
     private RedisChannels channels;
     private MessageSecurity security;
+    private RedisWireCodec wire;
     private GatewaySubscriber subscriber;
-    private StatefulRedisPubSubConnection<String, String> subscriptionConnection;
+    private GatewayStreamConsumer streamConsumer;
+    private StatefulRedisPubSubConnection<String, byte[]> subscriptionConnection;
     private GatewayRequestRouter requestRouter;
     private IdempotencyService idempotency;
+    private KeyedSerialExecutor islandExecutor;
+    private GatewayWorkerPool workerPool;
+    private IslandLockService islandLocks;
+    private MetricsReporter metricsReporter;
     private SuperiorSkyblockBridge bridge;
     private GatewayEventPublisher eventPublisher;
     private GatewaySuperiorSkyblockEventListener ssbListener;
@@ -70,12 +87,16 @@ public final class GatewayApplication implements ComponentLifecycle {
     private IslandBlockGeneratorListener blockGeneratorListener;
     private GatewayVelocityService velocityService;
     private PlayerIslandCache islandCache;
+    private IslandSnapshotStore islandSnapshots;
     private boolean islandServiceRegistered;
     private GatewayDataService dataService;
+    private CachingGatewayDataService dataCache;
     private GatewayDatabase database;
+    private GatewayQuestStore questStore;
     private GatewayQuestService questService;
     private GatewayRankingService rankingService;
-    private PlayerMetadataService metadataService;
+    private GatewayPlayerMetadataService metadataService;
+    private ProfileRegistrationQueue profileRegistrations;
     private GatewayHeadDataService headDataService;
     private KickReasonRegistry kickReasons;
     private GatewayBusListener busListener;
@@ -104,6 +125,7 @@ public final class GatewayApplication implements ComponentLifecycle {
         wiki.creeper.superiorskyblockIntegeration.common.quest.QuestRewards.configure(config.quest());
         this.channels = new RedisChannels(config.channels().prefix());
         this.security = new MessageSecurity(new HmacSigner(config.security().hmacSecret()));
+        this.wire = new RedisWireCodec(security, config.redis());
         this.bridge = SuperiorSkyblockBridgeFactory.create(plugin);
         this.islandCache = new PlayerIslandCache(bridge);
         if (bridge.isAvailable()) {
@@ -118,17 +140,43 @@ public final class GatewayApplication implements ComponentLifecycle {
             plugin.getLogger().warning("SuperiorSkyblock bridge not available; PlayerIslandService will not be registered");
         }
         this.database = new GatewayDatabase(plugin, config.gateway().database());
-        this.idempotency = new IdempotencyService(Duration.ofMinutes(10), plugin.getLogger());
-        this.eventPublisher = new GatewayEventPublisher(plugin, redisManager, channels, security, config.redis().messageCompressionThreshold(), messages, config.logging().redisDebug());
-        this.dataService = new SqlGatewayDataService(database, plugin.getLogger());
-        this.rankingService = new GatewayRankingService(plugin, database, bridge, plugin.getLogger());
-        this.questService = new GatewayQuestService(dataService, rankingService, bridge);
-        this.metadataService = new GatewayPlayerMetadataService(plugin, dataService);
-        this.profileService = new GatewayPlayerProfileService(plugin, dataService);
+        this.idempotency = new IdempotencyService(Duration.ofMinutes(10), redisManager, plugin.getLogger());
+        this.eventPublisher = new GatewayEventPublisher(plugin, redisManager, channels, wire, messages, config.logging().redisDebug());
+        SqlGatewayDataService sqlDataService = new SqlGatewayDataService(database, plugin.getLogger());
+        if (config.gateway().dataCache().enabled()) {
+            this.dataCache = new CachingGatewayDataService(sqlDataService, redisManager, channels, config.gateway().dataCache(), plugin.getLogger());
+            this.dataService = dataCache;
+        } else {
+            this.dataService = sqlDataService;
+        }
+        GatewayRankingMirror rankingMirror = config.gateway().ranking().redisMirror()
+                ? new GatewayRankingMirror(redisManager, plugin.getLogger())
+                : null;
+        this.rankingService = new GatewayRankingService(plugin, database, bridge, config.gateway().ranking(), rankingMirror, plugin.getLogger());
+        boolean streams = config.channels().requestTransport() == RequestTransport.STREAMS;
+        boolean distributedLocks = config.gateway().locks().distributed();
+        if (streams && !distributedLocks) {
+            plugin.getLogger().warning("channels.requestTransport is STREAMS but gateway.locks.distributed is false; "
+                    + "island writes handled by different gateways are not ordered");
+        }
+        this.questStore = new GatewayQuestStore(plugin, dataService, redisManager, channels, config.gateway().quests(),
+                streams || distributedLocks);
+        this.questService = new GatewayQuestService(dataService, questStore, rankingService, bridge);
+        this.metadataService = new GatewayPlayerMetadataService(plugin, dataService, redisManager, channels, config.gateway().metadataWrites());
+        this.profileRegistrations = new ProfileRegistrationQueue(plugin, dataService, config.gateway().profiles());
+        this.profileService = new GatewayPlayerProfileService(plugin, profileRegistrations);
         this.headDataService = new GatewayHeadDataService(redisManager, channels, plugin.getLogger(), metadataService);
         this.kickReasons = new KickReasonRegistry();
-        this.requestRouter = new GatewayRequestRouter(plugin, redisManager, channels, security, idempotency, config, bridge, eventPublisher, islandCache, dataService, rankingService, questService, metadataService, kickReasons);
-        this.busListener = new GatewayBusListener(plugin, plugin.getLogger(), redisManager, channels, headDataService);
+        this.islandExecutor = new KeyedSerialExecutor("ssb-island", config.gateway().concurrency().workers(), 1024, plugin.getLogger());
+        this.workerPool = new GatewayWorkerPool("ssb-gateway",
+                config.gateway().concurrency().workers(),
+                config.gateway().concurrency().queueCapacity(),
+                plugin.getLogger());
+        this.islandLocks = new IslandLockService(redisManager, config.gateway().locks(), plugin.getLogger());
+        this.islandSnapshots = new IslandSnapshotStore(plugin, bridge, config.gateway().snapshots());
+        this.islandSnapshots.start();
+        this.requestRouter = new GatewayRequestRouter(plugin, redisManager, channels, wire, idempotency, config, bridge, eventPublisher, islandCache, dataService, rankingService, questService, metadataService, kickReasons, islandExecutor, islandLocks, workerPool, islandSnapshots, profileRegistrations);
+        this.busListener = new GatewayBusListener(plugin, plugin.getLogger(), redisManager, channels, headDataService, dataCache, metadataService, questStore);
         this.networkService = new GatewayNetworkService(plugin, config, requestRouter);
         plugin.getServer().getServicesManager().register(NetworkSkyblockService.class, networkService, plugin, ServicePriority.High);
         this.cache = new ClientCache(config.client().cache());
@@ -143,7 +191,7 @@ public final class GatewayApplication implements ComponentLifecycle {
         this.menuManager.setFarmShopService(farmShopService);
         this.velocityService = new GatewayVelocityService(plugin, config.client().velocity());
         this.menuManager.setMetadataService(metadataService);
-        this.questProgressService = new QuestProgressService(plugin, networkService);
+        this.questProgressService = new QuestProgressService(plugin, networkService, config.client().questProgress());
         this.menuManager.setQuestProgressService(questProgressService);
         this.questProgressListener = new QuestProgressListener(questProgressService);
         plugin.getServer().getPluginManager().registerEvents(questProgressListener, plugin);
@@ -164,19 +212,31 @@ public final class GatewayApplication implements ComponentLifecycle {
         this.blockGeneratorListener = new IslandBlockGeneratorListener(plugin);
         plugin.getServer().getPluginManager().registerEvents(blockGeneratorListener, plugin);
 
-        this.subscriptionConnection = redisManager.connectPubSub();
-        this.subscriber = new GatewaySubscriber(plugin, security, requestRouter);
+        this.subscriptionConnection = redisManager.connectBinaryPubSub();
+        this.subscriber = new GatewaySubscriber(plugin, wire, requestRouter, workerPool);
         subscriber.register(subscriptionConnection, channels.requestPattern());
+        if (config.channels().requestTransport() == RequestTransport.STREAMS) {
+            // pub/sub stays subscribed so clients that have not switched yet are still served
+            this.streamConsumer = new GatewayStreamConsumer(plugin, redisManager, channels, wire, requestRouter, workerPool, config);
+            streamConsumer.start();
+        }
         this.busConnection = redisManager.connectPubSub();
         busListener.register(busConnection);
 
         if (bridge.isAvailable()) {
-            this.ssbListener = new GatewaySuperiorSkyblockEventListener(plugin, bridge, eventPublisher, islandCache, kickReasons, metadataService, velocityService);
+            this.ssbListener = new GatewaySuperiorSkyblockEventListener(plugin, bridge, eventPublisher, islandCache, islandSnapshots, kickReasons, metadataService, velocityService);
             plugin.getServer().getPluginManager().registerEvents(ssbListener, plugin);
         }
 
         registerCommands();
 
+        this.metricsReporter = new MetricsReporter(plugin, config.logging().metricsIntervalSeconds());
+        metricsReporter.register("quests", questStore::metrics);
+        metricsReporter.register("islandLocks", islandLocks::metrics);
+        metricsReporter.register("profiles", profileRegistrations::metrics);
+        metricsReporter.register("redis", redisManager::latencySummary);
+        metricsReporter.start();
+
         plugin.getLogger().info("Gateway component started; waiting for requests on pattern " + channels.requestPattern());
     }
 
@@ -204,6 +264,10 @@ public final class GatewayApplication implements ComponentLifecycle {
 
     @Override
     public void stop() {
+        if (metricsReporter != null) {
+            metricsReporter.stop();
+            metricsReporter = null;
+        }
         if (questProgressListener != null) {
             HandlerList.unregisterAll(questProgressListener);
             questProgressListener = null;
@@ -220,12 +284,19 @@ public final class GatewayApplication implements ComponentLifecycle {
             HandlerList.unregisterAll(blockGeneratorListener);
             blockGeneratorListener = null;
         }
-        questProgressService = null;
+        if (questProgressService != null) {
+            questProgressService.shutdown();
+            questProgressService = null;
+        }
         farmRewardService = null;
         farmShopService = null;
         farmHistoryService = null;
         farmRankingService = null;
         cache = null;
+        if (streamConsumer != null) {
+            streamConsumer.stop();
+            streamConsumer = null;
+        }
         if (subscriber != null) {
             try {
                 subscriber.gracefulShutdown();
@@ -241,6 +312,10 @@ public final class GatewayApplication implements ComponentLifecycle {
             org.bukkit.event.HandlerList.unregisterAll(furnaceListener);
             furnaceListener = null;
         }
+        if (islandSnapshots != null) {
+            islandSnapshots.stop();
+            islandSnapshots = null;
+        }
         if (islandServiceRegistered && islandCache != null) {
             plugin.getServer().getServicesManager().unregister(islandCache);
             islandServiceRegistered = false;
@@ -251,13 +326,34 @@ public final class GatewayApplication implements ComponentLifecycle {
         }
         if (metadataService != null) {
             plugin.getServer().getServicesManager().unregister(metadataService);
-            metadataService = null;
         }
         kickReasons = null;
         if (profileService != null) {
             plugin.getServer().getServicesManager().unregister(profileService);
             profileService = null;
         }
+        if (profileRegistrations != null) {
+            profileRegistrations.shutdown();
+            profileRegistrations = null;
+        }
+        if (workerPool != null) {
+            workerPool.shutdown(5000L);
+            workerPool = null;
+        }
+        if (islandExecutor != null) {
+            islandExecutor.shutdown(5000L);
+            islandExecutor = null;
+        }
+        islandLocks = null;
+        if (metadataService != null) {
+            // after the pools drain, so writes of in-flight requests are part of the last flush
+            metadataService.shutdown();
+            metadataService = null;
+        }
+        if (questStore != null) {
+            questStore.shutdown();
+            questStore = null;
+        }
         if (rankingService != null) {
             rankingService.shutdown();
             rankingService = null;
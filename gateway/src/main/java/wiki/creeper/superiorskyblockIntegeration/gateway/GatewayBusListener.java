@@ -13,7 +13,10 @@ import java.util.UUID;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import wiki.creeper.superiorskyblockIntegeration.gateway.data.CachingGatewayDataService;
 import wiki.creeper.superiorskyblockIntegeration.gateway.data.GatewayHeadDataService;
+import wiki.creeper.superiorskyblockIntegeration.gateway.data.GatewayPlayerMetadataService;
+import wiki.creeper.superiorskyblockIntegeration.gateway.data.GatewayQuestStore;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisChannels;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisCodec;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisManager;
@@ -23,6 +26,9 @@ final class GatewayBusListener extends RedisPubSubAdapter<String, String> {
     private final JavaPlugin plugin;
     private final RedisChannels channels;
     private final GatewayHeadDataService headDataService;
+    private final CachingGatewayDataService dataCache;
+    private final GatewayPlayerMetadataService metadataService;
+    private final GatewayQuestStore questStore;
     private final Logger logger;
     private final RedisManager redisManager;
 
@@ -30,12 +36,18 @@ final class GatewayBusListener extends RedisPubSubAdapter<String, String> {
                        Logger logger,
                        RedisManager redisManager,
                        RedisChannels channels,
-                       GatewayHeadDataService headDataService) {
+                       GatewayHeadDataService headDataService,
+                       CachingGatewayDataService dataCache,
+                       GatewayPlayerMetadataService metadataService,
+                       GatewayQuestStore questStore) {
         this.plugin = plugin;
         this.logger = logger;
         this.redisManager = redisManager;
         this.channels = channels;
         this.headDataService = headDataService;
+        this.dataCache = dataCache;
+        this.metadataService = metadataService;
+        this.questStore = questStore;
     }
 
     void register(StatefulRedisPubSubConnection<String, String> connection) {
@@ -58,6 +70,18 @@ final class GatewayBusListener extends RedisPubSubAdapter<String, String> {
                 handleFarmCommand(message);
             } else if ("farm.setloclobby".equals(topic)) {
                 handleSetLocLobby(message);
+            } else if (CachingGatewayDataService.INVALIDATION_TOPIC.equals(topic)) {
+                if (dataCache != null) {
+                    dataCache.handleInvalidation(parseJson(message));
+                }
+            } else if (GatewayQuestStore.INVALIDATION_TOPIC.equals(topic)) {
+                if (questStore != null) {
+                    questStore.handleInvalidation(parseJson(message));
+                }
+            } else if (GatewayPlayerMetadataService.WRITTEN_TOPIC.equals(topic)) {
+                if (metadataService != null) {
+                    metadataService.handleWritten(parseJson(message));
+                }
             }
         } catch (Exception ex) {
             logger.log(Level.SEVERE, "Gateway bus listener failed to process message", ex);
@@ -7,33 +7,30 @@ import java.util.UUID;
 import java.util.logging.Level;
 
 import wiki.creeper.superiorskyblockIntegeration.client.lang.Messages;
-import wiki.creeper.superiorskyblockIntegeration.redis.MessageSecurity;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisChannels;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisManager;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisMessage;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisWireCodec;
 
 final class GatewayEventPublisher {
 
     private final JavaPlugin plugin;
     private final RedisManager redisManager;
     private final RedisChannels channels;
-    private final MessageSecurity security;
-    private final int compressionThreshold;
+    private final RedisWireCodec wire;
     private final Messages messages;
     private final boolean redisDebug;
 
     GatewayEventPublisher(JavaPlugin plugin,
                           RedisManager redisManager,
                           RedisChannels channels,
-                          MessageSecurity security,
-                          int compressionThreshold,
+                          RedisWireCodec wire,
                           Messages messages,
                           boolean redisDebug) {
         this.plugin = plugin;
         this.redisManager = redisManager;
         this.channels = channels;
-        this.security = security;
-        this.compressionThreshold = compressionThreshold;
+        this.wire = wire;
         this.messages = messages;
         this.redisDebug = redisDebug;
     }
@@ -118,10 +115,8 @@ final class GatewayEventPublisher {
                 message.setActor(actor.toString());
             }
             message.mergeData(payload);
-            message.compressDataIfNeeded(compressionThreshold);
-            security.sign(message);
             String channel = channels.eventChannel(eventType);
-            redisManager.publish(channel, message.toJson());
+            redisManager.publish(channel, wire.encode(message));
         } catch (Exception ex) {
             plugin.getLogger().log(Level.WARNING, "Failed to publish event " + eventType, ex);
         }
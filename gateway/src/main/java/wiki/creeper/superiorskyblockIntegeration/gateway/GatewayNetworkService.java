@@ -7,6 +7,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -16,6 +17,7 @@ import wiki.creeper.superiorskyblockIntegeration.api.NetworkOperationResult;
 import wiki.creeper.superiorskyblockIntegeration.api.NetworkPayloadCustomizer;
 import wiki.creeper.superiorskyblockIntegeration.api.NetworkSkyblockService;
 import wiki.creeper.superiorskyblockIntegeration.common.Operations;
+import wiki.creeper.superiorskyblockIntegeration.common.quest.QuestProgressIncrement;
 import wiki.creeper.superiorskyblockIntegeration.common.quest.QuestType;
 import wiki.creeper.superiorskyblockIntegeration.config.PluginConfig;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisMessage;
@@ -207,6 +209,24 @@ public final class GatewayNetworkService implements NetworkSkyblockService {
         });
     }
 
+    @Override
+    public CompletableFuture<NetworkOperationResult> questProgressBatch(Player actor,
+                                                                         List<QuestProgressIncrement> increments,
+                                                                         String contributorUuid) {
+        return execute(actor, Operations.QUEST_PROGRESS_BATCH, message -> {
+            JsonArray entries = new JsonArray();
+            if (increments != null) {
+                for (QuestProgressIncrement increment : increments) {
+                    entries.add(increment.toJson());
+                }
+            }
+            message.data().add("entries", entries);
+            if (contributorUuid != null && !contributorUuid.isBlank()) {
+                message.data().addProperty("contributor", contributorUuid);
+            }
+        });
+    }
+
     @Override
     public CompletableFuture<NetworkOperationResult> farmRankingTop(Player actor, int limit) {
         return execute(actor, Operations.FARM_RANKING_TOP, message ->
@@ -656,7 +676,7 @@ public final class GatewayNetworkService implements NetworkSkyblockService {
                                                               Operations operation,
                                                               Consumer<RedisMessage> payloadCustomizer) {
         CompletableFuture<NetworkOperationResult> future = new CompletableFuture<>();
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+        Runnable task = () -> {
             try {
                 RedisMessage request = RedisMessage.request(operation.op());
                 applyActorContext(actor, request);
@@ -668,7 +688,13 @@ public final class GatewayNetworkService implements NetworkSkyblockService {
             } catch (Exception ex) {
                 future.completeExceptionally(ex);
             }
-        });
+        };
+        if (!plugin.isEnabled()) {
+            // Scheduler rejects new tasks while disabling; run inline so shutdown flushes still reach the router.
+            task.run();
+        } else {
+            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, task);
+        }
         return future;
     }
 
@@ -22,6 +22,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.io.ByteArrayInputStream;
@@ -29,27 +30,41 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.EnumSet;
 import java.util.List;
-
-import wiki.creeper.superiorskyblockIntegeration.api.PlayerMetadataService;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import wiki.creeper.superiorskyblockIntegeration.common.Operations;
 import wiki.creeper.superiorskyblockIntegeration.common.errors.ErrorCode;
 import wiki.creeper.superiorskyblockIntegeration.common.quest.QuestType;
 import wiki.creeper.superiorskyblockIntegeration.config.PluginConfig;
 import wiki.creeper.superiorskyblockIntegeration.common.model.PlayerProfile;
+import wiki.creeper.superiorskyblockIntegeration.gateway.bridge.IslandSnapshot;
+import wiki.creeper.superiorskyblockIntegeration.gateway.cache.IslandSnapshotStore;
 import wiki.creeper.superiorskyblockIntegeration.gateway.cache.PlayerIslandCache;
+import wiki.creeper.superiorskyblockIntegeration.gateway.concurrent.GatewayWorkerPool;
+import wiki.creeper.superiorskyblockIntegeration.gateway.concurrent.IslandLockService;
+import wiki.creeper.superiorskyblockIntegeration.gateway.concurrent.KeyedSerialExecutor;
 import wiki.creeper.superiorskyblockIntegeration.gateway.data.GatewayDataService;
+import wiki.creeper.superiorskyblockIntegeration.gateway.data.GatewayPlayerMetadataService;
 import wiki.creeper.superiorskyblockIntegeration.gateway.idempotency.IdempotencyKeyBuilder;
 import wiki.creeper.superiorskyblockIntegeration.gateway.idempotency.IdempotencyService;
 import wiki.creeper.superiorskyblockIntegeration.gateway.bridge.SuperiorSkyblockBridge;
 import wiki.creeper.superiorskyblockIntegeration.gateway.data.GatewayQuestService;
 import wiki.creeper.superiorskyblockIntegeration.gateway.data.GatewayRankingService;
+import wiki.creeper.superiorskyblockIntegeration.gateway.data.ProfileRegistrationQueue;
 import wiki.creeper.superiorskyblockIntegeration.gateway.errors.GatewayException;
-import wiki.creeper.superiorskyblockIntegeration.redis.MessageSecurity;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisBatch;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisChannels;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisManager;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisMessage;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisWireCodec;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisCodec;
 
 /**
@@ -60,7 +75,7 @@ final class GatewayRequestRouter {
     private final JavaPlugin plugin;
     private final RedisManager redisManager;
     private final RedisChannels channels;
-    private final MessageSecurity security;
+    private final RedisWireCodec wire;
     private final GatewayEventPublisher events;
     private final IdempotencyService idempotency;
     private final IdempotencyKeyBuilder idempotencyKeys;
@@ -70,20 +85,93 @@ final class GatewayRequestRouter {
     private final GatewayDataService dataService;
     private final GatewayRankingService rankingService;
     private final GatewayQuestService questService;
-    private final PlayerMetadataService metadataService;
-    private final int compressionThreshold;
+    private final GatewayPlayerMetadataService metadataService;
     private final KickReasonRegistry kickReasons;
+    private final KeyedSerialExecutor islandExecutor;
+    private final IslandLockService islandLocks;
+    private final GatewayWorkerPool workerPool;
+    private final IslandSnapshotStore islandSnapshots;
+    private final ProfileRegistrationQueue profileRegistrations;
+    private static final Set<Operations> ISLAND_SCOPED_WRITES = EnumSet.of(
+            Operations.QUEST_ASSIGN,
+            Operations.QUEST_PROGRESS,
+            Operations.QUEST_PROGRESS_BATCH,
+            Operations.FARM_RANKING_INCREMENT,
+            Operations.FARM_RULE_ADD,
+            Operations.FARM_RULE_REMOVE,
+            Operations.BANK_DEPOSIT,
+            Operations.BANK_WITHDRAW,
+            Operations.BANK_LOCK_SET
+    );
+    private static final Set<Operations> READ_OPERATIONS = EnumSet.of(
+            Operations.INVITES_PENDING,
+            Operations.ISLAND_GET,
+            Operations.MEMBERS_LIST,
+            Operations.DATA_GET,
+            Operations.PLAYER_PROFILE_LOOKUP,
+            Operations.PLAYER_ISLAND_LOOKUP,
+            Operations.QUEST_STATE,
+            Operations.FARM_RANKING_TOP,
+            Operations.FARM_RANKING_MEMBERS,
+            Operations.FARM_HISTORY_LIST,
+            Operations.FARM_HISTORY_DETAIL,
+            Operations.FARM_BORDER_STATE,
+            Operations.FARM_REWARD_TABLE,
+            Operations.FARM_SHOP_TABLE,
+            Operations.FARM_POINTS_INFO,
+            Operations.FARM_HOPPER_INFO,
+            Operations.FARM_WARP_HOME_LIST,
+            Operations.FARM_WARP_PLAYER_LIST,
+            Operations.FARM_WARP_GLOBAL_LIST,
+            Operations.FARM_RULE_LIST,
+            Operations.FARM_COOP_LIST,
+            Operations.FARM_BAN_LIST,
+            Operations.ROLE_PERMISSIONS_LIST,
+            Operations.BANK_STATE,
+            Operations.BANK_HISTORY
+    );
+    private static final Set<Operations> ADMIN_OPERATIONS = EnumSet.of(
+            Operations.FARM_RANKING_SNAPSHOT,
+            Operations.ADMIN_RESET_PERMISSIONS,
+            Operations.ADMIN_LOOKUP_ISLAND_UUID,
+            Operations.ADMIN_LOOKUP_ISLAND_OWNER,
+            Operations.ADMIN_TOGGLE_GAMBLING,
+            Operations.ADMIN_LOAD_POWER_REWARD,
+            Operations.ADMIN_SAVE_POWER_REWARD,
+            Operations.ADMIN_LOAD_TOP_REWARD,
+            Operations.ADMIN_SAVE_TOP_REWARD,
+            Operations.ADMIN_GIVE_TOP_REWARD
+    );
+    /**
+     * Writes that change state held in {@link IslandSnapshotStore}; the actor's island snapshot is dropped after
+     * them so the actor reads their own write.
+     */
+    private static final Set<Operations> SNAPSHOT_WRITES = EnumSet.of(
+            Operations.INVITE_ACCEPT,
+            Operations.MEMBERS_KICK,
+            Operations.ISLAND_DISBAND,
+            Operations.ROLE_PERMISSIONS_UPDATE,
+            Operations.BANK_DEPOSIT,
+            Operations.BANK_WITHDRAW,
+            Operations.FARM_RATING_UPDATE,
+            Operations.FARM_WARP_HOME_SET,
+            Operations.FARM_WARP_HOME_DELETE,
+            Operations.FARM_WARP_HOME_RENAME,
+            Operations.FARM_WARP_HOME_TOGGLE
+    );
     private static final String POWER_REWARD_NAMESPACE = "rewards:power";
     private static final String TOP_REWARD_NAMESPACE = "rewards:top";
     private static final String ISLAND_RULE_NAMESPACE = "rules:island";
     private static final String BANK_LOCK_NAMESPACE = "bank:lock";
     private static final int MAX_REWARD_SLOTS = 27;
     private static final int MAX_ISLAND_RULES = 5;
+    private static final int MAX_QUEST_PROGRESS_BATCH = 256;
+    private static final int MAX_BATCH_REQUESTS = 64;
 
     GatewayRequestRouter(JavaPlugin plugin,
                          RedisManager redisManager,
                          RedisChannels channels,
-                         MessageSecurity security,
+                         RedisWireCodec wire,
                          IdempotencyService idempotency,
                          PluginConfig config,
                          SuperiorSkyblockBridge bridge,
@@ -92,12 +180,17 @@ final class GatewayRequestRouter {
                          GatewayDataService dataService,
                          GatewayRankingService rankingService,
                          GatewayQuestService questService,
-                         PlayerMetadataService metadataService,
-                         KickReasonRegistry kickReasons) {
+                         GatewayPlayerMetadataService metadataService,
+                         KickReasonRegistry kickReasons,
+                         KeyedSerialExecutor islandExecutor,
+                         IslandLockService islandLocks,
+                         GatewayWorkerPool workerPool,
+                         IslandSnapshotStore islandSnapshots,
+                         ProfileRegistrationQueue profileRegistrations) {
         this.plugin = plugin;
         this.redisManager = redisManager;
         this.channels = channels;
-        this.security = security;
+        this.wire = wire;
         this.events = events;
         this.idempotency = idempotency;
         this.idempotencyKeys = new IdempotencyKeyBuilder(config.channels().prefix() + ":idemp");
@@ -108,11 +201,104 @@ final class GatewayRequestRouter {
         this.rankingService = rankingService;
         this.questService = questService;
         this.metadataService = metadataService;
-        this.compressionThreshold = config.redis().messageCompressionThreshold();
         this.kickReasons = kickReasons;
+        this.islandExecutor = Objects.requireNonNull(islandExecutor, "islandExecutor");
+        this.islandLocks = Objects.requireNonNull(islandLocks, "islandLocks");
+        this.workerPool = Objects.requireNonNull(workerPool, "workerPool");
+        this.islandSnapshots = Objects.requireNonNull(islandSnapshots, "islandSnapshots");
+        this.profileRegistrations = Objects.requireNonNull(profileRegistrations, "profileRegistrations");
     }
 
     void handle(String channel, RedisMessage request) {
+        handle(channel, request, () -> { });
+    }
+
+    /**
+     * Handles {@code request} and runs {@code onDone} once its response has been published, or once handling has
+     * failed for good. Island-scoped requests finish on the island executor, after this method has returned.
+     */
+    void handle(String channel, RedisMessage request, Runnable onDone) {
+        boolean deferred = false;
+        try {
+            Optional<Operations> operation = resolveOperation(channel, request);
+            if (operation.isEmpty()) {
+                plugin.getLogger().warning("Unknown operation received on " + channel + ": " + request.op());
+                publishError(request, "UNKNOWN_OPERATION", "Unsupported operation: " + request.op(), false);
+                return;
+            }
+
+            Operations resolved = operation.get();
+            if (resolved == Operations.BATCH) {
+                handleBatch(request);
+                return;
+            }
+            String serialKey;
+            try {
+                serialKey = serialKey(resolved, request);
+            } catch (GatewayException ex) {
+                publishError(request, ex.code().code(), ex.getMessage(), ex.retryable());
+                return;
+            }
+            if (serialKey == null) {
+                publishResponse(request, dispatch(resolved, request));
+                return;
+            }
+            try {
+                islandExecutor.execute(serialKey, () -> {
+                    try {
+                        publishResponse(request, dispatchLocked(serialKey, resolved, request, islandLocks.ttlMs()));
+                    } finally {
+                        onDone.run();
+                    }
+                });
+                deferred = true;
+            } catch (RejectedExecutionException ex) {
+                publishError(request, ErrorCode.RATE_LIMITED.code(), "Too many pending requests for island", true);
+            }
+        } finally {
+            if (!deferred) {
+                onDone.run();
+            }
+        }
+    }
+
+    /**
+     * Scheduling class of a request on the gateway worker pool. Unknown operations are treated as reads; they are
+     * answered with an error right away.
+     */
+    GatewayWorkerPool.Priority priorityOf(String channel, RedisMessage request) {
+        Optional<Operations> operation = resolveOperation(channel, request);
+        if (operation.isEmpty()) {
+            return GatewayWorkerPool.Priority.READ;
+        }
+        if (operation.get() == Operations.BATCH) {
+            // a batch is scheduled like its most important member
+            GatewayWorkerPool.Priority priority = GatewayWorkerPool.Priority.ADMIN;
+            for (RedisMessage entry : RedisBatch.requests(request)) {
+                GatewayWorkerPool.Priority member = priorityOf(null, entry);
+                if (member.compareTo(priority) < 0) {
+                    priority = member;
+                }
+            }
+            return priority;
+        }
+        return priorityOf(operation.get());
+    }
+
+    private static GatewayWorkerPool.Priority priorityOf(Operations operation) {
+        if (ADMIN_OPERATIONS.contains(operation)) {
+            return GatewayWorkerPool.Priority.ADMIN;
+        }
+        return READ_OPERATIONS.contains(operation)
+                ? GatewayWorkerPool.Priority.READ
+                : GatewayWorkerPool.Priority.WRITE;
+    }
+
+    void rejectBusy(RedisMessage request) {
+        publishError(request, ErrorCode.RATE_LIMITED.code(), "Gateway is busy, try again shortly", true);
+    }
+
+    private Optional<Operations> resolveOperation(String channel, RedisMessage request) {
         Optional<Operations> operation = Operations.from(request.op());
         if (operation.isEmpty()) {
             String channelOperation = extractOperationFromChannel(channel);
@@ -120,22 +306,216 @@ final class GatewayRequestRouter {
                 operation = Operations.from(channelOperation);
             }
         }
-        if (operation.isEmpty()) {
-            plugin.getLogger().warning("Unknown operation received on " + channel + ": " + request.op());
-            publishError(request, "UNKNOWN_OPERATION", "Unsupported operation: " + request.op(), false);
+        return operation;
+    }
+
+    /**
+     * Runs the requests of a {@link RedisBatch} envelope and answers with one combined response. Island-scoped
+     * writes keep their per-island order on the island executor; everything else is spread over idle workers of
+     * the pool, with this thread draining the same queue so the batch completes even when no worker is free.
+     */
+    private void handleBatch(RedisMessage envelope) {
+        List<RedisMessage> requests = RedisBatch.requests(envelope);
+        if (requests.isEmpty() || requests.size() > MAX_BATCH_REQUESTS) {
+            publishError(envelope, ErrorCode.BAD_REQUEST.code(),
+                    "Batch must contain 1-" + MAX_BATCH_REQUESTS + " requests", false);
             return;
         }
+        int size = requests.size();
+        AtomicReferenceArray<GatewayResponse> responses = new AtomicReferenceArray<>(size);
+        List<CompletableFuture<GatewayResponse>> serial = new ArrayList<>(size);
+        List<Integer> serialIndexes = new ArrayList<>(size);
+        List<Integer> parallel = new ArrayList<>(size);
+        List<Operations> operations = new ArrayList<>(size);
+        GatewayWorkerPool.Priority helperPriority = GatewayWorkerPool.Priority.ADMIN;
+        for (int i = 0; i < size; i++) {
+            RedisMessage entry = requests.get(i);
+            Operations operation = Operations.from(entry.op()).orElse(null);
+            operations.add(operation);
+            if (operation == null) {
+                responses.set(i, GatewayResponse.error(ErrorCode.UNKNOWN_OPERATION.code(),
+                        "Unsupported operation: " + entry.op(), false));
+                continue;
+            }
+            String serialKey;
+            try {
+                serialKey = serialKey(operation, entry);
+            } catch (GatewayException ex) {
+                responses.set(i, GatewayResponse.error(ex.code().code(), ex.getMessage(), ex.retryable()));
+                continue;
+            }
+            if (serialKey == null) {
+                parallel.add(i);
+                if (priorityOf(operation).compareTo(helperPriority) < 0) {
+                    helperPriority = priorityOf(operation);
+                }
+                continue;
+            }
+            try {
+                serial.add(islandExecutor.submit(serialKey,
+                        () -> dispatchLocked(serialKey, operation, entry, islandLocks.ttlMs())));
+                serialIndexes.add(i);
+            } catch (RejectedExecutionException ex) {
+                responses.set(i, GatewayResponse.error(ErrorCode.RATE_LIMITED.code(), "Too many pending requests for island", true));
+            }
+        }
+
+        if (!parallel.isEmpty()) {
+            AtomicInteger next = new AtomicInteger();
+            CountDownLatch done = new CountDownLatch(parallel.size());
+            Runnable drain = () -> {
+                int slot;
+                while ((slot = next.getAndIncrement()) < parallel.size()) {
+                    int index = parallel.get(slot);
+                    responses.set(index, dispatchSafely(operations.get(index), requests.get(index)));
+                    done.countDown();
+                }
+            };
+            for (int helper = 1; helper < parallel.size(); helper++) {
+                try {
+                    workerPool.execute(helperPriority, drain);
+                } catch (RejectedExecutionException ex) {
+                    break;
+                }
+            }
+            drain.run();
+            try {
+                done.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (int i = 0; i < serial.size(); i++) {
+            GatewayResponse response;
+            try {
+                response = serial.get(i).join();
+            } catch (CompletionException ex) {
+                plugin.getLogger().log(Level.SEVERE, "Batched request failed", ex.getCause());
+                response = GatewayResponse.error(ErrorCode.INTERNAL.code(), "Internal error", true);
+            }
+            responses.set(serialIndexes.get(i), response);
+        }
 
-        GatewayResponse response = dispatch(operation.get(), request);
-        publishResponse(request, response);
+        List<RedisMessage> outgoing = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            GatewayResponse response = responses.get(i);
+            outgoing.add(responseMessage(requests.get(i), response != null
+                    ? response
+                    : GatewayResponse.error(ErrorCode.INTERNAL.code(), "Interrupted", true)));
+        }
+        publishBatch(envelope, outgoing);
+    }
+
+    private void publishBatch(RedisMessage envelope, List<RedisMessage> responses) {
+        RedisMessage combined = RedisBatch.response(envelope, responses);
+        redisManager.publish(replyChannel(envelope), wire.encode(combined, envelope.wireFormat()));
+    }
+
+    private GatewayResponse dispatchSafely(Operations operation, RedisMessage request) {
+        try {
+            return dispatch(operation, request);
+        } catch (RuntimeException ex) {
+            plugin.getLogger().log(Level.SEVERE, "Batched request " + operation.op() + " failed", ex);
+            return GatewayResponse.error(ErrorCode.INTERNAL.code(), "Internal error", true);
+        }
     }
 
     public GatewayResponse executeLocally(Operations operation, RedisMessage request) {
         Objects.requireNonNull(operation, "operation");
-        return dispatch(operation, request);
+        String serialKey;
+        try {
+            serialKey = serialKey(operation, request);
+        } catch (GatewayException ex) {
+            return GatewayResponse.error(ex.code().code(), ex.getMessage(), ex.retryable());
+        }
+        if (serialKey == null) {
+            return dispatch(operation, request);
+        }
+        // The main thread must not block on a stripe or lock holder that may itself be waiting on callSync.
+        if (plugin.getServer().isPrimaryThread()) {
+            return dispatchLocked(serialKey, operation, request, 0L);
+        }
+        try {
+            return islandExecutor.submit(serialKey,
+                    () -> dispatchLocked(serialKey, operation, request, islandLocks.ttlMs())).join();
+        } catch (RejectedExecutionException ex) {
+            return GatewayResponse.error(ErrorCode.RATE_LIMITED.code(), "Too many pending requests for island", true);
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns the key used to serialize island-scoped writes, or {@code null} when the operation may run on the
+     * calling thread. The island is taken from the payload, the membership cache or SuperiorSkyblock, so a write
+     * is always locked under the same key as every other write to its island.
+     *
+     * @throws GatewayException with {@link ErrorCode#NOT_FOUND} when the contributor/actor has no island
+     */
+    private String serialKey(Operations operation, RedisMessage request) {
+        if (!ISLAND_SCOPED_WRITES.contains(operation)) {
+            return null;
+        }
+        try {
+            JsonObject payload = request.data();
+            String islandRaw = readString(payload, "islandId");
+            if (islandRaw != null && !islandRaw.isBlank()) {
+                return UUID.fromString(islandRaw.trim()).toString();
+            }
+            String memberRaw = readString(payload, "contributor");
+            if (memberRaw == null || memberRaw.isBlank()) {
+                memberRaw = request.actor();
+            }
+            if (memberRaw == null || memberRaw.isBlank()) {
+                return null;
+            }
+            UUID member = UUID.fromString(memberRaw.trim());
+            Optional<UUID> cached = islandCache.islandId(member);
+            if (cached.isPresent()) {
+                return cached.get().toString();
+            }
+            UUID island = bridge.islandIdForPlayer(member)
+                    .orElseThrow(() -> new GatewayException(ErrorCode.NOT_FOUND, "Island not found"));
+            islandCache.setMembership(member, island);
+            return island.toString();
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            // Malformed identifiers are rejected by the handler itself; no need to serialize them.
+            return null;
+        }
+    }
+
+    /**
+     * Dispatches an island-scoped write while holding the island lock, so concurrent writers on this or another
+     * gateway cannot interleave. Waiting up to the lock TTL is enough for any live holder to finish or expire.
+     */
+    private GatewayResponse dispatchLocked(String serialKey, Operations operation, RedisMessage request, long maxWaitMs) {
+        IslandLockService.Lease lease;
+        try {
+            lease = islandLocks.acquire(serialKey, maxWaitMs);
+        } catch (GatewayException ex) {
+            return GatewayResponse.error(ex.code().code(), ex.getMessage(), ex.retryable());
+        }
+        try (lease) {
+            return dispatch(operation, request);
+        }
     }
 
     private GatewayResponse dispatch(Operations operation, RedisMessage request) {
+        GatewayResponse response = route(operation, request);
+        if (SNAPSHOT_WRITES.contains(operation) && request.actor() != null) {
+            try {
+                islandSnapshots.invalidatePlayer(UUID.fromString(request.actor()));
+            } catch (IllegalArgumentException ignored) {
+                // the handler already rejected the malformed actor
+            }
+        }
+        return response;
+    }
+
+    private GatewayResponse route(Operations operation, RedisMessage request) {
         return switch (operation) {
             case INVITE_CREATE -> handleInviteCreate(request);
             case INVITE_ACCEPT -> handleInviteAccept(request);
@@ -153,6 +533,7 @@ final class GatewayRequestRouter {
             case QUEST_STATE -> handleQuestState(request);
             case QUEST_ASSIGN -> handleQuestAssign(request);
             case QUEST_PROGRESS -> handleQuestProgress(request);
+            case QUEST_PROGRESS_BATCH -> handleQuestProgressBatch(request);
             case FARM_RANKING_TOP -> handleFarmRankingTop(request);
             case FARM_RANKING_MEMBERS -> handleFarmRankingMembers(request);
             case FARM_RANKING_INCREMENT -> handleFarmRankingIncrement(request);
@@ -202,6 +583,7 @@ final class GatewayRequestRouter {
             case ADMIN_LOAD_TOP_REWARD -> handleAdminLoadTopRewards(request);
             case ADMIN_SAVE_TOP_REWARD -> handleAdminSaveTopRewards(request);
             case ADMIN_GIVE_TOP_REWARD -> handleAdminGiveTopRewards(request);
+            case BATCH -> GatewayResponse.error(ErrorCode.BAD_REQUEST.code(), "Batches cannot be nested", false);
         };
     }
 
@@ -293,7 +675,11 @@ final class GatewayRequestRouter {
         JsonObject payload = request.data();
         Optional<String> owner = Optional.ofNullable(readString(payload, "owner"));
         int timeoutMs = Math.max(3000, config.gateway().superiorSkyblock().apiHookTimeoutMs());
-        return execute("island.get",
+        Optional<IslandSnapshot> snapshot = owner.isPresent()
+                ? islandSnapshots.byIdentifier(owner.get())
+                : islandSnapshots.forPlayer(actorUuid);
+        return readSnapshot("island.get", snapshot,
+                island -> GatewayResponse.ok(island.summaryJson(true)),
                 () -> bridge.getIslandInfo(actorUuid, owner, payload.deepCopy()),
                 timeoutMs);
     }
@@ -303,7 +689,11 @@ final class GatewayRequestRouter {
         JsonObject payload = request.data();
         Optional<String> islandId = Optional.ofNullable(readString(payload, "islandId"));
         int timeoutMs = Math.max(3000, config.gateway().superiorSkyblock().apiHookTimeoutMs());
-        return execute("members.list",
+        Optional<IslandSnapshot> snapshot = islandId.isPresent()
+                ? islandSnapshots.byIdentifier(islandId.get())
+                : islandSnapshots.forPlayer(actorUuid);
+        return readSnapshot("members.list", snapshot,
+                island -> GatewayResponse.ok(island.membersJson()),
                 () -> bridge.listMembers(actorUuid, islandId, payload.deepCopy()),
                 timeoutMs);
     }
@@ -346,7 +736,15 @@ final class GatewayRequestRouter {
         if (namespace == null || key == null || value == null) {
             return GatewayResponse.error(ErrorCode.BAD_REQUEST.code(), "namespace, key and value are required", false);
         }
-        dataService.setData(namespace, key, value, ttl > 0 ? Duration.ofSeconds(ttl) : null);
+        Duration expiry = ttl > 0 ? Duration.ofSeconds(ttl) : null;
+        if (GatewayPlayerMetadataService.isMetadataNamespace(namespace)) {
+            GatewayResponse failure = awaitMetadataWrite(metadataService.write(namespace, key, value, expiry));
+            if (failure != null) {
+                return failure;
+            }
+        } else {
+            dataService.setData(namespace, key, value, expiry);
+        }
         JsonObject data = new JsonObject();
         data.addProperty("stored", true);
         return GatewayResponse.ok(data);
@@ -360,7 +758,10 @@ final class GatewayRequestRouter {
             return GatewayResponse.error(ErrorCode.BAD_REQUEST.code(), "namespace and key are required", false);
         }
         JsonObject data = new JsonObject();
-        dataService.getData(namespace, key).ifPresent(value -> data.addProperty("value", value));
+        Optional<String> value = GatewayPlayerMetadataService.isMetadataNamespace(namespace)
+                ? metadataService.read(namespace, key)
+                : dataService.getData(namespace, key);
+        value.ifPresent(found -> data.addProperty("value", found));
         return GatewayResponse.ok(data);
     }
 
@@ -371,15 +772,46 @@ final class GatewayRequestRouter {
         if (namespace == null || key == null) {
             return GatewayResponse.error(ErrorCode.BAD_REQUEST.code(), "namespace and key are required", false);
         }
-        dataService.deleteData(namespace, key);
+        if (GatewayPlayerMetadataService.isMetadataNamespace(namespace)) {
+            GatewayResponse failure = awaitMetadataWrite(metadataService.write(namespace, key, null, null));
+            if (failure != null) {
+                return failure;
+            }
+        } else {
+            dataService.deleteData(namespace, key);
+        }
         JsonObject data = new JsonObject();
         data.addProperty("deleted", true);
         return GatewayResponse.ok(data);
     }
 
+    /**
+     * Waits for a queued metadata write to be flushed, so {@code data.put}/{@code data.delete} only report success
+     * once the value is stored.
+     *
+     * @return the error to reply with, or {@code null} when the write was stored
+     */
+    private GatewayResponse awaitMetadataWrite(CompletableFuture<Void> write) {
+        try {
+            write.get(config.timeouts().requestMs(), TimeUnit.MILLISECONDS);
+            return null;
+        } catch (TimeoutException ex) {
+            return GatewayResponse.error(ErrorCode.TIMEOUT.code(), "Timed out waiting for the metadata write", true);
+        } catch (ExecutionException ex) {
+            plugin.getLogger().log(Level.WARNING, "Metadata write failed", ex.getCause());
+            return GatewayResponse.error(ErrorCode.INTERNAL.code(), "Metadata write failed", true);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return GatewayResponse.error(ErrorCode.INTERNAL.code(), "Interrupted while waiting for the metadata write", true);
+        }
+    }
+
     private GatewayResponse handleRolePermissionsList(RedisMessage request) {
         UUID actorUuid = parseUuid(request.actor(), "actor");
-        return execute("roles.permissions.list", () -> bridge.listRolePermissions(actorUuid));
+        return readSnapshot("roles.permissions.list", islandSnapshots.forPlayer(actorUuid),
+                island -> GatewayResponse.ok(island.rolePermissionsJson(actorUuid)),
+                () -> bridge.listRolePermissions(actorUuid),
+                config.gateway().superiorSkyblock().apiHookTimeoutMs());
     }
 
     private GatewayResponse handleRolePermissionsUpdate(RedisMessage request) {
@@ -402,7 +834,11 @@ final class GatewayRequestRouter {
 
     private GatewayResponse handleBankState(RedisMessage request) {
         UUID actorUuid = parseUuid(request.actor(), "actor");
-        GatewayResponse response = execute("bank.state", () -> bridge.bankState(actorUuid));
+        Optional<IslandSnapshot> snapshot = islandSnapshots.forPlayer(actorUuid);
+        GatewayResponse response = readSnapshot("bank.state", snapshot,
+                island -> GatewayResponse.ok(island.bankStateJson()),
+                () -> bridge.bankState(actorUuid),
+                config.gateway().superiorSkyblock().apiHookTimeoutMs());
         if (response.ok()) {
             JsonObject data = response.data();
             if (data != null && data.has("islandId") && !data.get("islandId").isJsonNull()) {
@@ -410,12 +846,16 @@ final class GatewayRequestRouter {
                 boolean locked = dataService.getData(BANK_LOCK_NAMESPACE, islandId).isPresent();
                 data.addProperty("locked", locked);
                 boolean canLock = false;
-                try {
-                    UUID islandUuid = UUID.fromString(islandId);
-                    SuperiorSkyblockBridge.IslandDetails details = bridge.describeIsland(islandUuid);
-                    canLock = details != null && details.ownerUuid() != null && details.ownerUuid().equals(actorUuid);
-                } catch (IllegalArgumentException ignored) {
-                    canLock = false;
+                if (snapshot.isPresent()) {
+                    canLock = actorUuid.equals(snapshot.get().ownerUuid());
+                } else {
+                    try {
+                        UUID islandUuid = UUID.fromString(islandId);
+                        SuperiorSkyblockBridge.IslandDetails details = bridge.describeIsland(islandUuid);
+                        canLock = details != null && details.ownerUuid() != null && details.ownerUuid().equals(actorUuid);
+                    } catch (IllegalArgumentException ignored) {
+                        canLock = false;
+                    }
                 }
                 data.addProperty("canLock", canLock);
             }
@@ -451,7 +891,21 @@ final class GatewayRequestRouter {
         int pageSize = payload != null && payload.has("pageSize")
                 ? Math.max(1, readInt(payload, "pageSize"))
                 : 10;
-        return execute("bank.history", () -> bridge.bankHistory(actorUuid, page, pageSize));
+        Optional<IslandSnapshot> snapshot = islandSnapshots.forPlayer(actorUuid);
+        Optional<JsonObject> history = snapshot.flatMap(island -> islandSnapshots.bankHistoryPage(island, page, pageSize));
+        if (history.isPresent()) {
+            return executeAsync("bank.history", () -> GatewayResponse.ok(history.get()));
+        }
+        GatewayResponse response = execute("bank.history", () -> bridge.bankHistory(actorUuid, page, pageSize));
+        JsonObject data = response.ok() ? response.data() : null;
+        if (data != null && data.has("islandId") && !data.get("islandId").isJsonNull()) {
+            try {
+                islandSnapshots.trackBankHistory(UUID.fromString(data.get("islandId").getAsString()));
+            } catch (IllegalArgumentException ignored) {
+                // nothing to track
+            }
+        }
+        return response;
     }
 
     private GatewayResponse handleBankLockSet(RedisMessage request) {
@@ -656,7 +1110,7 @@ final class GatewayRequestRouter {
         if (playerUuid == null || playerName == null) {
             return GatewayResponse.error(ErrorCode.BAD_REQUEST.code(), "playerUuid and playerName are required", false);
         }
-        dataService.setPlayerProfile(new PlayerProfile(playerUuid, playerName, lastSeen));
+        profileRegistrations.register(new PlayerProfile(playerUuid, playerName, lastSeen));
         JsonObject data = new JsonObject();
         data.addProperty("registered", true);
         return GatewayResponse.ok(data);
@@ -670,9 +1124,9 @@ final class GatewayRequestRouter {
         }
         Optional<PlayerProfile> result;
         if (query.length() == 36 && query.contains("-")) {
-            result = dataService.findProfileByUuid(query);
+            result = profileRegistrations.findByUuid(query);
         } else {
-            result = dataService.findProfileByName(query);
+            result = profileRegistrations.findByName(query);
         }
         JsonObject data = new JsonObject();
         result.ifPresent(profile -> data.add("profile", dataService.toJson(profile)));
@@ -706,6 +1160,23 @@ final class GatewayRequestRouter {
     }
 
     private void publishResponse(RedisMessage request, GatewayResponse response) {
+        RedisMessage outgoing = responseMessage(request, response);
+        redisManager.publish(replyChannel(request), wire.encode(outgoing, request.wireFormat()));
+    }
+
+    /**
+     * The node reply channel advertised by the request, or the legacy per-request channel for senders that do not
+     * advertise one.
+     */
+    private String replyChannel(RedisMessage request) {
+        String replyTo = request.replyTo();
+        if (replyTo != null && channels.isReplyChannel(replyTo)) {
+            return replyTo;
+        }
+        return channels.responseChannel(request.id());
+    }
+
+    private static RedisMessage responseMessage(RedisMessage request, GatewayResponse response) {
         RedisMessage outgoing = RedisMessage.responseFor(request);
         outgoing.setOk(response.ok());
         if (response.ok()) {
@@ -713,14 +1184,24 @@ final class GatewayRequestRouter {
         } else if (response.error() != null) {
             outgoing.setError(response.error().code(), response.error().message(), response.error().retryable());
         }
-        outgoing.compressDataIfNeeded(compressionThreshold);
-        security.sign(outgoing);
-        String responseChannel = channels.responseChannel(request.id());
-        redisManager.publish(responseChannel, outgoing.toJson());
+        return outgoing;
     }
 
+    /**
+     * Answers a failed request. A failed batch envelope is answered with the error once per member, since callers
+     * wait for the ids of the requests inside it.
+     */
     private void publishError(RedisMessage request, String code, String message, boolean retryable) {
         GatewayResponse error = GatewayResponse.error(code, message, retryable);
+        if (RedisBatch.isBatch(request)) {
+            List<RedisMessage> members = RedisBatch.requests(request);
+            List<RedisMessage> responses = new ArrayList<>(members.size());
+            for (RedisMessage member : members) {
+                responses.add(responseMessage(member, error));
+            }
+            publishBatch(request, responses);
+            return;
+        }
         publishResponse(request, error);
     }
 
@@ -734,14 +1215,25 @@ final class GatewayRequestRouter {
     private GatewayResponse executeIdempotent(String key,
                                               Supplier<GatewayResponse> action,
                                               Consumer<GatewayResponse> afterSuccess) {
-        return idempotency.fetch(key).orElseGet(() -> {
-            GatewayResponse response = action.get();
-            idempotency.store(key, response);
-            if (afterSuccess != null && response.ok()) {
-                afterSuccess.accept(response);
-            }
-            return response;
-        });
+        IdempotencyService.Claim claim = idempotency.claim(key);
+        if (claim.replay() != null) {
+            return claim.replay();
+        }
+        if (claim.inProgress()) {
+            return GatewayResponse.error(ErrorCode.CONFLICT.code(), "Request is already being processed", true);
+        }
+        GatewayResponse response;
+        try {
+            response = action.get();
+        } catch (RuntimeException ex) {
+            idempotency.release(key);
+            throw ex;
+        }
+        idempotency.complete(key, response);
+        if (afterSuccess != null && response.ok()) {
+            afterSuccess.accept(response);
+        }
+        return response;
     }
 
     private GatewayResponse execute(String operation, Callable<GatewayResponse> callable) {
@@ -765,6 +1257,30 @@ final class GatewayRequestRouter {
         }
     }
 
+    /**
+     * Answers from the island snapshot on the calling thread when there is one; otherwise reads SuperiorSkyblock on
+     * the server thread and asks the store to capture the island for the next read.
+     */
+    private GatewayResponse readSnapshot(String operation,
+                                         Optional<IslandSnapshot> snapshot,
+                                         Function<IslandSnapshot, GatewayResponse> view,
+                                         Callable<GatewayResponse> fallback,
+                                         int timeoutMs) {
+        if (snapshot.isPresent()) {
+            return executeAsync(operation, () -> view.apply(snapshot.get()));
+        }
+        GatewayResponse response = execute(operation, fallback, timeoutMs);
+        JsonObject data = response.ok() ? response.data() : null;
+        if (data != null && data.has("islandId") && !data.get("islandId").isJsonNull()) {
+            try {
+                islandSnapshots.requestRefresh(UUID.fromString(data.get("islandId").getAsString()));
+            } catch (IllegalArgumentException ignored) {
+                // nothing to warm
+            }
+        }
+        return response;
+    }
+
     private GatewayResponse executeAsync(String operation, Callable<GatewayResponse> callable) {
         try {
             return callable.call();
@@ -911,11 +1427,79 @@ final class GatewayRequestRouter {
         });
     }
 
+    private GatewayResponse handleQuestProgressBatch(RedisMessage request) {
+        return execute("quest.progress.batch", () -> {
+            UUID actorUuid = request.actor() != null ? parseUuid(request.actor(), "actor") : null;
+            JsonObject payload = request.data();
+            String contributorRaw = readString(payload, "contributor");
+            UUID contributorUuid = contributorRaw != null ? parseUuid(contributorRaw, "contributor") : actorUuid;
+            JsonArray entries = readArray(payload, "entries");
+            if (entries.size() > MAX_QUEST_PROGRESS_BATCH) {
+                throw new GatewayException(ErrorCode.BAD_REQUEST,
+                        "entries must not exceed " + MAX_QUEST_PROGRESS_BATCH);
+            }
+            List<GatewayQuestService.QuestIncrement> increments = new ArrayList<>(entries.size());
+            for (JsonElement element : entries) {
+                if (!element.isJsonObject()) {
+                    throw new GatewayException(ErrorCode.BAD_REQUEST, "entries must contain objects");
+                }
+                JsonObject entry = element.getAsJsonObject();
+                QuestType type = parseQuestType(entry);
+                int questId = entry.has("questId") ? entry.get("questId").getAsInt() : 0;
+                if (questId <= 0) {
+                    throw new GatewayException(ErrorCode.BAD_REQUEST, "questId must be positive");
+                }
+                int amount = entry.has("amount") ? entry.get("amount").getAsInt() : 1;
+                String entryContributorRaw = readString(entry, "contributor");
+                UUID entryContributor = entryContributorRaw != null
+                        ? parseUuid(entryContributorRaw, "contributor")
+                        : contributorUuid;
+                increments.add(new GatewayQuestService.QuestIncrement(type, questId, amount, entryContributor));
+            }
+            UUID islandUuid = resolveIslandUuid(actorUuid, contributorUuid, payload);
+            if (islandUuid == null) {
+                throw new GatewayException(ErrorCode.ISLAND_NOT_FOUND, "Island not found");
+            }
+            GatewayQuestService.BatchResult result = questService.incrementBatch(islandUuid.toString(), increments);
+            JsonObject data = questService.toJson(result.data());
+            data.addProperty("islandId", islandUuid.toString());
+            if (contributorUuid != null) {
+                data.addProperty("contributorUuid", contributorUuid.toString());
+            }
+            JsonArray applied = new JsonArray();
+            for (GatewayQuestService.QuestIncrement increment : result.applied()) {
+                applied.add(describeIncrement(increment));
+            }
+            data.add("applied", applied);
+            JsonArray rejected = new JsonArray();
+            for (GatewayQuestService.RejectedIncrement rejection : result.rejected()) {
+                JsonObject json = describeIncrement(rejection.increment());
+                json.addProperty("code", rejection.code().name());
+                rejected.add(json);
+            }
+            data.add("rejected", rejected);
+            return GatewayResponse.ok(data);
+        });
+    }
+
+    private JsonObject describeIncrement(GatewayQuestService.QuestIncrement increment) {
+        JsonObject json = new JsonObject();
+        json.addProperty("type", increment.type().name());
+        json.addProperty("questId", increment.questId());
+        json.addProperty("amount", increment.amount());
+        if (increment.contributor() != null) {
+            json.addProperty("contributor", increment.contributor().toString());
+        }
+        return json;
+    }
+
     private GatewayResponse handleFarmRankingTop(RedisMessage request) {
         return executeAsync("farm.ranking.top", () -> {
             JsonObject payload = request.data();
             int limit = payload.has("limit") ? Math.max(1, readInt(payload, "limit")) : 10;
-            JsonObject data = rankingService != null ? rankingService.topIslands(limit) : new JsonObject();
+            int offset = payload.has("offset") ? Math.max(0, readInt(payload, "offset")) : 0;
+            String metric = readString(payload, "metric");
+            JsonObject data = rankingService != null ? rankingService.topIslands(metric, offset, limit) : new JsonObject();
             return GatewayResponse.ok(data);
         });
     }
@@ -1090,7 +1674,10 @@ final class GatewayRequestRouter {
 
     private GatewayResponse handleFarmWarpHomeList(RedisMessage request) {
         UUID actorUuid = parseUuid(request.actor(), "actor");
-        return execute("farm.warp.home.list", () -> bridge.listHomeWarps(actorUuid));
+        return readSnapshot("farm.warp.home.list", islandSnapshots.forPlayer(actorUuid),
+                island -> GatewayResponse.ok(island.homeWarpsJson()),
+                () -> bridge.listHomeWarps(actorUuid),
+                config.gateway().superiorSkyblock().apiHookTimeoutMs());
     }
 
     private GatewayResponse handleFarmWarpHomeSet(RedisMessage request) {
@@ -1150,6 +1737,10 @@ final class GatewayRequestRouter {
         JsonObject payload = request.data();
         int page = payload.has("page") ? Math.max(1, readInt(payload, "page")) : 1;
         int pageSize = payload.has("pageSize") ? Math.max(1, readInt(payload, "pageSize")) : 36;
+        Optional<JsonObject> indexed = islandSnapshots.globalWarpPage(page, pageSize);
+        if (indexed.isPresent()) {
+            return executeAsync("farm.warp.global.list", () -> GatewayResponse.ok(indexed.get()));
+        }
         return execute("farm.warp.global.list", () -> bridge.listGlobalWarps(actorUuid, page, pageSize));
     }
 
@@ -24,6 +24,10 @@ public record GatewayResponse(boolean ok, JsonObject data, GatewayError error) {
         return error;
     }
 
+    public boolean retryable() {
+        return !ok && error != null && error.retryable();
+    }
+
     public String toJson() {
         JsonObject root = new JsonObject();
         root.addProperty("ok", ok);
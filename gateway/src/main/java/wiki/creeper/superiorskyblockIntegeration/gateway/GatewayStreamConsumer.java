@@ -0,0 +1,282 @@
+package wiki.creeper.superiorskyblockIntegeration.gateway;
+
+import io.lettuce.core.ClaimedMessages;
+import io.lettuce.core.Consumer;
+import io.lettuce.core.RedisBusyException;
+import io.lettuce.core.StreamMessage;
+import io.lettuce.core.XAutoClaimArgs;
+import io.lettuce.core.XGroupCreateArgs;
+import io.lettuce.core.XReadArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+
+import wiki.creeper.superiorskyblockIntegeration.config.PluginConfig;
+import wiki.creeper.superiorskyblockIntegeration.gateway.concurrent.GatewayWorkerPool;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisChannels;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisManager;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisMessage;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisRequestPublisher;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisWireCodec;
+
+/**
+ * Reads requests from the request stream as one consumer of the shared gateway consumer group, so each request is
+ * handled by a single gateway. Entries are acknowledged once their response has been published; entries left
+ * unacknowledged by a crashed or stopped gateway are taken over with {@code XAUTOCLAIM} after
+ * {@code channels.streams.claimIdleMs}. Replay is bounded: entries older than {@code timeouts.responseMaxWaitMs}
+ * are acknowledged without running, since their sender has already given up. Their age is measured against the
+ * Redis clock, whose offset from the local clock is sampled with {@code TIME}.
+ */
+final class GatewayStreamConsumer {
+
+    private static final long BLOCK_MS = 2000L;
+    private static final long ERROR_BACKOFF_MS = 1000L;
+    private static final long ERROR_WARNING_INTERVAL_MS = 30_000L;
+
+    private final JavaPlugin plugin;
+    private final RedisManager redisManager;
+    private final RedisWireCodec wire;
+    private final GatewayRequestRouter router;
+    private final GatewayWorkerPool workers;
+    private final String stream;
+    private final String group;
+    private final Consumer<String> consumer;
+    private final long claimIdleMs;
+    private final int readCount;
+    private final long maxAgeMs;
+
+    private volatile boolean running;
+    private StatefulRedisConnection<String, byte[]> connection;
+    private Thread thread;
+    private long lastClaimAt;
+    private long lastErrorWarningAt;
+    private volatile long redisClockOffsetMs;
+
+    GatewayStreamConsumer(JavaPlugin plugin,
+                          RedisManager redisManager,
+                          RedisChannels channels,
+                          RedisWireCodec wire,
+                          GatewayRequestRouter router,
+                          GatewayWorkerPool workers,
+                          PluginConfig config) {
+        this.plugin = plugin;
+        this.redisManager = redisManager;
+        this.wire = wire;
+        this.router = router;
+        this.workers = workers;
+        this.stream = channels.requestStream();
+        PluginConfig.StreamSettings settings = config.channels().streams();
+        this.group = settings.group();
+        this.consumer = Consumer.from(group, consumerName(plugin));
+        this.claimIdleMs = settings.claimIdleMs();
+        this.readCount = settings.readCount();
+        this.maxAgeMs = config.timeouts().responseMaxWaitMs();
+    }
+
+    void start() {
+        connection = redisManager.connectBinary();
+        running = true;
+        thread = new Thread(this::run, "ssb-gateway-streams");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void stop() {
+        running = false;
+        if (connection != null) {
+            try {
+                // fails the blocked read so the loop notices the shutdown
+                connection.close();
+            } catch (Exception ex) {
+                plugin.getLogger().log(Level.WARNING, "Error while closing gateway stream connection", ex);
+            }
+        }
+        if (thread != null) {
+            try {
+                thread.join(BLOCK_MS + 1000L);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+        connection = null;
+    }
+
+    private void run() {
+        RedisCommands<String, byte[]> commands = connection.sync();
+        boolean ready = false;
+        while (running) {
+            try {
+                if (!ready) {
+                    createGroup(commands);
+                    syncClock(commands);
+                    replayPending(commands);
+                    ready = true;
+                }
+                claimStuck(commands);
+                dispatch(commands.xreadgroup(consumer, XReadArgs.Builder.block(BLOCK_MS).count(readCount),
+                        XReadArgs.StreamOffset.lastConsumed(stream)));
+            } catch (Exception ex) {
+                if (!running) {
+                    return;
+                }
+                if (String.valueOf(ex.getMessage()).contains("NOGROUP")) {
+                    ready = false;
+                }
+                warnFailure(ex);
+                sleep();
+            }
+        }
+    }
+
+    private void createGroup(RedisCommands<String, byte[]> commands) {
+        try {
+            commands.xgroupCreate(XReadArgs.StreamOffset.from(stream, "$"), group, XGroupCreateArgs.Builder.mkstream());
+            plugin.getLogger().info("Created request stream consumer group '" + group + "' on " + stream);
+        } catch (RedisBusyException ex) {
+            // BUSYGROUP: another gateway created it first
+        }
+    }
+
+    /**
+     * Dispatches the entries this consumer received before a restart but never acknowledged, page by page. Each
+     * page starts after the last id of the previous one, since the dispatched entries stay pending until their
+     * asynchronous acknowledgement lands.
+     */
+    private void replayPending(RedisCommands<String, byte[]> commands) {
+        String after = "0";
+        while (running) {
+            List<StreamMessage<String, byte[]>> pending = commands.xreadgroup(consumer, XReadArgs.Builder.count(readCount),
+                    XReadArgs.StreamOffset.from(stream, after));
+            if (pending == null || pending.isEmpty()) {
+                return;
+            }
+            dispatch(pending);
+            after = pending.get(pending.size() - 1).getId();
+        }
+    }
+
+    private void syncClock(RedisCommands<String, byte[]> commands) {
+        long before = System.currentTimeMillis();
+        List<byte[]> time = commands.time();
+        long after = System.currentTimeMillis();
+        long seconds = Long.parseLong(new String(time.get(0), StandardCharsets.US_ASCII));
+        long micros = Long.parseLong(new String(time.get(1), StandardCharsets.US_ASCII));
+        redisClockOffsetMs = seconds * 1000L + micros / 1000L - (before + after) / 2L;
+    }
+
+    private void claimStuck(RedisCommands<String, byte[]> commands) {
+        long now = System.currentTimeMillis();
+        if (now - lastClaimAt < claimIdleMs / 2) {
+            return;
+        }
+        lastClaimAt = now;
+        syncClock(commands);
+        String cursor = "0-0";
+        do {
+            ClaimedMessages<String, byte[]> claimed = commands.xautoclaim(stream,
+                    XAutoClaimArgs.Builder.xautoclaim(consumer, Duration.ofMillis(claimIdleMs), cursor).count(readCount));
+            if (!claimed.getMessages().isEmpty()) {
+                plugin.getLogger().info("Claimed " + claimed.getMessages().size() + " stuck request(s) from " + stream);
+            }
+            dispatch(claimed.getMessages());
+            cursor = claimed.getId();
+        } while (running && cursor != null && !"0-0".equals(cursor));
+    }
+
+    private void dispatch(List<StreamMessage<String, byte[]>> messages) {
+        if (messages == null) {
+            return;
+        }
+        for (StreamMessage<String, byte[]> message : messages) {
+            dispatch(message);
+        }
+    }
+
+    private void dispatch(StreamMessage<String, byte[]> entry) {
+        String id = entry.getId();
+        byte[] frame = entry.getBody() != null ? entry.getBody().get(RedisRequestPublisher.FRAME_FIELD) : null;
+        if (frame == null || expired(id)) {
+            acknowledge(id);
+            return;
+        }
+        RedisMessage payload;
+        try {
+            payload = wire.decode(frame);
+        } catch (Exception ex) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to decode gateway request " + id + " on " + stream, ex);
+            acknowledge(id);
+            return;
+        }
+        if (payload == null) {
+            plugin.getLogger().warning("Rejected request with invalid signature on " + stream);
+            acknowledge(id);
+            return;
+        }
+        try {
+            workers.execute(router.priorityOf(stream, payload), () -> router.handle(stream, payload, () -> acknowledge(id)));
+        } catch (RejectedExecutionException ex) {
+            router.rejectBusy(payload);
+            acknowledge(id);
+        }
+    }
+
+    /**
+     * Stream ids start with the append time in milliseconds, taken from the Redis clock.
+     */
+    private boolean expired(String id) {
+        int dash = id.indexOf('-');
+        try {
+            long appendedAt = Long.parseLong(dash > 0 ? id.substring(0, dash) : id);
+            return System.currentTimeMillis() + redisClockOffsetMs - appendedAt > maxAgeMs;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+
+    private void acknowledge(String id) {
+        try {
+            redisManager.async().xack(stream, group, id).exceptionally(ex -> {
+                warnFailure(ex);
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            warnFailure(ex);
+        }
+    }
+
+    private synchronized void warnFailure(Throwable ex) {
+        long now = System.currentTimeMillis();
+        if (now - lastErrorWarningAt < ERROR_WARNING_INTERVAL_MS) {
+            return;
+        }
+        lastErrorWarningAt = now;
+        plugin.getLogger().log(Level.WARNING, "Request stream " + stream + " unavailable; retrying", ex);
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(ERROR_BACKOFF_MS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static String consumerName(JavaPlugin plugin) {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception ex) {
+            host = "gateway";
+        }
+        return host + ":" + plugin.getServer().getPort();
+    }
+}
@@ -6,52 +6,63 @@ import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Level;
 
-import wiki.creeper.superiorskyblockIntegeration.redis.MessageSecurity;
+import wiki.creeper.superiorskyblockIntegeration.gateway.concurrent.GatewayWorkerPool;
 import wiki.creeper.superiorskyblockIntegeration.redis.RedisMessage;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisWireCodec;
 
-final class GatewaySubscriber extends RedisPubSubAdapter<String, String> {
+final class GatewaySubscriber extends RedisPubSubAdapter<String, byte[]> {
 
     private final JavaPlugin plugin;
-    private final MessageSecurity security;
+    private final RedisWireCodec wire;
     private final GatewayRequestRouter router;
+    private final GatewayWorkerPool workers;
 
-    private StatefulRedisPubSubConnection<String, String> connection;
+    private StatefulRedisPubSubConnection<String, byte[]> connection;
     private String subscribedPattern;
 
-    GatewaySubscriber(JavaPlugin plugin, MessageSecurity security, GatewayRequestRouter router) {
+    GatewaySubscriber(JavaPlugin plugin, RedisWireCodec wire, GatewayRequestRouter router, GatewayWorkerPool workers) {
         this.plugin = plugin;
-        this.security = security;
+        this.wire = wire;
         this.router = router;
+        this.workers = workers;
     }
 
-    void register(StatefulRedisPubSubConnection<String, String> connection, String pattern) {
+    void register(StatefulRedisPubSubConnection<String, byte[]> connection, String pattern) {
         this.connection = Objects.requireNonNull(connection, "connection");
         this.subscribedPattern = pattern;
         connection.addListener(this);
         connection.async().psubscribe(pattern);
     }
 
-    public void message(String channel, String message) {
+    public void message(String channel, byte[] message) {
         // not used; we subscribe via patterns
     }
 
+    /**
+     * Decodes on the Redis I/O thread so saturation can be answered before any work is queued; the request itself
+     * runs on the bounded worker pool.
+     */
     @Override
-    public void message(String pattern, String channel, String message) {
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                RedisMessage payload = RedisMessage.parse(message);
-                if (!security.verify(payload)) {
-                    plugin.getLogger().warning("Rejected request with invalid signature: " + payload.id());
-                    return;
-                }
-                payload.decompressDataIfNeeded();
-                router.handle(channel, payload);
-            } catch (Exception ex) {
-                plugin.getLogger().log(Level.SEVERE, "Failed to process gateway request", ex);
-            }
-        });
+    public void message(String pattern, String channel, byte[] message) {
+        RedisMessage payload;
+        try {
+            payload = wire.decode(message);
+        } catch (Exception ex) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to decode gateway request on " + channel, ex);
+            return;
+        }
+        if (payload == null) {
+            plugin.getLogger().warning("Rejected request with invalid signature on " + channel);
+            return;
+        }
+        try {
+            workers.execute(router.priorityOf(channel, payload), () -> router.handle(channel, payload));
+        } catch (RejectedExecutionException ex) {
+            router.rejectBusy(payload);
+        }
     }
 
     public void subscribed(String channel, long count) {
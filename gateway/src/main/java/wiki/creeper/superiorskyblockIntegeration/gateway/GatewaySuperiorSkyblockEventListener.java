@@ -1,5 +1,9 @@
 package wiki.creeper.superiorskyblockIntegeration.gateway;
 
+import com.bgsoftware.superiorskyblock.api.events.IslandBankDepositEvent;
+import com.bgsoftware.superiorskyblock.api.events.IslandBankWithdrawEvent;
+import com.bgsoftware.superiorskyblock.api.events.IslandCreateWarpEvent;
+import com.bgsoftware.superiorskyblock.api.events.IslandDeleteWarpEvent;
 import com.bgsoftware.superiorskyblock.api.events.IslandDisbandEvent;
 import com.bgsoftware.superiorskyblock.api.events.IslandEnterEvent;
 import com.bgsoftware.superiorskyblock.api.events.IslandInviteEvent;
@@ -7,7 +11,11 @@ import com.bgsoftware.superiorskyblock.api.events.IslandJoinEvent;
 import com.bgsoftware.superiorskyblock.api.events.IslandKickEvent;
 import com.bgsoftware.superiorskyblock.api.events.IslandLeaveEvent;
 import com.bgsoftware.superiorskyblock.api.events.IslandQuitEvent;
+import com.bgsoftware.superiorskyblock.api.events.IslandRateEvent;
+import com.bgsoftware.superiorskyblock.api.events.IslandRenameEvent;
+import com.bgsoftware.superiorskyblock.api.events.IslandTransferEvent;
 import com.bgsoftware.superiorskyblock.api.events.IslandUpgradeEvent;
+import com.bgsoftware.superiorskyblock.api.events.PlayerChangeRoleEvent;
 import com.bgsoftware.superiorskyblock.api.island.Island;
 import com.bgsoftware.superiorskyblock.api.island.IslandFlag;
 import com.bgsoftware.superiorskyblock.api.wrappers.SuperiorPlayer;
@@ -32,6 +40,7 @@ import java.util.UUID;
 import wiki.creeper.superiorskyblockIntegeration.api.PlayerMetadataService;
 import wiki.creeper.superiorskyblockIntegeration.gateway.GatewayResponse;
 import wiki.creeper.superiorskyblockIntegeration.gateway.bridge.SuperiorSkyblockBridge;
+import wiki.creeper.superiorskyblockIntegeration.gateway.cache.IslandSnapshotStore;
 import wiki.creeper.superiorskyblockIntegeration.gateway.cache.PlayerIslandCache;
 import wiki.creeper.superiorskyblockIntegeration.gateway.services.GatewayVelocityService;
 
@@ -41,6 +50,7 @@ final class GatewaySuperiorSkyblockEventListener implements Listener {
     private final SuperiorSkyblockBridge bridge;
     private final GatewayEventPublisher events;
     private final PlayerIslandCache islandCache;
+    private final IslandSnapshotStore islandSnapshots;
     private final KickReasonRegistry kickReasons;
     private final PlayerMetadataService metadataService;
     private final GatewayVelocityService velocityService;
@@ -49,6 +59,7 @@ final class GatewaySuperiorSkyblockEventListener implements Listener {
                                          SuperiorSkyblockBridge bridge,
                                          GatewayEventPublisher events,
                                          PlayerIslandCache islandCache,
+                                         IslandSnapshotStore islandSnapshots,
                                          KickReasonRegistry kickReasons,
                                          PlayerMetadataService metadataService,
                                          GatewayVelocityService velocityService) {
@@ -56,6 +67,7 @@ final class GatewaySuperiorSkyblockEventListener implements Listener {
         this.bridge = bridge;
         this.events = events;
         this.islandCache = islandCache;
+        this.islandSnapshots = islandSnapshots;
         this.kickReasons = kickReasons;
         this.metadataService = metadataService;
         this.velocityService = velocityService;
@@ -102,6 +114,7 @@ final class GatewaySuperiorSkyblockEventListener implements Listener {
         snapshot.addProperty("memberName", member.getName());
         events.publishMemberAdded(member.getUniqueId(), snapshot);
         islandCache.setMembership(member.getUniqueId(), island.getUniqueId());
+        islandSnapshots.requestRefresh(island.getUniqueId());
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -143,6 +156,7 @@ final class GatewaySuperiorSkyblockEventListener implements Listener {
         snapshot.addProperty("cause", event.getCause().name());
         events.publishMemberRemoved(member.getUniqueId(), snapshot);
         islandCache.removePlayer(member.getUniqueId());
+        islandSnapshots.requestRefresh(island.getUniqueId());
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -152,6 +166,7 @@ final class GatewaySuperiorSkyblockEventListener implements Listener {
             return;
         }
         islandCache.removePlayer(superiorPlayer.getUniqueId());
+        islandSnapshots.invalidatePlayer(superiorPlayer.getUniqueId());
         Player player = superiorPlayer.asPlayer();
         if (player != null && velocityService != null) {
             velocityService.connectToLobby(player);
@@ -185,6 +200,7 @@ final class GatewaySuperiorSkyblockEventListener implements Listener {
         }
         events.publishMemberKicked(actorUuid, snapshot);
         clearKickMetadata(actorUuid);
+        islandSnapshots.requestRefresh(island.getUniqueId());
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -198,6 +214,7 @@ final class GatewaySuperiorSkyblockEventListener implements Listener {
         snapshot.addProperty("disbanded", true);
         events.publishIslandDisbanded(actor != null ? actor.getUniqueId() : null, snapshot);
         islandCache.removeIsland(island.getUniqueId());
+        islandSnapshots.requestRefresh(island.getUniqueId());
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -210,12 +227,74 @@ final class GatewaySuperiorSkyblockEventListener implements Listener {
         JsonObject snapshot = islandSnapshot(island, true);
         snapshot.addProperty("upgradeName", event.getUpgradeName());
         events.publishIslandUpdated(actor != null ? actor.getUniqueId() : null, snapshot);
+        islandSnapshots.requestRefresh(island.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTransfer(IslandTransferEvent event) {
+        refreshSnapshot(event.getIsland());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onRename(IslandRenameEvent event) {
+        refreshSnapshot(event.getIsland());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onRoleChange(PlayerChangeRoleEvent event) {
+        SuperiorPlayer player = event.getPlayer();
+        if (player != null) {
+            refreshSnapshot(player.getIsland());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBankDeposit(IslandBankDepositEvent event) {
+        refreshSnapshot(event.getIsland());
+        refreshBankHistory(event.getIsland());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBankWithdraw(IslandBankWithdrawEvent event) {
+        refreshSnapshot(event.getIsland());
+        refreshBankHistory(event.getIsland());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWarpCreate(IslandCreateWarpEvent event) {
+        refreshSnapshot(event.getIsland());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWarpDelete(IslandDeleteWarpEvent event) {
+        refreshSnapshot(event.getIsland());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onRate(IslandRateEvent event) {
+        refreshSnapshot(event.getIsland());
     }
 
     void shutdown() {
         HandlerList.unregisterAll(this);
     }
 
+    /**
+     * Events fire before SuperiorSkyblock applies the change, so the island is re-captured on a later tick.
+     */
+    private void refreshSnapshot(Island island) {
+        if (island != null) {
+            islandSnapshots.requestRefresh(island.getUniqueId());
+        }
+    }
+
+    private void refreshBankHistory(Island island) {
+        // the transaction is recorded after the event, so it is picked up on the next drain
+        if (island != null) {
+            islandSnapshots.requestBankHistoryRefresh(island.getUniqueId());
+        }
+    }
+
     private void clearKickMetadata(UUID actorUuid) {
         if (actorUuid == null || metadataService == null) {
             return;
@@ -35,16 +35,16 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import wiki.creeper.superiorskyblockIntegeration.common.errors.ErrorCode;
@@ -73,7 +73,7 @@ final class ApiSuperiorSkyblockBridge implements SuperiorSkyblockBridge {
             Map.entry("ROLE_SETTINGS_MENU", "ROLE_SETTINGS")
     );
 
-    private static final int HOME_WARP_LIMIT = 2;
+    static final int HOME_WARP_LIMIT = 2;
 
     ApiSuperiorSkyblockBridge() {
         SuperiorSkyblock instance = SuperiorSkyblockAPI.getSuperiorSkyblock();
@@ -566,6 +566,111 @@ final class ApiSuperiorSkyblockBridge implements SuperiorSkyblockBridge {
         return new IslandDetails(island.getUniqueId(), island.getName(), ownerUuid, ownerName);
     }
 
+    @Override
+    public Optional<IslandSnapshot> snapshotIsland(UUID islandUuid) {
+        if (islandUuid == null) {
+            return Optional.empty();
+        }
+        Island island = gridManager.getIslandByUUID(islandUuid);
+        if (island == null) {
+            return Optional.empty();
+        }
+        SuperiorPlayer owner = island.getOwner();
+        List<SuperiorPlayer> islandMembers = members(island);
+        List<IslandSnapshot.Member> members = new ArrayList<>(islandMembers.size());
+        Set<UUID> roleManagers = new HashSet<>();
+        for (SuperiorPlayer member : islandMembers) {
+            if (member == null) {
+                continue;
+            }
+            members.add(snapshotMember(member));
+            if (canManageRolePermissions(member, island)) {
+                roleManagers.add(member.getUniqueId());
+            }
+        }
+        List<IslandSnapshot.Warp> warps = new ArrayList<>();
+        for (IslandWarp warp : island.getIslandWarps().values()) {
+            if (warp != null) {
+                warps.add(snapshotWarp(warp));
+            }
+        }
+        List<IslandPrivilege> privileges = displayedPrivileges();
+        List<IslandSnapshot.Role> roles = new ArrayList<>();
+        for (PlayerRole role : sortedRoles()) {
+            Map<String, Boolean> permissions = new LinkedHashMap<>();
+            for (IslandPrivilege privilege : privileges) {
+                permissions.put(privilege.getName(), island.hasPermission(role, privilege));
+            }
+            roles.add(new IslandSnapshot.Role(role.getName(),
+                    role.getDisplayName() != null ? role.getDisplayName() : role.getName(),
+                    role.getWeight(), permissions));
+        }
+        IslandBank bank = island.getIslandBank();
+        BigDecimal level = island.getIslandLevel();
+        BigDecimal bankLimit = island.getBankLimit();
+        Map<String, Integer> upgrades = new HashMap<>(Optional.ofNullable(island.getUpgrades()).orElse(Map.of()));
+        upgrades.values().removeIf(java.util.Objects::isNull);
+        return Optional.of(new IslandSnapshot(
+                island.getUniqueId(),
+                island.getName(),
+                owner != null ? owner.getUniqueId() : null,
+                owner != null ? owner.getName() : null,
+                level != null ? level.doubleValue() : 0.0D,
+                island.getTotalRating(),
+                island.getTeamLimit(),
+                members,
+                warps,
+                roles,
+                roleManagers,
+                sanitize(bank != null ? bank.getBalance() : null),
+                bankLimit != null ? sanitize(bankLimit) : null,
+                upgrades,
+                island.getCreationTime(),
+                System.currentTimeMillis()));
+    }
+
+    @Override
+    public Collection<UUID> islandIds() {
+        Collection<Island> islands = allIslands();
+        List<UUID> ids = new ArrayList<>(islands.size());
+        for (Island island : islands) {
+            if (island != null) {
+                ids.add(island.getUniqueId());
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public Optional<BankHistoryCapture> captureBankHistory(UUID islandUuid, int afterPosition, int limit) {
+        if (islandUuid == null || limit <= 0) {
+            return Optional.empty();
+        }
+        Island island = gridManager.getIslandByUUID(islandUuid);
+        IslandBank bank = island != null ? island.getIslandBank() : null;
+        if (bank == null) {
+            return Optional.empty();
+        }
+        List<BankTransaction> transactions = bank.getAllTransactions();
+        // keep the newest entries only instead of sorting the whole history
+        PriorityQueue<BankTransaction> newest = new PriorityQueue<>(limit + 1, Comparator.comparingInt(BankTransaction::getPosition));
+        for (BankTransaction transaction : transactions) {
+            if (transaction == null || transaction.getPosition() <= afterPosition) {
+                continue;
+            }
+            newest.add(transaction);
+            if (newest.size() > limit) {
+                newest.poll();
+            }
+        }
+        List<BankHistoryCapture.Transaction> captured = new ArrayList<>(newest.size());
+        while (!newest.isEmpty()) {
+            captured.add(captureTransaction(newest.poll()));
+        }
+        Collections.reverse(captured);
+        return Optional.of(new BankHistoryCapture(transactions.size(), captured));
+    }
+
     @Override
     public Optional<String> lookupPlayerName(String uuid) {
         if (uuid == null || uuid.isBlank()) {
@@ -725,33 +830,11 @@ final class ApiSuperiorSkyblockBridge implements SuperiorSkyblockBridge {
 
         JsonArray array = new JsonArray();
         for (BankTransaction transaction : slice) {
-            JsonObject entry = new JsonObject();
-            UUID playerUuid = transaction.getPlayer();
-            if (playerUuid != null) {
-                entry.addProperty("playerUuid", playerUuid.toString());
-                String name = null;
-                SuperiorPlayer target = playersManager.getSuperiorPlayer(playerUuid);
-                if (target != null) {
-                    name = target.getName();
-                }
-                if (name == null) {
-                    name = Optional.ofNullable(Bukkit.getOfflinePlayer(playerUuid).getName()).orElse(null);
-                }
-                if (name != null && !name.isBlank()) {
-                    entry.addProperty("playerName", name);
-                }
-            } else {
-                entry.addProperty("playerName", "팜 이자");
-            }
-            entry.addProperty("action", transaction.getAction().name());
-            entry.addProperty("amount", sanitize(transaction.getAmount()).toPlainString());
-            entry.addProperty("time", transaction.getTime());
-            entry.addProperty("position", transaction.getPosition());
-            String failure = transaction.getFailureReason();
-            if (failure != null && !failure.isBlank()) {
-                entry.addProperty("failureReason", failure);
+            BankHistoryCapture.Transaction captured = captureTransaction(transaction);
+            if (captured.playerUuid() != null && captured.playerName() == null) {
+                captured = captured.withPlayerName(Bukkit.getOfflinePlayer(captured.playerUuid()).getName());
             }
-            array.add(entry);
+            array.add(captured.toJson());
         }
 
         JsonObject data = new JsonObject();
@@ -1085,22 +1168,8 @@ final class ApiSuperiorSkyblockBridge implements SuperiorSkyblockBridge {
         Island island = requireIsland(actor);
         boolean canManage = canManageRolePermissions(actor, island);
 
-        List<PlayerRole> roles = new ArrayList<>(rolesManager.getRoles());
-        roles.removeIf(java.util.Objects::isNull);
-        roles.sort(Comparator.comparingInt(PlayerRole::getWeight));
-
-        Set<String> seenPrivileges = new LinkedHashSet<>();
-        List<IslandPrivilege> privileges = new ArrayList<>();
-        for (IslandPrivilege privilege : IslandPrivilege.values()) {
-            IslandPrivilege canonical = resolvePrivilege(privilege.getName());
-            if (canonical == null) {
-                continue;
-            }
-            if (seenPrivileges.add(canonical.getName())) {
-                privileges.add(canonical);
-            }
-        }
-        privileges.sort(Comparator.comparing(IslandPrivilege::getName, String.CASE_INSENSITIVE_ORDER));
+        List<PlayerRole> roles = sortedRoles();
+        List<IslandPrivilege> privileges = displayedPrivileges();
 
         JsonObject data = new JsonObject();
         data.addProperty("islandId", island.getUniqueId().toString());
@@ -1127,6 +1196,29 @@ final class ApiSuperiorSkyblockBridge implements SuperiorSkyblockBridge {
         return GatewayResponse.ok(data);
     }
 
+    private List<PlayerRole> sortedRoles() {
+        List<PlayerRole> roles = new ArrayList<>(rolesManager.getRoles());
+        roles.removeIf(java.util.Objects::isNull);
+        roles.sort(Comparator.comparingInt(PlayerRole::getWeight));
+        return roles;
+    }
+
+    private List<IslandPrivilege> displayedPrivileges() {
+        Set<String> seenPrivileges = new LinkedHashSet<>();
+        List<IslandPrivilege> privileges = new ArrayList<>();
+        for (IslandPrivilege privilege : IslandPrivilege.values()) {
+            IslandPrivilege canonical = resolvePrivilege(privilege.getName());
+            if (canonical == null) {
+                continue;
+            }
+            if (seenPrivileges.add(canonical.getName())) {
+                privileges.add(canonical);
+            }
+        }
+        privileges.sort(Comparator.comparing(IslandPrivilege::getName, String.CASE_INSENSITIVE_ORDER));
+        return privileges;
+    }
+
     @Override
     public GatewayResponse updateRolePermission(UUID actorUuid, String roleName, String privilegeName, boolean enabled) {
         SuperiorPlayer actor = requirePlayer(actorUuid, "actor");
@@ -1313,23 +1405,16 @@ final class ApiSuperiorSkyblockBridge implements SuperiorSkyblockBridge {
     }
 
     private JsonObject serializeWarp(IslandWarp warp, boolean includeLocation) {
-        JsonObject json = new JsonObject();
-        json.addProperty("name", warp.getName());
-        json.addProperty("private", warp.hasPrivateFlag());
-        if (includeLocation) {
-            Location location = warp.getLocation();
-            if (location != null && location.getWorld() != null) {
-                JsonObject loc = new JsonObject();
-                loc.addProperty("world", location.getWorld().getName());
-                loc.addProperty("x", location.getX());
-                loc.addProperty("y", location.getY());
-                loc.addProperty("z", location.getZ());
-                loc.addProperty("yaw", location.getYaw());
-                loc.addProperty("pitch", location.getPitch());
-                json.add("location", loc);
-            }
+        return snapshotWarp(warp).toJson(includeLocation);
+    }
+
+    private IslandSnapshot.Warp snapshotWarp(IslandWarp warp) {
+        Location location = warp.getLocation();
+        if (location == null || location.getWorld() == null) {
+            return new IslandSnapshot.Warp(warp.getName(), warp.hasPrivateFlag(), null, 0.0D, 0.0D, 0.0D, 0.0F, 0.0F);
         }
-        return json;
+        return new IslandSnapshot.Warp(warp.getName(), warp.hasPrivateFlag(), location.getWorld().getName(),
+                location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
     }
 
     private JsonObject islandSummary(Island island, boolean includeMembers) {
@@ -1360,38 +1445,38 @@ final class ApiSuperiorSkyblockBridge implements SuperiorSkyblockBridge {
         JsonArray array = new JsonArray();
         PlayerMetadataService metadataService = NetworkSkyblockAPI.metadataService().orElse(null);
         for (SuperiorPlayer member : members) {
-            if (member == null) {
-                continue;
-            }
-            JsonObject json = new JsonObject();
-            json.addProperty("uuid", member.getUniqueId().toString());
-            json.addProperty("name", member.getName());
-            PlayerRole role = member.getPlayerRole();
-            json.addProperty("role", role != null ? role.getName() : "UNKNOWN");
-            json.addProperty("roleWeight", role != null ? role.getWeight() : Integer.MAX_VALUE);
-            boolean online = member.asPlayer() != null;
-            String server = null;
-            String texture = null;
-            if (metadataService != null) {
-                Optional<String> storedOnline = metadataValue(metadataService, member.getUniqueId(), "presence.online");
-                if (storedOnline.isPresent()) {
-                    online = Boolean.parseBoolean(storedOnline.get());
-                }
-                server = metadataValue(metadataService, member.getUniqueId(), "presence.server").orElse(null);
-                texture = metadataValue(metadataService, member.getUniqueId(), "skin.texture").orElse(null);
-            }
-            json.addProperty("online", online);
-            if (server != null && !server.isBlank()) {
-                json.addProperty("server", server);
-            }
-            if (texture != null && !texture.isBlank()) {
-                json.addProperty("skinTexture", texture);
+            if (member != null) {
+                array.add(snapshotMember(member).toJson(metadataService));
             }
-            array.add(json);
         }
         return array;
     }
 
+    private BankHistoryCapture.Transaction captureTransaction(BankTransaction transaction) {
+        UUID playerUuid = transaction.getPlayer();
+        String name = null;
+        if (playerUuid != null) {
+            SuperiorPlayer target = playersManager.getSuperiorPlayer(playerUuid);
+            if (target != null) {
+                name = target.getName();
+            }
+        }
+        return new BankHistoryCapture.Transaction(playerUuid, name,
+                transaction.getAction().name(),
+                sanitize(transaction.getAmount()).toPlainString(),
+                transaction.getTime(),
+                transaction.getPosition(),
+                transaction.getFailureReason());
+    }
+
+    private IslandSnapshot.Member snapshotMember(SuperiorPlayer member) {
+        PlayerRole role = member.getPlayerRole();
+        return new IslandSnapshot.Member(member.getUniqueId(), member.getName(),
+                role != null ? role.getName() : "UNKNOWN",
+                role != null ? role.getWeight() : Integer.MAX_VALUE,
+                member.asPlayer() != null);
+    }
+
     private JsonObject playerSummary(SuperiorPlayer player) {
         JsonArray array = membersToJsonArray(Collections.singletonList(player));
         if (array.size() > 0 && array.get(0).isJsonObject()) {
@@ -1501,15 +1586,4 @@ final class ApiSuperiorSkyblockBridge implements SuperiorSkyblockBridge {
     private BigDecimal sanitize(BigDecimal value) {
         return value != null ? value : BigDecimal.ZERO;
     }
-
-    private Optional<String> metadataValue(PlayerMetadataService service, UUID uuid, String key) {
-        try {
-            return service.get(uuid, key).get(200, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException ex) {
-            Thread.currentThread().interrupt();
-            return Optional.empty();
-        } catch (ExecutionException | TimeoutException ex) {
-            return Optional.empty();
-        }
-    }
 }
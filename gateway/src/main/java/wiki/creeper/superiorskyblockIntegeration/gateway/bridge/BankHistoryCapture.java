@@ -0,0 +1,60 @@
+package wiki.creeper.superiorskyblockIntegeration.gateway.bridge;
+
+import com.google.gson.JsonObject;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Most recent bank transactions of an island, captured on the server thread by
+ * {@link SuperiorSkyblockBridge#captureBankHistory(UUID, int, int)}.
+ *
+ * @param total        number of transactions the bank holds
+ * @param transactions the captured transactions, newest first
+ */
+public record BankHistoryCapture(int total, List<Transaction> transactions) {
+
+    public BankHistoryCapture {
+        transactions = List.copyOf(transactions);
+    }
+
+    /**
+     * @param playerUuid {@code null} for bank interest
+     * @param playerName name known to SuperiorSkyblock, or {@code null}
+     */
+    public record Transaction(UUID playerUuid,
+                              String playerName,
+                              String action,
+                              String amount,
+                              long time,
+                              int position,
+                              String failureReason) {
+
+        public Transaction withPlayerName(String name) {
+            return new Transaction(playerUuid, name, action, amount, time, position, failureReason);
+        }
+
+        /**
+         * Entry of the {@link SuperiorSkyblockBridge#bankHistory} list.
+         */
+        public JsonObject toJson() {
+            JsonObject entry = new JsonObject();
+            if (playerUuid != null) {
+                entry.addProperty("playerUuid", playerUuid.toString());
+                if (playerName != null && !playerName.isBlank()) {
+                    entry.addProperty("playerName", playerName);
+                }
+            } else {
+                entry.addProperty("playerName", "팜 이자");
+            }
+            entry.addProperty("action", action);
+            entry.addProperty("amount", amount);
+            entry.addProperty("time", time);
+            entry.addProperty("position", position);
+            if (failureReason != null && !failureReason.isBlank()) {
+                entry.addProperty("failureReason", failureReason);
+            }
+            return entry;
+        }
+    }
+}
@@ -78,6 +78,21 @@ final class FallbackBridge implements SuperiorSkyblockBridge {
         return null;
     }
 
+    @Override
+    public Optional<IslandSnapshot> snapshotIsland(UUID islandUuid) {
+        return Optional.empty();
+    }
+
+    @Override
+    public java.util.Collection<UUID> islandIds() {
+        return java.util.List.of();
+    }
+
+    @Override
+    public Optional<BankHistoryCapture> captureBankHistory(UUID islandUuid, int afterPosition, int limit) {
+        return Optional.empty();
+    }
+
     @Override
     public java.util.Optional<String> lookupPlayerName(String uuid) {
         return java.util.Optional.empty();
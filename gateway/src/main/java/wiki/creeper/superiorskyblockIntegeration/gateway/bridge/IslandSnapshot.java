@@ -0,0 +1,278 @@
+package wiki.creeper.superiorskyblockIntegeration.gateway.bridge;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import wiki.creeper.superiorskyblockIntegeration.api.NetworkSkyblockAPI;
+import wiki.creeper.superiorskyblockIntegeration.api.PlayerMetadataService;
+
+/**
+ * Immutable copy of the island state that read-only gateway operations need. Snapshots are captured on the server
+ * thread by {@link SuperiorSkyblockBridge#snapshotIsland(UUID)} and rendered on any thread into the same payloads
+ * the bridge returns when it reads SuperiorSkyblock directly.
+ *
+ * @param roleManagers members allowed to change role permissions, resolved when the snapshot was taken
+ * @param createdAt    island creation time as reported by SuperiorSkyblock
+ */
+public record IslandSnapshot(UUID islandUuid,
+                             String name,
+                             UUID ownerUuid,
+                             String ownerName,
+                             double level,
+                             double rating,
+                             int membersLimit,
+                             List<Member> members,
+                             List<Warp> warps,
+                             List<Role> roles,
+                             Set<UUID> roleManagers,
+                             BigDecimal bankBalance,
+                             BigDecimal bankLimit,
+                             Map<String, Integer> upgrades,
+                             long createdAt,
+                             long capturedAt) {
+
+    public IslandSnapshot {
+        members = List.copyOf(members);
+        warps = List.copyOf(warps);
+        roles = List.copyOf(roles);
+        roleManagers = Set.copyOf(roleManagers);
+        upgrades = Map.copyOf(upgrades);
+    }
+
+    public boolean isMember(UUID playerUuid) {
+        for (Member member : members) {
+            if (member.uuid().equals(playerUuid)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Same payload as {@link SuperiorSkyblockBridge#getIslandInfo}.
+     */
+    public JsonObject summaryJson(boolean includeMembers) {
+        JsonObject data = new JsonObject();
+        data.addProperty("islandId", islandUuid.toString());
+        if (name != null) {
+            data.addProperty("islandName", name);
+        }
+        if (ownerUuid != null) {
+            data.addProperty("ownerUuid", ownerUuid.toString());
+            data.addProperty("ownerName", ownerName);
+        }
+        data.addProperty("level", level);
+        data.addProperty("membersCount", members.size());
+        data.addProperty("membersLimit", membersLimit);
+        if (includeMembers) {
+            data.add("members", membersArray());
+        }
+        return data;
+    }
+
+    /**
+     * Same payload as {@link SuperiorSkyblockBridge#listMembers}.
+     */
+    public JsonObject membersJson() {
+        JsonObject data = new JsonObject();
+        data.addProperty("islandId", islandUuid.toString());
+        data.add("members", membersArray());
+        data.addProperty("membersCount", members.size());
+        data.addProperty("membersLimit", membersLimit);
+        return data;
+    }
+
+    /**
+     * Same payload as {@link SuperiorSkyblockBridge#listHomeWarps}.
+     */
+    public JsonObject homeWarpsJson() {
+        JsonObject data = new JsonObject();
+        data.addProperty("islandId", islandUuid.toString());
+        if (name != null) {
+            data.addProperty("islandName", name);
+        }
+        data.addProperty("maxWarps", ApiSuperiorSkyblockBridge.HOME_WARP_LIMIT);
+        data.addProperty("warpCount", warps.size());
+        if (ownerUuid != null) {
+            data.addProperty("ownerUuid", ownerUuid.toString());
+            data.addProperty("ownerName", ownerName);
+        }
+        JsonArray array = new JsonArray();
+        for (Warp warp : warps) {
+            array.add(warp.toJson(true));
+        }
+        data.add("warps", array);
+        return data;
+    }
+
+    /**
+     * Same payload as {@link SuperiorSkyblockBridge#listRolePermissions} for {@code actorUuid}.
+     */
+    public JsonObject rolePermissionsJson(UUID actorUuid) {
+        JsonObject data = new JsonObject();
+        data.addProperty("islandId", islandUuid.toString());
+        data.addProperty("islandName", name);
+        data.addProperty("canManage", roleManagers.contains(actorUuid));
+        JsonArray rolesArray = new JsonArray();
+        for (Role role : roles) {
+            JsonObject roleJson = new JsonObject();
+            roleJson.addProperty("name", role.name());
+            roleJson.addProperty("displayName", role.displayName());
+            roleJson.addProperty("weight", role.weight());
+            JsonArray permArray = new JsonArray();
+            role.permissions().forEach((privilege, enabled) -> {
+                JsonObject permJson = new JsonObject();
+                permJson.addProperty("name", privilege);
+                permJson.addProperty("enabled", enabled);
+                permArray.add(permJson);
+            });
+            roleJson.add("permissions", permArray);
+            rolesArray.add(roleJson);
+        }
+        data.add("roles", rolesArray);
+        return data;
+    }
+
+    /**
+     * Same payload as {@link SuperiorSkyblockBridge#bankState}.
+     */
+    public JsonObject bankStateJson() {
+        JsonObject data = new JsonObject();
+        data.addProperty("islandId", islandUuid.toString());
+        data.addProperty("islandName", name);
+        data.addProperty("balance", bankBalance.toPlainString());
+        if (bankLimit != null) {
+            data.addProperty("limit", bankLimit.toPlainString());
+        }
+        return data;
+    }
+
+    /**
+     * Entry of the {@link SuperiorSkyblockBridge#listGlobalWarps} list, or empty when the island has no public warps.
+     */
+    public Optional<JsonObject> globalWarpJson() {
+        JsonArray publicWarps = new JsonArray();
+        for (Warp warp : warps) {
+            if (!warp.privateFlag()) {
+                publicWarps.add(warp.toJson(false));
+            }
+        }
+        if (publicWarps.isEmpty()) {
+            return Optional.empty();
+        }
+        JsonObject summary = new JsonObject();
+        summary.addProperty("islandId", islandUuid.toString());
+        if (name != null) {
+            summary.addProperty("islandName", name);
+        }
+        if (ownerUuid != null) {
+            summary.addProperty("ownerUuid", ownerUuid.toString());
+            summary.addProperty("ownerName", ownerName);
+        }
+        summary.addProperty("totalRating", rating);
+        summary.addProperty("members", members.size());
+        summary.addProperty("creation", createdAt);
+        summary.addProperty("warpCount", publicWarps.size());
+        summary.add("warps", publicWarps);
+        return Optional.of(summary);
+    }
+
+    private JsonArray membersArray() {
+        JsonArray array = new JsonArray();
+        PlayerMetadataService metadataService = NetworkSkyblockAPI.metadataService().orElse(null);
+        for (Member member : members) {
+            array.add(member.toJson(metadataService));
+        }
+        return array;
+    }
+
+    /**
+     * @param online whether the member was online on this server when the snapshot was taken; network presence
+     *               stored in player metadata takes precedence when rendering
+     */
+    public record Member(UUID uuid, String name, String role, int roleWeight, boolean online) {
+
+        JsonObject toJson(PlayerMetadataService metadataService) {
+            JsonObject json = new JsonObject();
+            json.addProperty("uuid", uuid.toString());
+            json.addProperty("name", name);
+            json.addProperty("role", role);
+            json.addProperty("roleWeight", roleWeight);
+            boolean presence = online;
+            String server = null;
+            String texture = null;
+            if (metadataService != null) {
+                Optional<String> storedOnline = metadataValue(metadataService, uuid, "presence.online");
+                if (storedOnline.isPresent()) {
+                    presence = Boolean.parseBoolean(storedOnline.get());
+                }
+                server = metadataValue(metadataService, uuid, "presence.server").orElse(null);
+                texture = metadataValue(metadataService, uuid, "skin.texture").orElse(null);
+            }
+            json.addProperty("online", presence);
+            if (server != null && !server.isBlank()) {
+                json.addProperty("server", server);
+            }
+            if (texture != null && !texture.isBlank()) {
+                json.addProperty("skinTexture", texture);
+            }
+            return json;
+        }
+    }
+
+    /**
+     * @param world {@code null} when the warp has no loaded location
+     */
+    public record Warp(String name, boolean privateFlag, String world, double x, double y, double z, float yaw, float pitch) {
+
+        JsonObject toJson(boolean includeLocation) {
+            JsonObject json = new JsonObject();
+            json.addProperty("name", name);
+            json.addProperty("private", privateFlag);
+            if (includeLocation && world != null) {
+                JsonObject loc = new JsonObject();
+                loc.addProperty("world", world);
+                loc.addProperty("x", x);
+                loc.addProperty("y", y);
+                loc.addProperty("z", z);
+                loc.addProperty("yaw", yaw);
+                loc.addProperty("pitch", pitch);
+                json.add("location", loc);
+            }
+            return json;
+        }
+    }
+
+    /**
+     * @param permissions privilege name to enabled flag, in display order
+     */
+    public record Role(String name, String displayName, int weight, Map<String, Boolean> permissions) {
+
+        public Role {
+            permissions = Collections.unmodifiableMap(new LinkedHashMap<>(permissions));
+        }
+    }
+
+    private static Optional<String> metadataValue(PlayerMetadataService service, UUID uuid, String key) {
+        try {
+            return service.get(uuid, key).get(200, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException | TimeoutException ex) {
+            return Optional.empty();
+        }
+    }
+}
@@ -41,6 +41,23 @@ public interface SuperiorSkyblockBridge {
 
     IslandDetails describeIsland(UUID islandUuid);
 
+    /**
+     * Captures the island for off-thread reads. Must be called on the server thread.
+     */
+    Optional<IslandSnapshot> snapshotIsland(UUID islandUuid);
+
+    /**
+     * Ids of every loaded island. Must be called on the server thread.
+     */
+    java.util.Collection<UUID> islandIds();
+
+    /**
+     * Captures up to {@code limit} of the island's most recent bank transactions with a position after
+     * {@code afterPosition}, without resolving names SuperiorSkyblock does not already hold. Must be called on the
+     * server thread.
+     */
+    Optional<BankHistoryCapture> captureBankHistory(UUID islandUuid, int afterPosition, int limit);
+
     java.util.Optional<String> lookupPlayerName(String uuid);
 
     GatewayResponse toggleWorldBorder(UUID playerUuid);
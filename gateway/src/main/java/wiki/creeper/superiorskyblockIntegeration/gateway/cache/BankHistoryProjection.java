@@ -0,0 +1,219 @@
+package wiki.creeper.superiorskyblockIntegeration.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+import wiki.creeper.superiorskyblockIntegeration.gateway.bridge.BankHistoryCapture;
+
+/**
+ * Newest bank transactions of recently viewed islands, maintained from {@link BankHistoryCapture captures} so
+ * {@code bank.history} pages are sliced off the server thread instead of sorting the whole history per request.
+ *
+ * <p>Each island keeps its last {@code window} transactions, rendered once, in a ring ordered newest first; a
+ * capture of the transactions after the newest known position is appended, and a page is read in
+ * {@code O(pageSize)}. A page reaching past the window is not served. Player names are remembered across islands, so
+ * a transaction whose player SuperiorSkyblock no longer holds still shows the last known name. Islands are
+ * forgotten when they have not been viewed for a while or when more than {@code maxIslands} are tracked.</p>
+ */
+final class BankHistoryProjection {
+
+    private static final Duration IDLE_EXPIRY = Duration.ofMinutes(30);
+
+    private final int window;
+    private final Cache<UUID, History> histories;
+    private final Cache<UUID, String> playerNames;
+
+    BankHistoryProjection(int window, int maxIslands) {
+        this.window = Math.max(1, window);
+        this.histories = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, maxIslands))
+                .expireAfterAccess(IDLE_EXPIRY)
+                .build();
+        this.playerNames = Caffeine.newBuilder()
+                .maximumSize(10_000L)
+                .expireAfterAccess(IDLE_EXPIRY)
+                .build();
+    }
+
+    int window() {
+        return window;
+    }
+
+    /**
+     * Starts tracking the island; it is served once its first capture has been applied.
+     */
+    void track(UUID islandUuid) {
+        histories.get(islandUuid, ignored -> new History(window));
+    }
+
+    boolean isTracked(UUID islandUuid) {
+        return histories.asMap().containsKey(islandUuid);
+    }
+
+    /**
+     * Position after which the next capture of a tracked island starts.
+     */
+    OptionalInt resumePosition(UUID islandUuid) {
+        History history = histories.asMap().get(islandUuid);
+        if (history == null) {
+            return OptionalInt.empty();
+        }
+        synchronized (history) {
+            return OptionalInt.of(history.seeded ? history.lastPosition : Integer.MIN_VALUE);
+        }
+    }
+
+    /**
+     * Applies a capture taken from {@link #resumePosition(UUID)}.
+     *
+     * @return {@code false} when the bank changed in a way the capture cannot be appended for, in which case the
+     * island needs a full capture passed to {@link #reset(UUID, BankHistoryCapture)}
+     */
+    boolean apply(UUID islandUuid, BankHistoryCapture capture) {
+        History history = histories.asMap().get(islandUuid);
+        if (history == null) {
+            return true;
+        }
+        synchronized (history) {
+            if (history.seeded && capture.total() != history.total + capture.transactions().size()) {
+                return false;
+            }
+            history.append(render(capture.transactions()), capture.total());
+            return true;
+        }
+    }
+
+    void reset(UUID islandUuid, BankHistoryCapture capture) {
+        History history = histories.asMap().get(islandUuid);
+        if (history == null) {
+            return;
+        }
+        synchronized (history) {
+            history.clear();
+            history.append(render(capture.transactions()), capture.total());
+        }
+    }
+
+    void remove(UUID islandUuid) {
+        histories.invalidate(islandUuid);
+    }
+
+    void clear() {
+        histories.invalidateAll();
+        playerNames.invalidateAll();
+    }
+
+    /**
+     * Same payload as {@link wiki.creeper.superiorskyblockIntegeration.gateway.bridge.SuperiorSkyblockBridge#bankHistory},
+     * or empty when the island has not been captured yet or the page reaches past the window.
+     */
+    Optional<JsonObject> page(UUID islandUuid, String islandName, int page, int pageSize) {
+        History history = histories.getIfPresent(islandUuid);
+        if (history == null) {
+            return Optional.empty();
+        }
+        int safePage = Math.max(1, page);
+        int safeSize = Math.max(1, pageSize);
+        JsonArray transactions;
+        int total;
+        synchronized (history) {
+            if (!history.seeded) {
+                return Optional.empty();
+            }
+            total = history.total;
+            long from = Math.min((long) (safePage - 1) * safeSize, total);
+            long to = Math.min(from + safeSize, total);
+            if (from < to && to > history.count) {
+                return Optional.empty();
+            }
+            transactions = new JsonArray((int) (to - from));
+            for (int i = (int) from; i < to; i++) {
+                transactions.add(history.get(i));
+            }
+        }
+        JsonObject data = new JsonObject();
+        data.addProperty("islandId", islandUuid.toString());
+        data.addProperty("islandName", islandName);
+        data.addProperty("page", safePage);
+        data.addProperty("pageSize", safeSize);
+        data.addProperty("total", total);
+        data.add("transactions", transactions);
+        return Optional.of(data);
+    }
+
+    /**
+     * Renders newest-first transactions in the order they are appended, oldest first.
+     */
+    private Rendered[] render(List<BankHistoryCapture.Transaction> transactions) {
+        Rendered[] rendered = new Rendered[transactions.size()];
+        for (int i = 0; i < rendered.length; i++) {
+            BankHistoryCapture.Transaction transaction = transactions.get(rendered.length - 1 - i);
+            UUID playerUuid = transaction.playerUuid();
+            if (playerUuid != null) {
+                if (transaction.playerName() != null) {
+                    playerNames.put(playerUuid, transaction.playerName());
+                } else {
+                    transaction = transaction.withPlayerName(playerNames.getIfPresent(playerUuid));
+                }
+            }
+            rendered[i] = new Rendered(transaction.position(), transaction.toJson());
+        }
+        return rendered;
+    }
+
+    private record Rendered(int position, JsonObject json) {
+    }
+
+    /**
+     * Ring of rendered transactions; {@code newest} is the slot of the most recent one.
+     */
+    private static final class History {
+
+        private final JsonObject[] ring;
+        private int newest = -1;
+        private int count;
+        private int total;
+        private int lastPosition = Integer.MIN_VALUE;
+        private boolean seeded;
+
+        History(int window) {
+            this.ring = new JsonObject[window];
+        }
+
+        void append(Rendered[] oldestFirst, int total) {
+            for (Rendered transaction : oldestFirst) {
+                newest = (newest + 1) % ring.length;
+                ring[newest] = transaction.json();
+                count = Math.min(count + 1, ring.length);
+                lastPosition = Math.max(lastPosition, transaction.position());
+            }
+            this.total = total;
+            seeded = true;
+        }
+
+        /**
+         * @param index {@code 0} for the newest transaction
+         */
+        JsonObject get(int index) {
+            return ring[Math.floorMod(newest - index, ring.length)];
+        }
+
+        void clear() {
+            Arrays.fill(ring, null);
+            newest = -1;
+            count = 0;
+            total = 0;
+            lastPosition = Integer.MIN_VALUE;
+            seeded = false;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package wiki.creeper.superiorskyblockIntegeration.gateway.cache;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import wiki.creeper.superiorskyblockIntegeration.gateway.bridge.IslandSnapshot;
+
+/**
+ * Islands with public warps ordered by rating, maintained from {@link IslandSnapshotStore} captures instead of
+ * walking every island per request.
+ *
+ * <p>Each island keeps its serialised list entry; an update whose entry is unchanged is a no-op, so the periodic
+ * sweep does not disturb the caches. The first read after a change flattens the ranking into an array, after which
+ * a page is a slice of it. Rendered pages are cached until the next change and shared between responses, so they
+ * must not be modified.</p>
+ */
+final class GlobalWarpIndex {
+
+    private static final Comparator<Entry> BY_RATING = Comparator.comparingDouble(Entry::rating).reversed()
+            .thenComparing(Entry::islandUuid);
+    private static final int MAX_CACHED_PAGES = 64;
+
+    private final Object lock = new Object();
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> ranked = new TreeSet<>(BY_RATING);
+    private final Map<Long, JsonArray> pages = new HashMap<>();
+    private Entry[] ordered;
+
+    void update(IslandSnapshot snapshot) {
+        Optional<JsonObject> summary = snapshot.globalWarpJson();
+        if (summary.isEmpty()) {
+            remove(snapshot.islandUuid());
+            return;
+        }
+        Entry entry = new Entry(snapshot.islandUuid(), snapshot.rating(), summary.get());
+        synchronized (lock) {
+            Entry previous = entries.put(entry.islandUuid(), entry);
+            if (entry.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                ranked.remove(previous);
+            }
+            ranked.add(entry);
+            changed();
+        }
+    }
+
+    void remove(UUID islandUuid) {
+        synchronized (lock) {
+            Entry previous = entries.remove(islandUuid);
+            if (previous != null) {
+                ranked.remove(previous);
+                changed();
+            }
+        }
+    }
+
+    void clear() {
+        synchronized (lock) {
+            entries.clear();
+            ranked.clear();
+            changed();
+        }
+    }
+
+    /**
+     * Same payload as {@link wiki.creeper.superiorskyblockIntegeration.gateway.bridge.SuperiorSkyblockBridge#listGlobalWarps}.
+     */
+    JsonObject page(int page, int pageSize) {
+        int safePage = Math.max(1, page);
+        int safeSize = Math.max(1, pageSize);
+        JsonArray islands;
+        int total;
+        synchronized (lock) {
+            if (ordered == null) {
+                ordered = ranked.toArray(new Entry[0]);
+            }
+            total = ordered.length;
+            long key = ((long) safePage << 32) | safeSize;
+            islands = pages.get(key);
+            if (islands == null) {
+                long from = Math.min((long) (safePage - 1) * safeSize, total);
+                long to = Math.min(from + safeSize, total);
+                islands = new JsonArray((int) (to - from));
+                for (int i = (int) from; i < to; i++) {
+                    islands.add(ordered[i].summary());
+                }
+                if (pages.size() >= MAX_CACHED_PAGES) {
+                    pages.clear();
+                }
+                pages.put(key, islands);
+            }
+        }
+        JsonObject data = new JsonObject();
+        data.addProperty("page", safePage);
+        data.addProperty("pageSize", safeSize);
+        data.addProperty("total", total);
+        data.add("islands", islands);
+        return data;
+    }
+
+    int size() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    private void changed() {
+        ordered = null;
+        pages.clear();
+    }
+
+    private record Entry(UUID islandUuid, double rating, JsonObject summary) {
+    }
+}
@@ -0,0 +1,314 @@
+package wiki.creeper.superiorskyblockIntegeration.gateway.cache;
+
+import com.google.gson.JsonObject;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+import wiki.creeper.superiorskyblockIntegeration.config.PluginConfig;
+import wiki.creeper.superiorskyblockIntegeration.gateway.bridge.BankHistoryCapture;
+import wiki.creeper.superiorskyblockIntegeration.gateway.bridge.IslandSnapshot;
+import wiki.creeper.superiorskyblockIntegeration.gateway.bridge.SuperiorSkyblockBridge;
+
+/**
+ * Read model of SuperiorSkyblock islands for read-only gateway operations, so they can be answered on worker
+ * threads instead of waiting a tick for the server thread.
+ *
+ * <p>Snapshots are only ever captured on the server thread. Islands are marked dirty by island events and by
+ * gateway writes and are re-captured on the next drain, a few ticks later; a periodic sweep re-captures every
+ * island in small batches and drops islands that no longer exist. Writers {@link #invalidatePlayer(UUID) invalidate}
+ * the actor's island right away, so the actor never reads a snapshot older than their own write. A lookup that
+ * misses returns empty and the caller falls back to the server thread.</p>
+ *
+ * <p>The store also maintains the {@link GlobalWarpIndex}, which is served once the first sweep has captured every
+ * island, and the {@link BankHistoryProjection} of islands whose bank history has been requested. Tracked histories
+ * are brought up to date on bank events and on every sweep.</p>
+ */
+public final class IslandSnapshotStore {
+
+    private static final long DRAIN_PERIOD_TICKS = 2L;
+
+    private final JavaPlugin plugin;
+    private final SuperiorSkyblockBridge bridge;
+    private final boolean enabled;
+    private final long sweepIntervalMs;
+    private final int sweepBatchSize;
+    private final ConcurrentHashMap<UUID, IslandSnapshot> islands = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, UUID> playerIslands = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, UUID> nameIslands = new ConcurrentHashMap<>();
+    private final Set<UUID> dirtyIslands = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> dirtyPlayers = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> dirtyBankHistories = ConcurrentHashMap.newKeySet();
+    private final ArrayDeque<UUID> sweepQueue = new ArrayDeque<>();
+    private final GlobalWarpIndex warpIndex = new GlobalWarpIndex();
+    private final BankHistoryProjection bankHistory;
+
+    private BukkitTask task;
+    private long lastSweepAt;
+    private boolean sweeping;
+    private volatile boolean swept;
+
+    public IslandSnapshotStore(JavaPlugin plugin, SuperiorSkyblockBridge bridge, PluginConfig.SnapshotSettings settings) {
+        this.plugin = plugin;
+        this.bridge = bridge;
+        this.enabled = settings.enabled() && bridge.isAvailable();
+        this.sweepIntervalMs = settings.sweepIntervalMs();
+        this.sweepBatchSize = settings.sweepBatchSize();
+        this.bankHistory = new BankHistoryProjection(settings.bankHistoryWindow(), settings.bankHistoryIslands());
+    }
+
+    public void start() {
+        if (!enabled || task != null) {
+            return;
+        }
+        task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::drain, 1L, DRAIN_PERIOD_TICKS);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        islands.clear();
+        playerIslands.clear();
+        nameIslands.clear();
+        dirtyIslands.clear();
+        dirtyPlayers.clear();
+        dirtyBankHistories.clear();
+        sweepQueue.clear();
+        warpIndex.clear();
+        bankHistory.clear();
+        sweeping = false;
+        swept = false;
+    }
+
+    public Optional<IslandSnapshot> get(UUID islandUuid) {
+        return islandUuid != null ? Optional.ofNullable(islands.get(islandUuid)) : Optional.empty();
+    }
+
+    public Optional<IslandSnapshot> forPlayer(UUID playerUuid) {
+        if (playerUuid == null) {
+            return Optional.empty();
+        }
+        UUID islandUuid = playerIslands.get(playerUuid);
+        if (islandUuid == null) {
+            return Optional.empty();
+        }
+        IslandSnapshot snapshot = islands.get(islandUuid);
+        return snapshot != null && snapshot.isMember(playerUuid) ? Optional.of(snapshot) : Optional.empty();
+    }
+
+    /**
+     * Resolves an island uuid or the name of one of its members, like the bridge does.
+     */
+    public Optional<IslandSnapshot> byIdentifier(String identifier) {
+        if (identifier == null || identifier.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return get(UUID.fromString(identifier.trim()));
+        } catch (IllegalArgumentException ignored) {
+            // not a uuid; treat it as a player name
+        }
+        UUID islandUuid = nameIslands.get(identifier.trim().toLowerCase(Locale.ROOT));
+        return islandUuid != null ? get(islandUuid) : Optional.empty();
+    }
+
+    /**
+     * Page of the global warp list, or empty until the first sweep has completed.
+     */
+    public Optional<JsonObject> globalWarpPage(int page, int pageSize) {
+        return enabled && swept ? Optional.of(warpIndex.page(page, pageSize)) : Optional.empty();
+    }
+
+    /**
+     * Page of the island's bank history, or empty until the island is {@link #trackBankHistory(UUID) tracked} and
+     * captured or when the page is older than the retained window.
+     */
+    public Optional<JsonObject> bankHistoryPage(IslandSnapshot island, int page, int pageSize) {
+        return enabled ? bankHistory.page(island.islandUuid(), island.name(), page, pageSize) : Optional.empty();
+    }
+
+    /**
+     * Starts maintaining the island's bank history; it is captured on the next drain.
+     */
+    public void trackBankHistory(UUID islandUuid) {
+        if (enabled && islandUuid != null) {
+            bankHistory.track(islandUuid);
+            dirtyBankHistories.add(islandUuid);
+        }
+    }
+
+    /**
+     * Schedules a tracked bank history to pick up new transactions.
+     */
+    public void requestBankHistoryRefresh(UUID islandUuid) {
+        if (enabled && islandUuid != null && bankHistory.isTracked(islandUuid)) {
+            dirtyBankHistories.add(islandUuid);
+        }
+    }
+
+    public void requestRefresh(UUID islandUuid) {
+        if (enabled && islandUuid != null) {
+            dirtyIslands.add(islandUuid);
+        }
+    }
+
+    /**
+     * Drops the snapshot of the player's island and schedules the island they belong to now for re-capture.
+     */
+    public void invalidatePlayer(UUID playerUuid) {
+        if (!enabled || playerUuid == null) {
+            return;
+        }
+        UUID islandUuid = playerIslands.get(playerUuid);
+        if (islandUuid != null) {
+            evict(islandUuid);
+            dirtyIslands.add(islandUuid);
+        }
+        dirtyPlayers.add(playerUuid);
+    }
+
+    public int size() {
+        return islands.size();
+    }
+
+    private void drain() {
+        for (Iterator<UUID> it = dirtyPlayers.iterator(); it.hasNext(); ) {
+            UUID playerUuid = it.next();
+            it.remove();
+            try {
+                bridge.islandIdForPlayer(playerUuid).ifPresent(dirtyIslands::add);
+            } catch (RuntimeException ex) {
+                plugin.getLogger().log(Level.FINE, "Failed to resolve island of " + playerUuid, ex);
+            }
+        }
+        for (Iterator<UUID> it = dirtyIslands.iterator(); it.hasNext(); ) {
+            UUID islandUuid = it.next();
+            it.remove();
+            refresh(islandUuid);
+        }
+        for (Iterator<UUID> it = dirtyBankHistories.iterator(); it.hasNext(); ) {
+            UUID islandUuid = it.next();
+            it.remove();
+            refreshBankHistory(islandUuid);
+        }
+        long now = System.currentTimeMillis();
+        if (sweepQueue.isEmpty() && now - lastSweepAt >= sweepIntervalMs) {
+            lastSweepAt = now;
+            startSweep();
+        }
+        for (int i = 0; i < sweepBatchSize && !sweepQueue.isEmpty(); i++) {
+            UUID islandUuid = sweepQueue.poll();
+            refresh(islandUuid);
+            if (bankHistory.isTracked(islandUuid)) {
+                refreshBankHistory(islandUuid);
+            }
+        }
+        if (sweeping && sweepQueue.isEmpty()) {
+            sweeping = false;
+            swept = true;
+        }
+    }
+
+    private void startSweep() {
+        Collection<UUID> ids;
+        try {
+            ids = bridge.islandIds();
+        } catch (RuntimeException ex) {
+            plugin.getLogger().log(Level.WARNING, "Failed to list islands for the snapshot sweep", ex);
+            return;
+        }
+        Set<UUID> live = new HashSet<>(ids);
+        for (UUID known : islands.keySet()) {
+            if (!live.contains(known)) {
+                remove(known);
+            }
+        }
+        sweepQueue.addAll(live);
+        sweeping = true;
+    }
+
+    private void refresh(UUID islandUuid) {
+        try {
+            bridge.snapshotIsland(islandUuid).ifPresentOrElse(this::store, () -> remove(islandUuid));
+        } catch (RuntimeException ex) {
+            remove(islandUuid);
+            plugin.getLogger().log(Level.FINE, "Failed to snapshot island " + islandUuid, ex);
+        }
+    }
+
+    private void refreshBankHistory(UUID islandUuid) {
+        OptionalInt after = bankHistory.resumePosition(islandUuid);
+        if (after.isEmpty()) {
+            return;
+        }
+        try {
+            Optional<BankHistoryCapture> capture = bridge.captureBankHistory(islandUuid, after.getAsInt(), bankHistory.window());
+            if (capture.isEmpty()) {
+                bankHistory.remove(islandUuid);
+            } else if (!bankHistory.apply(islandUuid, capture.get())) {
+                bridge.captureBankHistory(islandUuid, Integer.MIN_VALUE, bankHistory.window())
+                        .ifPresentOrElse(full -> bankHistory.reset(islandUuid, full), () -> bankHistory.remove(islandUuid));
+            }
+        } catch (RuntimeException ex) {
+            bankHistory.remove(islandUuid);
+            plugin.getLogger().log(Level.FINE, "Failed to capture the bank history of island " + islandUuid, ex);
+        }
+    }
+
+    private void store(IslandSnapshot snapshot) {
+        UUID islandUuid = snapshot.islandUuid();
+        IslandSnapshot previous = islands.put(islandUuid, snapshot);
+        warpIndex.update(snapshot);
+        for (IslandSnapshot.Member member : snapshot.members()) {
+            playerIslands.put(member.uuid(), islandUuid);
+            if (member.name() != null) {
+                nameIslands.put(member.name().toLowerCase(Locale.ROOT), islandUuid);
+            }
+        }
+        if (previous != null) {
+            for (IslandSnapshot.Member member : previous.members()) {
+                if (!snapshot.isMember(member.uuid())) {
+                    unindex(member, islandUuid);
+                }
+            }
+        }
+    }
+
+    private void remove(UUID islandUuid) {
+        evict(islandUuid);
+        warpIndex.remove(islandUuid);
+        bankHistory.remove(islandUuid);
+    }
+
+    /**
+     * Drops the snapshot but keeps the island listed in the warp index until it is re-captured.
+     */
+    private void evict(UUID islandUuid) {
+        IslandSnapshot previous = islands.remove(islandUuid);
+        if (previous != null) {
+            for (IslandSnapshot.Member member : previous.members()) {
+                unindex(member, islandUuid);
+            }
+        }
+    }
+
+    private void unindex(IslandSnapshot.Member member, UUID islandUuid) {
+        playerIslands.remove(member.uuid(), islandUuid);
+        if (member.name() != null) {
+            nameIslands.remove(member.name().toLowerCase(Locale.ROOT), islandUuid);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package wiki.creeper.superiorskyblockIntegeration.gateway.concurrent;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fixed-size pool for incoming gateway requests. Queued work is ordered by {@link Priority} and then arrival, and
+ * the queue is bounded per priority: admin work is shed first, then reads, while writes may use the whole queue.
+ * Rejection is immediate so callers can answer with a retryable error instead of letting requests pile up.
+ */
+public final class GatewayWorkerPool {
+
+    public enum Priority {
+        WRITE(1.0d),
+        READ(0.75d),
+        ADMIN(0.5d);
+
+        private final double queueShare;
+
+        Priority(double queueShare) {
+            this.queueShare = queueShare;
+        }
+    }
+
+    private static final long SHED_WARNING_INTERVAL_MS = 10_000L;
+
+    private final String name;
+    private final Logger logger;
+    private final ThreadPoolExecutor executor;
+    private final Map<Priority, Integer> limits = new EnumMap<>(Priority.class);
+    private final Map<Priority, AtomicLong> rejected = new EnumMap<>(Priority.class);
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong lastShedWarningAt = new AtomicLong();
+
+    public GatewayWorkerPool(String name, int workers, int queueCapacity, Logger logger) {
+        this.name = name;
+        this.logger = logger;
+        int threads = Math.max(1, workers);
+        int capacity = Math.max(1, queueCapacity);
+        for (Priority priority : Priority.values()) {
+            limits.put(priority, Math.max(1, (int) (capacity * priority.queueShare)));
+            rejected.put(priority, new AtomicLong());
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(Math.min(capacity, 256)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, name + "-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Queues the task.
+     *
+     * @throws RejectedExecutionException when the share of the queue available to {@code priority} is used up or
+     *                                    the pool is shut down
+     */
+    public void execute(Priority priority, Runnable task) {
+        int queued = pending.incrementAndGet();
+        if (queued > limits.get(priority)) {
+            pending.decrementAndGet();
+            rejected.get(priority).incrementAndGet();
+            warnShedding(priority, queued - 1);
+            throw new RejectedExecutionException(name + " saturated");
+        }
+        try {
+            executor.execute(new PrioritizedTask(priority, sequence.getAndIncrement(), task));
+        } catch (RejectedExecutionException ex) {
+            pending.decrementAndGet();
+            throw ex;
+        }
+    }
+
+    public Metrics metrics() {
+        Map<Priority, Long> rejectedCounts = new EnumMap<>(Priority.class);
+        rejected.forEach((priority, count) -> rejectedCounts.put(priority, count.get()));
+        return new Metrics(executor.getActiveCount(), pending.get(), Map.copyOf(rejectedCounts));
+    }
+
+    public void shutdown(long timeoutMs) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(Math.max(0L, timeoutMs), TimeUnit.MILLISECONDS)) {
+                int dropped = executor.shutdownNow().size();
+                if (dropped > 0) {
+                    logger.warning("Dropped " + dropped + " queued request(s) while stopping " + name);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private void warnShedding(Priority priority, int queued) {
+        long now = System.currentTimeMillis();
+        long last = lastShedWarningAt.get();
+        if (now - last < SHED_WARNING_INTERVAL_MS || !lastShedWarningAt.compareAndSet(last, now)) {
+            return;
+        }
+        logger.log(Level.WARNING, "{0} is shedding {1} requests ({2} queued, limit {3})",
+                new Object[]{name, priority, queued, limits.get(priority)});
+    }
+
+    public record Metrics(int activeWorkers, int queuedRequests, Map<Priority, Long> rejected) {
+    }
+
+    private final class PrioritizedTask implements Runnable, Comparable<PrioritizedTask> {
+
+        private final Priority priority;
+        private final long sequence;
+        private final Runnable task;
+
+        private PrioritizedTask(Priority priority, long sequence, Runnable task) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            pending.decrementAndGet();
+            try {
+                task.run();
+            } catch (Exception ex) {
+                logger.log(Level.SEVERE, "Task failed on " + name, ex);
+            }
+        }
+
+        @Override
+        public int compareTo(PrioritizedTask other) {
+            int cmp = Integer.compare(priority.ordinal(), other.priority.ordinal());
+            return cmp != 0 ? cmp : Long.compare(sequence, other.sequence);
+        }
+    }
+}
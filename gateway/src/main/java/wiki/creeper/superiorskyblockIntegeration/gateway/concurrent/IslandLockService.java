@@ -0,0 +1,266 @@
+package wiki.creeper.superiorskyblockIntegeration.gateway.concurrent;
+
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import wiki.creeper.superiorskyblockIntegeration.common.errors.ErrorCode;
+import wiki.creeper.superiorskyblockIntegeration.common.redis.RedisKeys;
+import wiki.creeper.superiorskyblockIntegeration.config.PluginConfig;
+import wiki.creeper.superiorskyblockIntegeration.gateway.errors.GatewayException;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisManager;
+
+/**
+ * Per-island mutual exclusion for island-scoped writes.
+ *
+ * <p>Every lease first takes a local striped lock, which is all a single-gateway deployment needs and costs one
+ * uncontended CAS. With {@code gateway.locks.distributed} enabled the lease additionally holds
+ * {@link RedisKeys#islandLock(String)} via {@code SET NX PX islandLockTtlMs}, so at most one request per node
+ * ever polls Redis for a given island. Release is a compare-and-delete script so an expired holder never
+ * removes a lock that has since been granted to someone else. The stores do not check leases, so
+ * {@code islandLockTtlMs} must exceed the longest guarded operation; a lease that expired before release is
+ * logged and counted in {@link Metrics#expiredLeases()}.</p>
+ */
+public final class IslandLockService {
+
+    private static final int STRIPES = 256;
+    private static final long COMMAND_TIMEOUT_MS = 2000L;
+    private static final long MIN_BACKOFF_MS = 2L;
+    private static final long MAX_BACKOFF_MS = 50L;
+    private static final String ACQUIRE_SCRIPT =
+            "if redis.call('set', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then return 1 end return 0";
+    private static final String RELEASE_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) end return 0";
+    private static final String ACQUIRE_SHA = sha1(ACQUIRE_SCRIPT);
+    private static final String RELEASE_SHA = sha1(RELEASE_SCRIPT);
+
+    private final RedisManager redisManager;
+    private final long ttlMs;
+    private final Logger logger;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final String ownerPrefix = UUID.randomUUID() + ":";
+    private final AtomicLong ownerSequence = new AtomicLong();
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    /**
+     * @param redisManager used only when {@link PluginConfig.LockSettings#distributed()} is set
+     */
+    public IslandLockService(RedisManager redisManager, PluginConfig.LockSettings settings, Logger logger) {
+        this.redisManager = settings.distributed() ? Objects.requireNonNull(redisManager, "redisManager") : null;
+        this.ttlMs = settings.islandLockTtlMs();
+        this.logger = logger;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public long ttlMs() {
+        return ttlMs;
+    }
+
+    /**
+     * Acquires the lock for {@code islandKey}, waiting at most {@code maxWaitMs}. The lease must be closed on the
+     * acquiring thread.
+     *
+     * @throws GatewayException with a retryable {@link ErrorCode#CONFLICT} when the island stays locked past the
+     *                          wait, or a retryable {@link ErrorCode#INTERNAL} when Redis cannot be reached
+     */
+    public Lease acquire(String islandKey, long maxWaitMs) {
+        Objects.requireNonNull(islandKey, "islandKey");
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(Math.max(0L, maxWaitMs));
+        ReentrantLock local = stripeFor(islandKey);
+        boolean waited = false;
+        if (!local.tryLock()) {
+            waited = true;
+            if (!tryLockUntil(local, deadline)) {
+                throw busy(started);
+            }
+        }
+        if (redisManager == null) {
+            return granted(new Lease(this, islandKey, local, null), started, waited);
+        }
+        String owner = ownerPrefix + ownerSequence.incrementAndGet();
+        long backoffMs = MIN_BACKOFF_MS;
+        while (true) {
+            boolean acquiredRemote;
+            try {
+                acquiredRemote = tryAcquireRemote(islandKey, owner);
+            } catch (RuntimeException ex) {
+                local.unlock();
+                throw new GatewayException(ErrorCode.INTERNAL, "Island lock unavailable", true, ex);
+            }
+            if (acquiredRemote) {
+                return granted(new Lease(this, islandKey, local, owner), started, waited);
+            }
+            waited = true;
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMs <= 0L) {
+                local.unlock();
+                throw busy(started);
+            }
+            try {
+                Thread.sleep(Math.min(remainingMs, ThreadLocalRandom.current().nextLong(MIN_BACKOFF_MS, backoffMs + 1)));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                local.unlock();
+                throw busy(started);
+            }
+            backoffMs = Math.min(MAX_BACKOFF_MS, backoffMs * 2);
+        }
+    }
+
+    public Metrics metrics() {
+        return new Metrics(acquired.sum(), contended.sum(), timedOut.sum(), expired.sum(),
+                TimeUnit.NANOSECONDS.toMillis(waitNanos.sum()), TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()));
+    }
+
+    private boolean tryLockUntil(ReentrantLock lock, long deadline) {
+        try {
+            return lock.tryLock(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Lease granted(Lease lease, long started, boolean waited) {
+        acquired.increment();
+        if (waited) {
+            contended.increment();
+            recordWait(System.nanoTime() - started);
+        }
+        return lease;
+    }
+
+    private GatewayException busy(long started) {
+        contended.increment();
+        timedOut.increment();
+        recordWait(System.nanoTime() - started);
+        return new GatewayException(ErrorCode.CONFLICT, "Island is busy, try again shortly", true);
+    }
+
+    private void recordWait(long nanos) {
+        waitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private boolean tryAcquireRemote(String islandKey, String owner) {
+        Long acquired = evalScript(ACQUIRE_SHA, ACQUIRE_SCRIPT,
+                new String[]{RedisKeys.islandLock(islandKey)}, owner, Long.toString(ttlMs));
+        return acquired != null && acquired > 0L;
+    }
+
+    private void release(Lease lease) {
+        try {
+            if (lease.owner != null) {
+                Long removed = evalScript(RELEASE_SHA, RELEASE_SCRIPT,
+                        new String[]{RedisKeys.islandLock(lease.islandKey)}, lease.owner);
+                if (removed == null || removed == 0L) {
+                    expired.increment();
+                    logger.warning("Island lock for " + lease.islandKey + " expired before release; "
+                            + "the guarded operation took longer than " + ttlMs + "ms");
+                }
+            }
+        } catch (RuntimeException ex) {
+            // The key still expires on its own after the TTL.
+            logger.log(Level.WARNING, "Failed to release island lock for " + lease.islandKey, ex);
+        } finally {
+            lease.local.unlock();
+        }
+    }
+
+    private Long evalScript(String sha, String script, String[] keys, String... args) {
+        RedisAsyncCommands<String, String> redis = redisManager.async();
+        try {
+            try {
+                return redis.<Long>evalsha(sha, ScriptOutputType.INTEGER, keys, args)
+                        .get(COMMAND_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException ex) {
+                if (!(ex.getCause() instanceof RedisNoScriptException)) {
+                    throw ex;
+                }
+                return redis.<Long>eval(script, ScriptOutputType.INTEGER, keys, args)
+                        .get(COMMAND_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Redis", ex);
+        } catch (ExecutionException | TimeoutException ex) {
+            throw new IllegalStateException("Redis lock command failed", ex);
+        }
+    }
+
+    private ReentrantLock stripeFor(String key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return stripes[Math.floorMod(hash, STRIPES)];
+    }
+
+    private static String sha1(String script) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return HexFormat.of().formatHex(digest.digest(script.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-1 not available", ex);
+        }
+    }
+
+    /**
+     * @param totalWaitMs time spent by contended acquisitions, including those that timed out
+     */
+    public record Metrics(long acquisitions,
+                          long contended,
+                          long timeouts,
+                          long expiredLeases,
+                          long totalWaitMs,
+                          long maxWaitMs) {
+    }
+
+    public static final class Lease implements AutoCloseable {
+
+        private final IslandLockService service;
+        private final String islandKey;
+        private final ReentrantLock local;
+        private final String owner;
+        private boolean released;
+
+        private Lease(IslandLockService service, String islandKey, ReentrantLock local, String owner) {
+            this.service = service;
+            this.islandKey = islandKey;
+            this.local = local;
+            this.owner = owner;
+        }
+
+        @Override
+        public void close() {
+            if (released) {
+                return;
+            }
+            released = true;
+            service.release(this);
+        }
+    }
+}
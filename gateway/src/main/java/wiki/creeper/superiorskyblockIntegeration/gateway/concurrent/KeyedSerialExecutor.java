@@ -0,0 +1,101 @@
+package wiki.creeper.superiorskyblockIntegeration.gateway.concurrent;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fixed set of single-threaded stripes; work submitted with the same key always lands on the same stripe and
+ * therefore runs in submission order, while different keys spread across stripes and run in parallel.
+ */
+public final class KeyedSerialExecutor {
+
+    private final String name;
+    private final Logger logger;
+    private final ThreadPoolExecutor[] stripes;
+
+    public KeyedSerialExecutor(String name, int stripeCount, int queueCapacity, Logger logger) {
+        this.name = name;
+        this.logger = logger;
+        int count = Math.max(1, stripeCount);
+        this.stripes = new ThreadPoolExecutor[count];
+        for (int i = 0; i < count; i++) {
+            String threadName = name + "-" + i;
+            stripes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+
+    /**
+     * Queues the task on the stripe owning {@code key}.
+     *
+     * @throws RejectedExecutionException when the stripe queue is full or the executor is shut down
+     */
+    public void execute(Object key, Runnable task) {
+        stripeFor(key).execute(() -> {
+            try {
+                task.run();
+            } catch (Exception ex) {
+                logger.log(Level.SEVERE, "Task failed on " + name + " for key " + key, ex);
+            }
+        });
+    }
+
+    public <T> CompletableFuture<T> submit(Object key, Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        stripeFor(key).execute(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            }
+        });
+        return future;
+    }
+
+    public int queuedTasks() {
+        int queued = 0;
+        for (ThreadPoolExecutor stripe : stripes) {
+            queued += stripe.getQueue().size();
+        }
+        return queued;
+    }
+
+    public void shutdown(long timeoutMs) {
+        for (ThreadPoolExecutor stripe : stripes) {
+            stripe.shutdown();
+        }
+        long deadline = System.currentTimeMillis() + Math.max(0L, timeoutMs);
+        for (ThreadPoolExecutor stripe : stripes) {
+            try {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0L || !stripe.awaitTermination(remaining, TimeUnit.MILLISECONDS)) {
+                    int dropped = stripe.shutdownNow().size();
+                    if (dropped > 0) {
+                        logger.warning("Dropped " + dropped + " queued task(s) while stopping " + name);
+                    }
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                stripe.shutdownNow();
+            }
+        }
+    }
+
+    private ThreadPoolExecutor stripeFor(Object key) {
+        int hash = key != null ? key.hashCode() : 0;
+        hash ^= (hash >>> 16);
+        return stripes[Math.floorMod(hash, stripes.length)];
+    }
+}
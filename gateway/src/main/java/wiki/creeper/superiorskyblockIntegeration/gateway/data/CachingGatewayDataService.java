@@ -0,0 +1,260 @@
+package wiki.creeper.superiorskyblockIntegeration.gateway.data;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.google.gson.JsonObject;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import wiki.creeper.superiorskyblockIntegeration.common.model.PlayerProfile;
+import wiki.creeper.superiorskyblockIntegeration.common.quest.IslandQuestData;
+import wiki.creeper.superiorskyblockIntegeration.config.PluginConfig;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisChannels;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisManager;
+
+/**
+ * Read-through Caffeine cache in front of the {@code ssb_data_entries} key/value store of a
+ * {@link SqlGatewayDataService}; profiles and quests are passed through.
+ *
+ * <p>A cached entry lives until its own {@code expires_at}, capped at {@code maxTtlMs}, and a miss is remembered
+ * for {@code negativeTtlMs}. Writes go to SQL first and then replace the cached entry; a failed write drops it
+ * instead. Every write is announced on the {@value #INVALIDATION_TOPIC} bus topic so other gateways drop their
+ * copy, which bounds cross-gateway staleness by bus latency, or by {@code maxTtlMs} when a message is lost.</p>
+ */
+public final class CachingGatewayDataService implements GatewayDataService {
+
+    public static final String INVALIDATION_TOPIC = "data.invalidate";
+
+    private static final Cached MISS = new Cached(null, 0L);
+
+    private final SqlGatewayDataService delegate;
+    private final RedisManager redisManager;
+    private final RedisChannels channels;
+    private final Logger logger;
+    private final String origin = UUID.randomUUID().toString();
+    private final long maxTtlNanos;
+    private final long negativeTtlNanos;
+    private final Cache<Key, Cached> entries;
+
+    public CachingGatewayDataService(SqlGatewayDataService delegate,
+                                     RedisManager redisManager,
+                                     RedisChannels channels,
+                                     PluginConfig.DataCacheSettings settings,
+                                     Logger logger) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.redisManager = redisManager;
+        this.channels = channels;
+        this.logger = Objects.requireNonNull(logger, "logger");
+        this.maxTtlNanos = TimeUnit.MILLISECONDS.toNanos(settings.maxTtlMs());
+        this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(settings.negativeTtlMs());
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(settings.maximumSize())
+                .expireAfter(new EntryExpiry())
+                .build();
+    }
+
+    @Override
+    public void setData(String namespace, String key, String value, Duration ttl) {
+        if (namespace == null || namespace.isBlank() || key == null || key.isBlank()) {
+            return;
+        }
+        Long expiresAt = SqlGatewayDataService.computeExpiry(ttl);
+        boolean written = delegate.writeData(namespace, key, value, expiresAt);
+        Key cacheKey = new Key(namespace, key);
+        if (written) {
+            entries.put(cacheKey, value != null ? new Cached(value, expiresAt != null ? expiresAt : 0L) : MISS);
+        } else {
+            entries.invalidate(cacheKey);
+        }
+        broadcast(cacheKey);
+    }
+
+    @Override
+    public Optional<String> getData(String namespace, String key) {
+        if (namespace == null || namespace.isBlank() || key == null || key.isBlank()) {
+            return Optional.empty();
+        }
+        Cached cached;
+        try {
+            cached = entries.get(new Key(namespace, key), this::load);
+        } catch (LoadFailure ex) {
+            logger.log(Level.WARNING, "Failed to read data entry {0}:{1}", new Object[]{namespace, key});
+            logger.log(Level.FINE, "SQL error", ex.getCause());
+            return Optional.empty();
+        }
+        if (cached.value() == null || (cached.expiresAt() > 0L && cached.expiresAt() <= System.currentTimeMillis())) {
+            return Optional.empty();
+        }
+        return Optional.of(cached.value());
+    }
+
+    @Override
+    public void deleteData(String namespace, String key) {
+        setData(namespace, key, null, null);
+    }
+
+    @Override
+    public boolean writeDataBatch(List<DataWrite> writes) {
+        boolean written = delegate.writeDataBatch(writes);
+        for (DataWrite write : writes) {
+            if (write.namespace() == null || write.key() == null) {
+                continue;
+            }
+            Key cacheKey = new Key(write.namespace(), write.key());
+            if (written) {
+                entries.put(cacheKey, write.value() != null
+                        ? new Cached(write.value(), write.expiresAt() != null ? write.expiresAt() : 0L)
+                        : MISS);
+            } else {
+                entries.invalidate(cacheKey);
+            }
+            broadcast(cacheKey);
+        }
+        return written;
+    }
+
+    /**
+     * Applies an invalidation published by another gateway.
+     *
+     * @return {@code true} when the message came from another gateway
+     */
+    public boolean handleInvalidation(JsonObject payload) {
+        if (payload == null || !payload.has("namespace") || !payload.has("key")) {
+            return false;
+        }
+        if (payload.has("origin") && origin.equals(payload.get("origin").getAsString())) {
+            return false;
+        }
+        entries.invalidate(new Key(payload.get("namespace").getAsString(), payload.get("key").getAsString()));
+        return true;
+    }
+
+    @Override
+    public void setPlayerProfile(PlayerProfile profile) {
+        delegate.setPlayerProfile(profile);
+    }
+
+    @Override
+    public boolean savePlayerProfilesBatch(Collection<PlayerProfile> profiles) {
+        return delegate.savePlayerProfilesBatch(profiles);
+    }
+
+    @Override
+    public Optional<PlayerProfile> findProfileByName(String name) {
+        return delegate.findProfileByName(name);
+    }
+
+    @Override
+    public Optional<PlayerProfile> findProfileByUuid(String uuid) {
+        return delegate.findProfileByUuid(uuid);
+    }
+
+    @Override
+    public List<String> findProfileNames(String prefix, int limit) {
+        return delegate.findProfileNames(prefix, limit);
+    }
+
+    @Override
+    public JsonObject toJson(PlayerProfile profile) {
+        return delegate.toJson(profile);
+    }
+
+    @Override
+    public Optional<IslandQuestData> loadIslandQuests(String islandUuid) throws SQLException {
+        return delegate.loadIslandQuests(islandUuid);
+    }
+
+    @Override
+    public void saveIslandQuests(IslandQuestData quests) {
+        delegate.saveIslandQuests(quests);
+    }
+
+    @Override
+    public boolean saveIslandQuestsBatch(Collection<IslandQuestData> quests) {
+        return delegate.saveIslandQuestsBatch(quests);
+    }
+
+    @Override
+    public void deleteIslandQuests(String islandUuid) {
+        delegate.deleteIslandQuests(islandUuid);
+    }
+
+    private Cached load(Key key) {
+        try {
+            return delegate.readData(key.namespace(), key.key())
+                    .map(entry -> new Cached(entry.value(), entry.expiresAt()))
+                    .orElse(MISS);
+        } catch (SQLException ex) {
+            // not cached, so the next read retries
+            throw new LoadFailure(ex);
+        }
+    }
+
+    private void broadcast(Key key) {
+        if (redisManager == null || channels == null) {
+            return;
+        }
+        JsonObject payload = new JsonObject();
+        payload.addProperty("origin", origin);
+        payload.addProperty("namespace", key.namespace());
+        payload.addProperty("key", key.key());
+        try {
+            redisManager.publish(channels.busChannel(INVALIDATION_TOPIC), payload.toString());
+        } catch (RuntimeException ex) {
+            logger.log(Level.FINE, "Failed to broadcast data invalidation for " + key.namespace() + ':' + key.key(), ex);
+        }
+    }
+
+    private long lifetime(Cached entry) {
+        if (entry.value() == null) {
+            return negativeTtlNanos;
+        }
+        if (entry.expiresAt() <= 0L) {
+            return maxTtlNanos;
+        }
+        long remaining = TimeUnit.MILLISECONDS.toNanos(entry.expiresAt() - System.currentTimeMillis());
+        return Math.max(0L, Math.min(maxTtlNanos, remaining));
+    }
+
+    private final class EntryExpiry implements Expiry<Key, Cached> {
+
+        @Override
+        public long expireAfterCreate(Key key, Cached value, long currentTime) {
+            return lifetime(value);
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Cached value, long currentTime, long currentDuration) {
+            return lifetime(value);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Cached value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private record Key(String namespace, String key) { }
+
+    /**
+     * @param value {@code null} for a cached miss
+     */
+    private record Cached(String value, long expiresAt) { }
+
+    private static final class LoadFailure extends RuntimeException {
+
+        LoadFailure(SQLException cause) {
+            super(cause);
+        }
+    }
+}
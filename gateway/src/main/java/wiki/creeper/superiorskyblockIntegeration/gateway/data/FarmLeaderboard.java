@@ -0,0 +1,185 @@
+package wiki.creeper.superiorskyblockIntegeration.gateway.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory farm ranking with one order-statistic tree per metric, so top-N pages and rank lookups never touch
+ * the database. The SQL table stays the durable store and is only read to warm this index.
+ */
+final class FarmLeaderboard {
+
+    enum Metric {
+        TOTAL,
+        DAILY,
+        WEEKLY;
+
+        static Metric byName(String raw) {
+            if (raw == null || raw.isBlank()) {
+                return TOTAL;
+            }
+            try {
+                return Metric.valueOf(raw.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                return TOTAL;
+            }
+        }
+
+        long score(Standing standing) {
+            return switch (this) {
+                case TOTAL -> standing.total();
+                case DAILY -> standing.daily();
+                case WEEKLY -> standing.weekly();
+            };
+        }
+    }
+
+    record Standing(UUID islandId,
+                    String islandName,
+                    String ownerUuid,
+                    String ownerName,
+                    long total,
+                    long daily,
+                    long weekly) {
+
+        Standing plus(long totalDelta, long dailyDelta, long weeklyDelta) {
+            return new Standing(islandId, islandName, ownerUuid, ownerName,
+                    total + totalDelta, daily + dailyDelta, weekly + weeklyDelta);
+        }
+
+        Standing withNames(String name, String owner, String ownerDisplayName) {
+            return new Standing(islandId,
+                    name != null ? name : islandName,
+                    owner != null ? owner : ownerUuid,
+                    ownerDisplayName != null ? ownerDisplayName : ownerName,
+                    total, daily, weekly);
+        }
+    }
+
+    private final Map<UUID, Standing> standings = new HashMap<>();
+    private final Map<Metric, RankedScoreTree> trees = new EnumMap<>(Metric.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean warmed;
+
+    FarmLeaderboard() {
+        for (Metric metric : Metric.values()) {
+            trees.put(metric, new RankedScoreTree());
+        }
+    }
+
+    boolean warmed() {
+        return warmed;
+    }
+
+    void load(Collection<Standing> rows) {
+        lock.writeLock().lock();
+        try {
+            standings.clear();
+            trees.values().forEach(RankedScoreTree::clear);
+            for (Standing standing : rows) {
+                put(standing);
+            }
+            warmed = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void add(UUID islandId, long totalDelta, long dailyDelta, long weeklyDelta) {
+        lock.writeLock().lock();
+        try {
+            Standing current = removeExisting(islandId);
+            if (current == null) {
+                current = new Standing(islandId, "", null, "", 0L, 0L, 0L);
+            }
+            put(current.plus(totalDelta, dailyDelta, weeklyDelta));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void updateNames(UUID islandId, String islandName, String ownerUuid, String ownerName) {
+        lock.writeLock().lock();
+        try {
+            standings.computeIfPresent(islandId, (id, standing) -> standing.withNames(islandName, ownerUuid, ownerName));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    List<Standing> page(Metric metric, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<UUID> ids = trees.get(metric).range(offset, limit);
+            List<Standing> result = new ArrayList<>(ids.size());
+            for (UUID id : ids) {
+                result.add(standings.get(id));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * One-based rank of the island for the metric, or empty when the island has no score yet.
+     */
+    Optional<Integer> rank(Metric metric, UUID islandId) {
+        lock.readLock().lock();
+        try {
+            Standing standing = standings.get(islandId);
+            if (standing == null) {
+                return Optional.empty();
+            }
+            int rank = trees.get(metric).rankOf(islandId, metric.score(standing));
+            return rank >= 0 ? Optional.of(rank + 1) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Optional<Standing> standing(UUID islandId) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(standings.get(islandId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return standings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Standing removeExisting(UUID islandId) {
+        Standing existing = standings.remove(islandId);
+        if (existing != null) {
+            for (Metric metric : Metric.values()) {
+                trees.get(metric).remove(islandId, metric.score(existing));
+            }
+        }
+        return existing;
+    }
+
+    private void put(Standing standing) {
+        removeExisting(standing.islandId());
+        standings.put(standing.islandId(), standing);
+        for (Metric metric : Metric.values()) {
+            trees.get(metric).insert(standing.islandId(), metric.score(standing));
+        }
+    }
+}
@@ -2,7 +2,10 @@ package wiki.creeper.superiorskyblockIntegeration.gateway.data;
 
 import com.google.gson.JsonObject;
 
+import java.sql.SQLException;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import wiki.creeper.superiorskyblockIntegeration.common.model.PlayerProfile;
@@ -19,17 +22,53 @@ public interface GatewayDataService {
 
     void deleteData(String namespace, String key);
 
+    /**
+     * Applies several writes to distinct keys with one statement per kind of write.
+     *
+     * @return {@code true} when every write was applied
+     */
+    boolean writeDataBatch(List<DataWrite> writes);
+
     void setPlayerProfile(PlayerProfile profile);
 
+    /**
+     * Upserts several profiles with distinct uuids in a single multi-row statement.
+     *
+     * @return {@code true} when every profile was written
+     */
+    boolean savePlayerProfilesBatch(Collection<PlayerProfile> profiles);
+
     Optional<PlayerProfile> findProfileByName(String name);
 
     Optional<PlayerProfile> findProfileByUuid(String uuid);
 
+    /**
+     * Known player names starting with {@code prefix}, ignoring case, for completion.
+     */
+    List<String> findProfileNames(String prefix, int limit);
+
     JsonObject toJson(PlayerProfile profile);
 
-    Optional<IslandQuestData> loadIslandQuests(String islandUuid);
+    /**
+     * @return empty when the island has no stored quest state
+     * @throws SQLException when the state could not be read, so callers never mistake a failure for a new island
+     */
+    Optional<IslandQuestData> loadIslandQuests(String islandUuid) throws SQLException;
 
     void saveIslandQuests(IslandQuestData quests);
 
+    /**
+     * Persists several island quest payloads in a single batched upsert.
+     *
+     * @return {@code true} when every entry was written
+     */
+    boolean saveIslandQuestsBatch(Collection<IslandQuestData> quests);
+
     void deleteIslandQuests(String islandUuid);
+
+    /**
+     * @param value     {@code null} to delete the entry
+     * @param expiresAt epoch millis, or {@code null} when the entry never expires
+     */
+    record DataWrite(String namespace, String key, String value, Long expiresAt) { }
 }
@@ -1,44 +1,285 @@
 package wiki.creeper.superiorskyblockIntegeration.gateway.data;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.bukkit.plugin.IllegalPluginAccessException;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import wiki.creeper.superiorskyblockIntegeration.api.PlayerMetadataService;
+import wiki.creeper.superiorskyblockIntegeration.config.PluginConfig;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisChannels;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisManager;
 
 /**
  * Local gateway implementation of the metadata service.
+ *
+ * <p>Metadata is mostly rewritten with the value it already has (island lookups, logins), so writes go through a
+ * small pipeline instead of straight to SQL. A write without a TTL that matches the value this gateway last wrote
+ * is dropped. The rest wait up to {@code windowMs}; repeated writes to a key in that window collapse into the last
+ * one and the survivors are flushed with one multi-row statement per batch. Reads see queued writes. Values last
+ * written are remembered for {@code dedupTtlMs}. Every flushed batch is announced on the {@value #WRITTEN_TOPIC}
+ * bus topic, and the other gateways forget what they last wrote to those keys, so a write that reverts another
+ * gateway's change is not dropped. After {@link #shutdown()}, or once the plugin is disabled, writes are flushed on
+ * the calling thread.</p>
  */
 public final class GatewayPlayerMetadataService implements PlayerMetadataService {
 
+    public static final String WRITTEN_TOPIC = "metadata.written";
+
+    private static final String NAMESPACE_PREFIX = "metadata:";
+
     private final GatewayDataService dataService;
+    private final RedisManager redisManager;
+    private final RedisChannels channels;
+    private final String origin = UUID.randomUUID().toString();
     private final Executor asyncExecutor;
+    private final Logger logger;
+    private final long windowMs;
+    private final int maxBatchSize;
+    private final Cache<Key, Optional<String>> lastWritten;
+    private final Object lock = new Object();
+    private final Object flushLock = new Object();
+    private Map<Key, Pending> queued = new LinkedHashMap<>();
+    private Map<Key, Pending> flushing = Map.of();
+    private volatile boolean shutdown;
 
-    public GatewayPlayerMetadataService(JavaPlugin plugin, GatewayDataService dataService) {
+    public GatewayPlayerMetadataService(JavaPlugin plugin,
+                                        GatewayDataService dataService,
+                                        RedisManager redisManager,
+                                        RedisChannels channels,
+                                        PluginConfig.MetadataWriteSettings settings) {
         this.dataService = dataService;
-        this.asyncExecutor = command -> plugin.getServer().getScheduler().runTaskAsynchronously(plugin, command);
+        this.redisManager = redisManager;
+        this.channels = channels;
+        this.asyncExecutor = command -> {
+            try {
+                plugin.getServer().getScheduler().runTaskAsynchronously(plugin, command);
+            } catch (IllegalPluginAccessException ex) {
+                // the plugin is disabled and the scheduler refuses new tasks
+                command.run();
+            }
+        };
+        this.logger = plugin.getLogger();
+        this.windowMs = settings.windowMs();
+        this.maxBatchSize = settings.maxBatchSize();
+        this.lastWritten = Caffeine.newBuilder()
+                .maximumSize(50_000L)
+                .expireAfterWrite(settings.dedupTtlMs(), TimeUnit.MILLISECONDS)
+                .build();
     }
 
     @Override
     public CompletableFuture<Void> put(UUID playerUuid, String key, String value, Duration ttl) {
-        return CompletableFuture.runAsync(() -> dataService.setData(namespace(playerUuid), key, value, ttl), asyncExecutor);
+        return write(namespace(playerUuid), key, value, ttl);
     }
 
     @Override
     public CompletableFuture<Optional<String>> get(UUID playerUuid, String key) {
-        return CompletableFuture.supplyAsync(() -> dataService.getData(namespace(playerUuid), key), asyncExecutor);
+        String namespace = namespace(playerUuid);
+        return CompletableFuture.supplyAsync(() -> read(namespace, key), asyncExecutor);
     }
 
     @Override
     public CompletableFuture<Void> delete(UUID playerUuid, String key) {
-        return CompletableFuture.runAsync(() -> dataService.deleteData(namespace(playerUuid), key), asyncExecutor);
+        return write(namespace(playerUuid), key, null, null);
+    }
+
+    public static boolean isMetadataNamespace(String namespace) {
+        return namespace != null && namespace.startsWith(NAMESPACE_PREFIX);
+    }
+
+    /**
+     * Queues a write to a {@link #isMetadataNamespace(String) metadata namespace}; a {@code null} value deletes
+     * the key. The future completes once the write has been flushed, or right away when it was dropped.
+     */
+    public CompletableFuture<Void> write(String namespace, String key, String value, Duration ttl) {
+        if (namespace == null || namespace.isBlank() || key == null || key.isBlank()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Key cacheKey = new Key(namespace, key);
+        Optional<String> target = Optional.ofNullable(value);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        boolean first;
+        boolean full = false;
+        synchronized (lock) {
+            Pending pending = queued.get(cacheKey);
+            if (ttl == null && target.equals(pending != null ? pending.value() : lastWritten.getIfPresent(cacheKey))
+                    && (pending == null || pending.expiresAt() == null)) {
+                if (pending == null) {
+                    return CompletableFuture.completedFuture(null);
+                }
+                pending.waiters().add(future);
+                return future;
+            }
+            Pending replacement = new Pending(target, SqlGatewayDataService.computeExpiry(ttl), new ArrayList<>());
+            if (pending != null) {
+                replacement.waiters().addAll(pending.waiters());
+            }
+            replacement.waiters().add(future);
+            queued.put(cacheKey, replacement);
+            first = queued.size() == 1;
+            if (windowMs <= 0L || queued.size() >= maxBatchSize) {
+                full = true;
+            }
+        }
+        if (shutdown) {
+            flush();
+        } else if (full) {
+            asyncExecutor.execute(this::flush);
+        } else if (first) {
+            CompletableFuture.delayedExecutor(windowMs, TimeUnit.MILLISECONDS, asyncExecutor).execute(this::flush);
+        }
+        return future;
+    }
+
+    /**
+     * Reads a key of a metadata namespace on the calling thread, including writes that are still queued.
+     */
+    public Optional<String> read(String namespace, String key) {
+        synchronized (lock) {
+            Key cacheKey = new Key(namespace, key);
+            Pending pending = queued.containsKey(cacheKey) ? queued.get(cacheKey) : flushing.get(cacheKey);
+            if (pending != null) {
+                return pending.value();
+            }
+        }
+        return dataService.getData(namespace, key);
+    }
+
+    /**
+     * Forgets the values last written to the keys of a {@value #WRITTEN_TOPIC} announcement from another gateway.
+     */
+    public void handleWritten(JsonObject payload) {
+        if (payload == null || !payload.has("keys") || !payload.get("keys").isJsonArray()) {
+            return;
+        }
+        if (payload.has("origin") && origin.equals(payload.get("origin").getAsString())) {
+            return;
+        }
+        for (JsonElement element : payload.getAsJsonArray("keys")) {
+            if (!element.isJsonObject()) {
+                continue;
+            }
+            JsonObject entry = element.getAsJsonObject();
+            if (entry.has("namespace") && entry.has("key")) {
+                lastWritten.invalidate(new Key(entry.get("namespace").getAsString(), entry.get("key").getAsString()));
+            }
+        }
+    }
+
+    /**
+     * Writes everything still queued on the calling thread; later writes are written through.
+     */
+    public void shutdown() {
+        shutdown = true;
+        flush();
+    }
+
+    private void flush() {
+        // one flush at a time, so an older batch never lands after a newer one
+        synchronized (flushLock) {
+            Map<Key, Pending> batch;
+            synchronized (lock) {
+                if (queued.isEmpty()) {
+                    return;
+                }
+                batch = queued;
+                queued = new LinkedHashMap<>();
+                flushing = batch;
+            }
+            try {
+                flush(batch);
+            } finally {
+                synchronized (lock) {
+                    flushing = Map.of();
+                }
+            }
+        }
+    }
+
+    private void flush(Map<Key, Pending> batch) {
+        List<Map.Entry<Key, Pending>> entries = new ArrayList<>(batch.entrySet());
+        for (int from = 0; from < entries.size(); from += maxBatchSize) {
+            List<Map.Entry<Key, Pending>> chunk = entries.subList(from, Math.min(from + maxBatchSize, entries.size()));
+            List<GatewayDataService.DataWrite> writes = new ArrayList<>(chunk.size());
+            for (Map.Entry<Key, Pending> entry : chunk) {
+                Pending pending = entry.getValue();
+                writes.add(new GatewayDataService.DataWrite(entry.getKey().namespace(), entry.getKey().key(),
+                        pending.value().orElse(null), pending.expiresAt()));
+            }
+            boolean written;
+            try {
+                written = dataService.writeDataBatch(writes);
+            } catch (RuntimeException ex) {
+                logger.log(Level.WARNING, "Failed to flush " + writes.size() + " metadata write(s)", ex);
+                written = false;
+            }
+            if (written) {
+                announce(chunk);
+            }
+            for (Map.Entry<Key, Pending> entry : chunk) {
+                Pending pending = entry.getValue();
+                if (written && pending.expiresAt() == null) {
+                    lastWritten.put(entry.getKey(), pending.value());
+                } else {
+                    lastWritten.invalidate(entry.getKey());
+                }
+                for (CompletableFuture<Void> waiter : pending.waiters()) {
+                    if (written) {
+                        waiter.complete(null);
+                    } else {
+                        waiter.completeExceptionally(new IllegalStateException("Metadata write failed"));
+                    }
+                }
+            }
+        }
+    }
+
+    private void announce(List<Map.Entry<Key, Pending>> chunk) {
+        JsonArray keys = new JsonArray(chunk.size());
+        for (Map.Entry<Key, Pending> entry : chunk) {
+            JsonObject key = new JsonObject();
+            key.addProperty("namespace", entry.getKey().namespace());
+            key.addProperty("key", entry.getKey().key());
+            keys.add(key);
+        }
+        JsonObject payload = new JsonObject();
+        payload.addProperty("origin", origin);
+        payload.add("keys", keys);
+        try {
+            redisManager.publish(channels.busChannel(WRITTEN_TOPIC), payload.toString());
+        } catch (RuntimeException ex) {
+            // other gateways still forget the keys after dedupTtlMs
+            logger.log(Level.FINE, "Failed to announce " + keys.size() + " metadata write(s)", ex);
+        }
     }
 
     private static String namespace(UUID uuid) {
-        return "metadata:" + uuid.toString().toLowerCase();
+        return NAMESPACE_PREFIX + Objects.requireNonNull(uuid, "playerUuid").toString().toLowerCase();
     }
+
+    private record Key(String namespace, String key) { }
+
+    /**
+     * @param value     empty for a delete
+     * @param expiresAt epoch millis, or {@code null} when the entry never expires
+     */
+    private record Pending(Optional<String> value, Long expiresAt, List<CompletableFuture<Void>> waiters) { }
 }
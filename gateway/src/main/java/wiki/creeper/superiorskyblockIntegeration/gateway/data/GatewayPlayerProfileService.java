@@ -12,21 +12,21 @@ import wiki.creeper.superiorskyblockIntegeration.common.model.PlayerProfile;
 
 public final class GatewayPlayerProfileService implements PlayerProfileService {
 
-    private final GatewayDataService dataService;
+    private final ProfileRegistrationQueue registrations;
     private final Executor asyncExecutor;
 
-    public GatewayPlayerProfileService(JavaPlugin plugin, GatewayDataService dataService) {
-        this.dataService = dataService;
+    public GatewayPlayerProfileService(JavaPlugin plugin, ProfileRegistrationQueue registrations) {
+        this.registrations = registrations;
         this.asyncExecutor = command -> plugin.getServer().getScheduler().runTaskAsynchronously(plugin, command);
     }
 
     @Override
     public CompletableFuture<Optional<PlayerProfile>> lookupByName(String name) {
-        return CompletableFuture.supplyAsync(() -> dataService.findProfileByName(name), asyncExecutor);
+        return CompletableFuture.supplyAsync(() -> registrations.findByName(name), asyncExecutor);
     }
 
     @Override
     public CompletableFuture<Optional<PlayerProfile>> lookupByUuid(UUID uuid) {
-        return CompletableFuture.supplyAsync(() -> dataService.findProfileByUuid(uuid.toString()), asyncExecutor);
+        return CompletableFuture.supplyAsync(() -> registrations.findByUuid(uuid.toString()), asyncExecutor);
     }
 }
@@ -28,6 +28,7 @@ import wiki.creeper.superiorskyblockIntegeration.gateway.errors.GatewayException
 public final class GatewayQuestService {
 
     private final GatewayDataService dataService;
+    private final GatewayQuestStore questStore;
     private final GatewayRankingService rankingService;
     private final SuperiorSkyblockBridge bridge;
     private static final String NAMESPACE_FARM_MONEY = "economy.farmMoney";
@@ -36,36 +37,34 @@ public final class GatewayQuestService {
     private final ZoneId systemZone = ZoneId.systemDefault();
 
     public GatewayQuestService(GatewayDataService dataService,
+                               GatewayQuestStore questStore,
                                GatewayRankingService rankingService,
                                SuperiorSkyblockBridge bridge) {
         this.dataService = Objects.requireNonNull(dataService, "dataService");
+        this.questStore = Objects.requireNonNull(questStore, "questStore");
         this.rankingService = rankingService;
         this.bridge = bridge;
     }
 
     public IslandQuestData load(String islandUuid) {
-        return dataService.loadIslandQuests(islandUuid)
-                .orElseGet(() -> new IslandQuestData(islandUuid,
-                        IslandQuestSet.unassigned(QuestType.DAILY),
-                        IslandQuestSet.unassigned(QuestType.WEEKLY)));
+        return questStore.get(islandUuid);
     }
 
     public IslandQuestData assign(String islandUuid,
                                   QuestType type,
                                   int questCount,
                                   int memberCount) {
-        IslandQuestData current = load(islandUuid);
-        IslandQuestSet set = select(current, type);
-        if (set.assigned() && !set.quests().isEmpty()) {
-            throw new GatewayException(ErrorCode.QUEST_ALREADY_ASSIGNED, "Quest already assigned");
-        }
-        List<IslandQuestEntry> quests = QuestGenerator.generate(type, questCount, memberCount);
-        IslandQuestSet updatedSet = IslandQuestSet.assign(type, questCount, quests);
-        IslandQuestData updatedData = apply(current, type, updatedSet);
-        dataService.saveIslandQuests(updatedData);
+        IslandQuestData updatedData = questStore.update(islandUuid, current -> {
+            IslandQuestSet set = select(current, type);
+            if (set.assigned() && !set.quests().isEmpty()) {
+                throw new GatewayException(ErrorCode.QUEST_ALREADY_ASSIGNED, "Quest already assigned");
+            }
+            List<IslandQuestEntry> quests = QuestGenerator.generate(type, questCount, memberCount);
+            return apply(current, type, IslandQuestSet.assign(type, questCount, quests));
+        });
         UUID islandId = parseUuid(islandUuid);
         if (bridge != null && islandId != null) {
-            announceAssignment(islandId, type, updatedSet);
+            announceAssignment(islandId, type, select(updatedData, type));
         }
         return updatedData;
     }
@@ -75,17 +74,67 @@ public final class GatewayQuestService {
                                      int questId,
                                      int amount,
                                      UUID contributor) {
-        IslandQuestData current = load(islandUuid);
-        IslandQuestSet set = select(current, type);
-        if (!set.assigned()) {
-            throw new GatewayException(ErrorCode.QUEST_NOT_ASSIGNED, "Quest set not assigned");
-        }
-        IslandQuestEntry entry = set.quest(questId)
-                .orElseThrow(() -> new GatewayException(ErrorCode.QUEST_NOT_FOUND, "Quest " + questId + " not found"));
-        if (amount <= 0) {
-            return current;
+        List<ProgressOutcome> outcomes = new ArrayList<>(1);
+        IslandQuestData updatedData = questStore.update(islandUuid, current -> {
+            IslandQuestSet set = select(current, type);
+            if (!set.assigned()) {
+                throw new GatewayException(ErrorCode.QUEST_NOT_ASSIGNED, "Quest set not assigned");
+            }
+            set.quest(questId)
+                    .orElseThrow(() -> new GatewayException(ErrorCode.QUEST_NOT_FOUND, "Quest " + questId + " not found"));
+            if (amount <= 0) {
+                return current;
+            }
+            return applyIncrement(current, type, questId, amount, contributor, outcomes);
+        });
+        publishOutcomes(islandUuid, outcomes);
+        return updatedData;
+    }
+
+    /**
+     * Applies several increments against a single load of the island's quest state and persists the result once.
+     * Entries targeting an unassigned set or unknown quest are reported as rejected instead of failing the batch.
+     */
+    public BatchResult incrementBatch(String islandUuid, List<QuestIncrement> increments) {
+        if (increments == null || increments.isEmpty()) {
+            return new BatchResult(load(islandUuid), List.of(), List.of());
         }
-        UUID islandId = parseUuid(islandUuid);
+        List<QuestIncrement> applied = new ArrayList<>(increments.size());
+        List<RejectedIncrement> rejected = new ArrayList<>();
+        List<ProgressOutcome> outcomes = new ArrayList<>(increments.size());
+        IslandQuestData updatedData = questStore.update(islandUuid, current -> {
+            IslandQuestData working = current;
+            for (QuestIncrement increment : increments) {
+                IslandQuestSet set = select(working, increment.type());
+                if (!set.assigned()) {
+                    rejected.add(new RejectedIncrement(increment, ErrorCode.QUEST_NOT_ASSIGNED));
+                    continue;
+                }
+                if (set.quest(increment.questId()).isEmpty()) {
+                    rejected.add(new RejectedIncrement(increment, ErrorCode.QUEST_NOT_FOUND));
+                    continue;
+                }
+                if (increment.amount() <= 0) {
+                    continue;
+                }
+                working = applyIncrement(working, increment.type(), increment.questId(),
+                        increment.amount(), increment.contributor(), outcomes);
+                applied.add(increment);
+            }
+            return working;
+        });
+        publishOutcomes(islandUuid, outcomes);
+        return new BatchResult(updatedData, List.copyOf(applied), List.copyOf(rejected));
+    }
+
+    private IslandQuestData applyIncrement(IslandQuestData current,
+                                           QuestType type,
+                                           int questId,
+                                           int amount,
+                                           UUID contributor,
+                                           List<ProgressOutcome> outcomes) {
+        IslandQuestSet set = select(current, type);
+        IslandQuestEntry entry = set.quest(questId).orElseThrow();
         boolean completedBefore = entry.completed();
         IslandQuestEntry updatedEntry = entry.increment(amount, contributor != null ? contributor.toString() : null);
         IslandQuestSet updatedSet = set.replace(updatedEntry);
@@ -93,23 +142,33 @@ public final class GatewayQuestService {
             updatedSet = updatedSet.withRewardGranted();
         }
         boolean rewardNowGranted = !set.rewardGranted() && updatedSet.rewardGranted();
-        IslandQuestData updatedData = apply(current, type, updatedSet);
-        dataService.saveIslandQuests(updatedData);
-        if (bridge != null && islandId != null) {
-            if (!completedBefore && updatedEntry.completed()) {
-                announceQuestCompletion(islandId, type, updatedEntry, contributor);
+        outcomes.add(new ProgressOutcome(type,
+                updatedEntry,
+                !completedBefore && updatedEntry.completed(),
+                rewardNowGranted ? updatedSet : null,
+                contributor,
+                amount));
+        return apply(current, type, updatedSet);
+    }
+
+    private void publishOutcomes(String islandUuid, List<ProgressOutcome> outcomes) {
+        UUID islandId = parseUuid(islandUuid);
+        for (ProgressOutcome outcome : outcomes) {
+            if (bridge != null && islandId != null) {
+                if (outcome.completedNow()) {
+                    announceQuestCompletion(islandId, outcome.type(), outcome.entry(), outcome.contributor());
+                }
+                if (outcome.rewardedSet() != null) {
+                    announceAllCompleted(islandId, outcome.rewardedSet());
+                }
             }
-            if (rewardNowGranted) {
-                announceAllCompleted(islandId, updatedSet);
+            if (outcome.rewardedSet() != null) {
+                grantCompletionRewards(islandUuid, outcome.rewardedSet());
+            }
+            if (rankingService != null && islandId != null && outcome.contributor() != null && outcome.amount() > 0) {
+                rankingService.recordProgress(islandId, outcome.contributor(), outcome.amount(), outcome.type());
             }
         }
-        if (rewardNowGranted) {
-            grantCompletionRewards(islandUuid, updatedSet);
-        }
-        if (rankingService != null && contributor != null && amount > 0) {
-            rankingService.recordProgress(UUID.fromString(islandUuid), contributor, amount, type);
-        }
-        return updatedData;
     }
 
     public JsonObject toJson(IslandQuestData data) {
@@ -299,4 +358,21 @@ public final class GatewayQuestService {
         }
         return builder.toString();
     }
+
+    public record QuestIncrement(QuestType type, int questId, int amount, UUID contributor) {
+    }
+
+    public record RejectedIncrement(QuestIncrement increment, ErrorCode code) {
+    }
+
+    public record BatchResult(IslandQuestData data, List<QuestIncrement> applied, List<RejectedIncrement> rejected) {
+    }
+
+    private record ProgressOutcome(QuestType type,
+                                   IslandQuestEntry entry,
+                                   boolean completedNow,
+                                   IslandQuestSet rewardedSet,
+                                   UUID contributor,
+                                   int amount) {
+    }
 }
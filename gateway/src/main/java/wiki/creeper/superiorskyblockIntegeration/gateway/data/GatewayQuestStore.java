@@ -0,0 +1,309 @@
+package wiki.creeper.superiorskyblockIntegeration.gateway.data;
+
+import com.google.gson.JsonObject;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import wiki.creeper.superiorskyblockIntegeration.common.errors.ErrorCode;
+import wiki.creeper.superiorskyblockIntegeration.common.quest.IslandQuestData;
+import wiki.creeper.superiorskyblockIntegeration.common.quest.IslandQuestSet;
+import wiki.creeper.superiorskyblockIntegeration.common.quest.QuestType;
+import wiki.creeper.superiorskyblockIntegeration.config.PluginConfig;
+import wiki.creeper.superiorskyblockIntegeration.gateway.errors.GatewayException;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisChannels;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisManager;
+
+/**
+ * Write-behind cache of island quest state in front of {@link GatewayDataService}.
+ *
+ * <p>Mutations are applied in memory under a per-island monitor and the island is marked dirty. A periodic
+ * asynchronous task persists dirty islands with batched upserts; a failed batch leaves the islands dirty so they
+ * are retried on the next run. A flush interval of {@code 0} disables buffering and writes through. An island whose
+ * state cannot be read is not cached; the request fails with a retryable error and the next one reads again.</p>
+ *
+ * <p>Buffering assumes this gateway is the only writer of island quests. When several gateways share them
+ * ({@code gateway.locks.distributed} or the streams request transport), the store is {@code shared}: it writes
+ * through, re-reads the island before every mutation, and announces each write on {@value #INVALIDATION_TOPIC} so
+ * the other gateways drop their cached copy. Mutations must then run under the distributed island lock, which
+ * orders the read-modify-write across gateways.</p>
+ */
+public final class GatewayQuestStore {
+
+    public static final String INVALIDATION_TOPIC = "quests.invalidate";
+
+    private static final long STALENESS_WARNING_INTERVAL_MS = 60_000L;
+
+    private final GatewayDataService dataService;
+    private final RedisManager redisManager;
+    private final RedisChannels channels;
+    private final boolean shared;
+    private final String origin = UUID.randomUUID().toString();
+    private final Logger logger;
+    private final int maxBatchSize;
+    private final long maxStalenessMs;
+    private final long idleEvictMs;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Object flushMonitor = new Object();
+    private final AtomicLong flushedIslands = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private final AtomicLong maxObservedStalenessMs = new AtomicLong();
+    private volatile long lastStalenessWarningAt;
+    private BukkitTask flushTask;
+
+    /**
+     * @param shared whether other gateways write the same island quests
+     */
+    public GatewayQuestStore(JavaPlugin plugin,
+                             GatewayDataService dataService,
+                             RedisManager redisManager,
+                             RedisChannels channels,
+                             PluginConfig.QuestStoreSettings settings,
+                             boolean shared) {
+        this.dataService = Objects.requireNonNull(dataService, "dataService");
+        this.redisManager = redisManager;
+        this.channels = channels;
+        this.shared = shared;
+        this.logger = plugin.getLogger();
+        this.maxBatchSize = Math.max(1, settings.maxBatchSize());
+        this.maxStalenessMs = settings.maxStalenessMs();
+        this.idleEvictMs = settings.idleEvictMs();
+        if (shared && settings.flushIntervalMs() > 0L) {
+            logger.info("Island quests are shared with other gateways; gateway.quests.flushIntervalMs is ignored and writes go through");
+        } else if (settings.flushIntervalMs() > 0L) {
+            long periodTicks = Math.max(1L, settings.flushIntervalMs() / 50L);
+            this.flushTask = plugin.getServer().getScheduler()
+                    .runTaskTimerAsynchronously(plugin, this::flush, periodTicks, periodTicks);
+        }
+    }
+
+    public IslandQuestData get(String islandUuid) {
+        while (true) {
+            Entry entry = entries.computeIfAbsent(islandUuid, Entry::new);
+            synchronized (entry) {
+                if (entry.evicted) {
+                    continue;
+                }
+                entry.lastAccessAt = System.currentTimeMillis();
+                return ensureLoaded(entry);
+            }
+        }
+    }
+
+    /**
+     * Applies the mutation to the island's current state while holding the island's monitor. Returning the same
+     * instance signals that nothing changed; exceptions thrown by the mutation propagate unchanged.
+     */
+    public IslandQuestData update(String islandUuid, UnaryOperator<IslandQuestData> mutation) {
+        while (true) {
+            Entry entry = entries.computeIfAbsent(islandUuid, Entry::new);
+            synchronized (entry) {
+                if (entry.evicted) {
+                    continue;
+                }
+                long now = System.currentTimeMillis();
+                entry.lastAccessAt = now;
+                if (shared) {
+                    // another gateway may have written the island since it was cached
+                    entry.data = null;
+                }
+                IslandQuestData current = ensureLoaded(entry);
+                IslandQuestData updated = mutation.apply(current);
+                if (updated == null || updated == current) {
+                    return current;
+                }
+                if (flushTask == null) {
+                    if (!dataService.saveIslandQuestsBatch(List.of(updated))) {
+                        throw new GatewayException(ErrorCode.INTERNAL, "Failed to save island quest data", true);
+                    }
+                    entry.data = updated;
+                    if (shared) {
+                        announce(islandUuid);
+                    }
+                    return updated;
+                }
+                entry.data = updated;
+                entry.version++;
+                if (entry.dirtySince == 0L) {
+                    entry.dirtySince = now;
+                }
+                return updated;
+            }
+        }
+    }
+
+    /**
+     * Persists every dirty island and evicts clean islands that have been idle past the configured window.
+     */
+    public void flush() {
+        synchronized (flushMonitor) {
+            long now = System.currentTimeMillis();
+            long oldestDirtyAge = 0L;
+            List<PendingWrite> pending = new ArrayList<>();
+            for (Entry entry : entries.values()) {
+                synchronized (entry) {
+                    if (entry.dirtySince > 0L) {
+                        oldestDirtyAge = Math.max(oldestDirtyAge, now - entry.dirtySince);
+                        pending.add(new PendingWrite(entry, entry.data, entry.version));
+                    } else if (now - entry.lastAccessAt >= idleEvictMs) {
+                        entry.evicted = true;
+                        entries.remove(entry.islandUuid, entry);
+                    }
+                }
+            }
+            recordStaleness(now, oldestDirtyAge);
+            for (int from = 0; from < pending.size(); from += maxBatchSize) {
+                List<PendingWrite> chunk = pending.subList(from, Math.min(pending.size(), from + maxBatchSize));
+                List<IslandQuestData> payload = new ArrayList<>(chunk.size());
+                for (PendingWrite write : chunk) {
+                    payload.add(write.data());
+                }
+                if (!dataService.saveIslandQuestsBatch(payload)) {
+                    failedFlushes.incrementAndGet();
+                    continue;
+                }
+                for (PendingWrite write : chunk) {
+                    Entry entry = write.entry();
+                    synchronized (entry) {
+                        if (entry.version == write.version()) {
+                            entry.dirtySince = 0L;
+                        }
+                    }
+                }
+                flushedIslands.addAndGet(chunk.size());
+            }
+        }
+    }
+
+    /**
+     * Drops the cached state of an island another gateway has written, so the next read loads it again.
+     */
+    public void handleInvalidation(JsonObject payload) {
+        if (payload == null || !payload.has("islandUuid")) {
+            return;
+        }
+        if (payload.has("origin") && origin.equals(payload.get("origin").getAsString())) {
+            return;
+        }
+        Entry entry = entries.get(payload.get("islandUuid").getAsString());
+        if (entry == null) {
+            return;
+        }
+        synchronized (entry) {
+            if (entry.dirtySince == 0L) {
+                entry.data = null;
+            }
+        }
+    }
+
+    public Metrics metrics() {
+        long now = System.currentTimeMillis();
+        int dirty = 0;
+        long oldestDirtyAge = 0L;
+        for (Entry entry : entries.values()) {
+            long dirtySince = entry.dirtySince;
+            if (dirtySince > 0L) {
+                dirty++;
+                oldestDirtyAge = Math.max(oldestDirtyAge, now - dirtySince);
+            }
+        }
+        return new Metrics(entries.size(),
+                dirty,
+                oldestDirtyAge,
+                maxObservedStalenessMs.get(),
+                flushedIslands.get(),
+                failedFlushes.get());
+    }
+
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        flush();
+        Metrics metrics = metrics();
+        if (metrics.dirtyIslands() > 0) {
+            logger.warning("Quest store shut down with " + metrics.dirtyIslands() + " unsaved island(s)");
+        }
+    }
+
+    /**
+     * @throws GatewayException with a retryable {@link ErrorCode#INTERNAL} when the stored state cannot be read
+     */
+    private IslandQuestData ensureLoaded(Entry entry) {
+        if (entry.data == null) {
+            Optional<IslandQuestData> stored;
+            try {
+                stored = dataService.loadIslandQuests(entry.islandUuid);
+            } catch (SQLException ex) {
+                logger.log(Level.WARNING, "Failed to load island quest data for {0}", entry.islandUuid);
+                logger.log(Level.FINE, "SQL error", ex);
+                throw new GatewayException(ErrorCode.INTERNAL, "Island quest data unavailable", true, ex);
+            }
+            entry.data = stored.orElseGet(() -> new IslandQuestData(entry.islandUuid,
+                    IslandQuestSet.unassigned(QuestType.DAILY),
+                    IslandQuestSet.unassigned(QuestType.WEEKLY)));
+        }
+        return entry.data;
+    }
+
+    private void announce(String islandUuid) {
+        JsonObject payload = new JsonObject();
+        payload.addProperty("origin", origin);
+        payload.addProperty("islandUuid", islandUuid);
+        try {
+            redisManager.publish(channels.busChannel(INVALIDATION_TOPIC), payload.toString());
+        } catch (RuntimeException ex) {
+            // other gateways still re-read the island before their next mutation
+            logger.log(Level.FINE, "Failed to broadcast quest invalidation for " + islandUuid, ex);
+        }
+    }
+
+    private void recordStaleness(long now, long oldestDirtyAge) {
+        maxObservedStalenessMs.accumulateAndGet(oldestDirtyAge, Math::max);
+        if (oldestDirtyAge <= maxStalenessMs || now - lastStalenessWarningAt < STALENESS_WARNING_INTERVAL_MS) {
+            return;
+        }
+        lastStalenessWarningAt = now;
+        logger.log(Level.WARNING, "Island quest state has been unsaved for {0}ms (limit {1}ms); check database health",
+                new Object[]{oldestDirtyAge, maxStalenessMs});
+    }
+
+    public record Metrics(int cachedIslands,
+                          int dirtyIslands,
+                          long oldestDirtyAgeMs,
+                          long maxObservedStalenessMs,
+                          long flushedIslands,
+                          long failedFlushes) {
+    }
+
+    private record PendingWrite(Entry entry, IslandQuestData data, long version) {
+    }
+
+    private static final class Entry {
+
+        private final String islandUuid;
+        private IslandQuestData data;
+        private long version;
+        private volatile long dirtySince;
+        private long lastAccessAt;
+        private boolean evicted;
+
+        private Entry(String islandUuid) {
+            this.islandUuid = islandUuid;
+            this.lastAccessAt = System.currentTimeMillis();
+        }
+    }
+}
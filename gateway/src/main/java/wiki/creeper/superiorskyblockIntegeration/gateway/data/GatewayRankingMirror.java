@@ -0,0 +1,347 @@
+package wiki.creeper.superiorskyblockIntegeration.gateway.data;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScoredValue;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import wiki.creeper.superiorskyblockIntegeration.common.redis.RedisKeys;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisCodec;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisManager;
+
+/**
+ * Mirrors farm ranking scores into Redis sorted sets so every gateway reads the same leaderboard.
+ *
+ * <p>Writes are pipelined ZINCRBY calls issued by {@link GatewayRankingService} inside the SQL batch transaction.
+ * Any Redis failure marks the mirror unhealthy; reads then fall back to the local leaderboard or SQL until the
+ * service rebuilds the sorted sets from the database. Rebuilds are serialised across gateways by
+ * {@link RedisKeys#rankingRebuildLock()}.</p>
+ */
+public final class GatewayRankingMirror {
+
+    private static final Duration COMMAND_TIMEOUT = Duration.ofSeconds(2);
+    private static final String[] METRICS = {"total", "daily", "weekly"};
+    private static final long REBUILD_LOCK_TTL_MS = 120_000L;
+    private static final String RELEASE_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) end return 0";
+
+    private final RedisManager redisManager;
+    private final Logger logger;
+    private volatile boolean healthy;
+
+    public GatewayRankingMirror(RedisManager redisManager, Logger logger) {
+        this.redisManager = Objects.requireNonNull(redisManager, "redisManager");
+        this.logger = logger;
+    }
+
+    boolean healthy() {
+        return healthy;
+    }
+
+    /**
+     * Marks the mirror unhealthy after increments reached Redis for a batch that was not committed.
+     */
+    void invalidate(String action) {
+        markUnhealthy(action, null);
+    }
+
+    /**
+     * Claims the right to rebuild the mirror.
+     *
+     * @return the token to release the claim with, or {@code null} when another gateway is rebuilding
+     */
+    String tryLockRebuild() {
+        String token = UUID.randomUUID().toString();
+        try {
+            String reply = redisManager.async()
+                    .set(RedisKeys.rankingRebuildLock(), token, SetArgs.Builder.nx().px(REBUILD_LOCK_TTL_MS))
+                    .get(COMMAND_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            return "OK".equals(reply) ? token : null;
+        } catch (Exception ex) {
+            markUnhealthy("claim the ranking rebuild", ex);
+            return null;
+        }
+    }
+
+    void unlockRebuild(String token) {
+        try {
+            redisManager.async()
+                    .eval(RELEASE_SCRIPT, ScriptOutputType.INTEGER, new String[]{RedisKeys.rankingRebuildLock()}, token)
+                    .get(COMMAND_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception ex) {
+            // the claim expires on its own
+            logger.log(Level.FINE, "Failed to release the ranking rebuild claim", ex);
+        }
+    }
+
+    void applyDeltas(Map<UUID, GatewayRankingService.ScoreDelta> scores,
+                     Map<GatewayRankingService.ContributionKey, Long> contributions,
+                     Map<UUID, JsonObject> islandMeta,
+                     Map<UUID, String> playerNames) {
+        if (!healthy) {
+            return;
+        }
+        try {
+            List<RedisFuture<?>> futures = redisManager.pipeline(redis -> {
+                List<RedisFuture<?>> queued = new ArrayList<>();
+                for (Map.Entry<UUID, GatewayRankingService.ScoreDelta> entry : scores.entrySet()) {
+                    String member = entry.getKey().toString();
+                    GatewayRankingService.ScoreDelta delta = entry.getValue();
+                    queued.add(redis.zincrby(RedisKeys.rankingScores("total"), delta.total(), member));
+                    if (delta.daily() > 0L) {
+                        queued.add(redis.zincrby(RedisKeys.rankingScores("daily"), delta.daily(), member));
+                    }
+                    if (delta.weekly() > 0L) {
+                        queued.add(redis.zincrby(RedisKeys.rankingScores("weekly"), delta.weekly(), member));
+                    }
+                }
+                for (Map.Entry<GatewayRankingService.ContributionKey, Long> entry : contributions.entrySet()) {
+                    GatewayRankingService.ContributionKey key = entry.getKey();
+                    queued.add(redis.zincrby(RedisKeys.rankingMembers(key.islandUuid().toString()),
+                            entry.getValue(), key.playerUuid().toString()));
+                }
+                if (!islandMeta.isEmpty()) {
+                    Map<String, String> meta = new HashMap<>();
+                    islandMeta.forEach((islandUuid, json) -> meta.put(islandUuid.toString(), json.toString()));
+                    queued.add(redis.hset(RedisKeys.rankingIslands(), meta));
+                }
+                Map<String, String> names = new HashMap<>();
+                playerNames.forEach((uuid, name) -> {
+                    if (name != null && !name.isBlank()) {
+                        names.put(uuid.toString(), name);
+                    }
+                });
+                if (!names.isEmpty()) {
+                    queued.add(redis.hset(RedisKeys.rankingPlayers(), names));
+                }
+                return queued;
+            });
+            await(futures);
+        } catch (Exception ex) {
+            markUnhealthy("apply ranking deltas", ex);
+        }
+    }
+
+    /**
+     * Replaces the mirrored sorted sets with the given rows. Every set is built under a temporary key and renamed
+     * into place so readers never observe a half-built ranking.
+     */
+    void rebuild(Collection<FarmLeaderboard.Standing> islands,
+                 Map<UUID, Map<UUID, Long>> members,
+                 Map<UUID, String> playerNames) {
+        try {
+            List<RedisFuture<?>> futures = redisManager.pipeline(redis -> {
+                List<RedisFuture<?>> queued = new ArrayList<>();
+                String suffix = ":rebuild:" + UUID.randomUUID();
+                Map<String, String> meta = new HashMap<>();
+                for (String metric : METRICS) {
+                    String temp = RedisKeys.rankingScores(metric) + suffix;
+                    List<ScoredValue<String>> values = new ArrayList<>(islands.size());
+                    for (FarmLeaderboard.Standing standing : islands) {
+                        long score = switch (metric) {
+                            case "daily" -> standing.daily();
+                            case "weekly" -> standing.weekly();
+                            default -> standing.total();
+                        };
+                        values.add(ScoredValue.just(score, standing.islandId().toString()));
+                    }
+                    queued.add(redis.del(temp));
+                    if (!values.isEmpty()) {
+                        queued.add(redis.zadd(temp, values.toArray(new ScoredValue[0])));
+                        queued.add(redis.rename(temp, RedisKeys.rankingScores(metric)));
+                    } else {
+                        queued.add(redis.del(RedisKeys.rankingScores(metric)));
+                    }
+                }
+                for (FarmLeaderboard.Standing standing : islands) {
+                    meta.put(standing.islandId().toString(), describeMeta(standing.islandName(),
+                            standing.ownerUuid(), standing.ownerName()).toString());
+                }
+                if (!meta.isEmpty()) {
+                    queued.add(redis.hset(RedisKeys.rankingIslands(), meta));
+                }
+                for (Map.Entry<UUID, Map<UUID, Long>> entry : members.entrySet()) {
+                    String key = RedisKeys.rankingMembers(entry.getKey().toString());
+                    String temp = key + suffix;
+                    List<ScoredValue<String>> values = new ArrayList<>(entry.getValue().size());
+                    entry.getValue().forEach((player, score) -> values.add(ScoredValue.just(score, player.toString())));
+                    queued.add(redis.del(temp));
+                    if (!values.isEmpty()) {
+                        queued.add(redis.zadd(temp, values.toArray(new ScoredValue[0])));
+                        queued.add(redis.rename(temp, key));
+                    } else {
+                        queued.add(redis.del(key));
+                    }
+                }
+                Map<String, String> names = new HashMap<>();
+                playerNames.forEach((uuid, name) -> {
+                    if (name != null && !name.isBlank()) {
+                        names.put(uuid.toString(), name);
+                    }
+                });
+                if (!names.isEmpty()) {
+                    queued.add(redis.hset(RedisKeys.rankingPlayers(), names));
+                }
+                return queued;
+            });
+            await(futures);
+            healthy = true;
+            logger.info("Farm ranking Redis mirror rebuilt with " + islands.size() + " island(s)");
+        } catch (Exception ex) {
+            markUnhealthy("rebuild ranking mirror", ex);
+        }
+    }
+
+    /**
+     * Reads a page of the ranking ordered by {@code metric}, or {@code null} when the mirror cannot serve it.
+     */
+    JsonObject top(String metric, int offset, int limit) {
+        if (!healthy) {
+            return null;
+        }
+        try {
+            RedisAsyncCommands<String, String> redis = redisManager.async();
+            RedisFuture<List<ScoredValue<String>>> rangeFuture = redis.zrevrangeWithScores(
+                    RedisKeys.rankingScores(metric), offset, (long) offset + limit - 1);
+            RedisFuture<Long> countFuture = redis.zcard(RedisKeys.rankingScores(metric));
+            List<ScoredValue<String>> range = rangeFuture.get(COMMAND_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            long count = countFuture.get(COMMAND_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+
+            List<RedisFuture<Double>> totals = new ArrayList<>(range.size());
+            List<RedisFuture<Double>> dailies = new ArrayList<>(range.size());
+            List<RedisFuture<Double>> weeklies = new ArrayList<>(range.size());
+            String[] members = new String[range.size()];
+            for (int i = 0; i < range.size(); i++) {
+                String member = range.get(i).getValue();
+                members[i] = member;
+                totals.add(redis.zscore(RedisKeys.rankingScores("total"), member));
+                dailies.add(redis.zscore(RedisKeys.rankingScores("daily"), member));
+                weeklies.add(redis.zscore(RedisKeys.rankingScores("weekly"), member));
+            }
+            RedisFuture<List<KeyValue<String, String>>> metaFuture = members.length > 0
+                    ? redis.hmget(RedisKeys.rankingIslands(), members)
+                    : null;
+            List<RedisFuture<?>> pending = new ArrayList<>();
+            pending.addAll(totals);
+            pending.addAll(dailies);
+            pending.addAll(weeklies);
+            if (metaFuture != null) {
+                pending.add(metaFuture);
+            }
+            await(pending);
+            List<KeyValue<String, String>> meta = metaFuture != null ? metaFuture.get() : List.of();
+
+            JsonArray array = new JsonArray();
+            for (int i = 0; i < members.length; i++) {
+                JsonObject obj = new JsonObject();
+                obj.addProperty("islandId", members[i]);
+                JsonObject islandMeta = i < meta.size() && meta.get(i).hasValue()
+                        ? RedisCodec.gson().fromJson(meta.get(i).getValue(), JsonObject.class)
+                        : new JsonObject();
+                obj.addProperty("islandName", islandMeta.has("name") ? islandMeta.get("name").getAsString() : "");
+                if (islandMeta.has("ownerUuid")) {
+                    obj.addProperty("ownerUuid", islandMeta.get("ownerUuid").getAsString());
+                }
+                obj.addProperty("ownerName", islandMeta.has("ownerName") ? islandMeta.get("ownerName").getAsString() : "");
+                obj.addProperty("points", toLong(totals.get(i).get()));
+                obj.addProperty("dailyPoints", toLong(dailies.get(i).get()));
+                obj.addProperty("weeklyPoints", toLong(weeklies.get(i).get()));
+                obj.addProperty("rank", offset + i + 1);
+                array.add(obj);
+            }
+            JsonObject root = new JsonObject();
+            root.add("islands", array);
+            root.addProperty("total", count);
+            return root;
+        } catch (Exception ex) {
+            markUnhealthy("read ranking page", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Reads the top contributors of an island, or {@code null} when the mirror cannot serve it.
+     */
+    JsonObject members(UUID islandUuid, int limit) {
+        if (!healthy) {
+            return null;
+        }
+        try {
+            RedisAsyncCommands<String, String> redis = redisManager.async();
+            List<ScoredValue<String>> range = redis.zrevrangeWithScores(
+                            RedisKeys.rankingMembers(islandUuid.toString()), 0, limit - 1L)
+                    .get(COMMAND_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            List<KeyValue<String, String>> names = List.of();
+            if (!range.isEmpty()) {
+                String[] players = new String[range.size()];
+                for (int i = 0; i < range.size(); i++) {
+                    players[i] = range.get(i).getValue();
+                }
+                names = redis.hmget(RedisKeys.rankingPlayers(), players)
+                        .get(COMMAND_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            JsonArray array = new JsonArray();
+            for (int i = 0; i < range.size(); i++) {
+                JsonObject obj = new JsonObject();
+                obj.addProperty("playerUuid", range.get(i).getValue());
+                obj.addProperty("playerName", i < names.size() && names.get(i).hasValue() ? names.get(i).getValue() : "");
+                obj.addProperty("points", (long) range.get(i).getScore());
+                array.add(obj);
+            }
+            JsonObject root = new JsonObject();
+            root.add("members", array);
+            return root;
+        } catch (Exception ex) {
+            markUnhealthy("read island members", ex);
+            return null;
+        }
+    }
+
+    static JsonObject describeMeta(String islandName, String ownerUuid, String ownerName) {
+        JsonObject json = new JsonObject();
+        json.addProperty("name", islandName != null ? islandName : "");
+        if (ownerUuid != null) {
+            json.addProperty("ownerUuid", ownerUuid);
+        }
+        json.addProperty("ownerName", ownerName != null ? ownerName : "");
+        return json;
+    }
+
+    private void await(List<RedisFuture<?>> futures) throws Exception {
+        if (futures.isEmpty()) {
+            return;
+        }
+        if (!LettuceFutures.awaitAll(COMMAND_TIMEOUT, futures.toArray(new RedisFuture[0]))) {
+            throw new IllegalStateException("Timed out waiting for Redis");
+        }
+    }
+
+    private long toLong(Double value) {
+        return value != null ? value.longValue() : 0L;
+    }
+
+    private void markUnhealthy(String action, Exception ex) {
+        if (healthy) {
+            // ex is null when nothing failed in Redis itself
+            logger.log(Level.WARNING, "Farm ranking Redis mirror failed to " + action + "; falling back to local data", ex);
+        }
+        healthy = false;
+    }
+}
@@ -12,12 +12,19 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import wiki.creeper.superiorskyblockIntegeration.common.quest.QuestType;
+import wiki.creeper.superiorskyblockIntegeration.config.PluginConfig;
 import wiki.creeper.superiorskyblockIntegeration.gateway.bridge.SuperiorSkyblockBridge;
 
 /**
@@ -29,25 +36,46 @@ public final class GatewayRankingService {
     private static final String TABLE_CONTRIBUTIONS = "ssb_farm_contributions";
     private static final String TABLE_HISTORY_PERIODS = "ssb_farm_history_periods";
     private static final String TABLE_HISTORY_ENTRIES = "ssb_farm_history_entries";
+    private static final String TABLE_MIRROR_LOCK = "ssb_farm_ranking_mirror_lock";
+    private static final long MIRROR_REBUILD_INTERVAL_MS = 30_000L;
 
     private final JavaPlugin plugin;
     private final GatewayDatabase database;
     private final SuperiorSkyblockBridge bridge;
     private final Logger logger;
     private final AtomicBoolean schemaReady = new AtomicBoolean(false);
+    private final Map<UUID, ScoreDelta> pendingScores = new ConcurrentHashMap<>();
+    private final Map<ContributionKey, Long> pendingContributions = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private final Object accumulatorLock = new Object();
+    private final FarmLeaderboard leaderboard = new FarmLeaderboard();
+    private final GatewayRankingMirror mirror;
+    private long lastMirrorRebuildAt;
     private BukkitTask schemaRetryTask;
+    private BukkitTask flushTask;
 
     public GatewayRankingService(JavaPlugin plugin,
                                  GatewayDatabase database,
                                  SuperiorSkyblockBridge bridge,
+                                 PluginConfig.RankingSettings settings,
+                                 GatewayRankingMirror mirror,
                                  Logger logger) {
         this.plugin = plugin;
         this.database = database;
         this.bridge = bridge;
+        this.mirror = mirror;
         this.logger = logger;
-        if (!initializeSchema()) {
+        if (initializeSchema()) {
+            warmLeaderboard();
+        } else {
             scheduleSchemaRetry();
         }
+        long flushIntervalMs = settings != null ? settings.flushIntervalMs() : 0L;
+        if (flushIntervalMs > 0L) {
+            long periodTicks = Math.max(1L, flushIntervalMs / 50L);
+            this.flushTask = plugin.getServer().getScheduler()
+                    .runTaskTimerAsynchronously(plugin, this::flush, periodTicks, periodTicks);
+        }
     }
 
     private boolean initializeSchema() {
@@ -101,6 +129,13 @@ public final class GatewayRankingService {
                             REFERENCES ssb_farm_history_periods(period_id) ON DELETE CASCADE
                     ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
                     """);
+            // single row: batches hold it shared while they mirror, a rebuild holds it exclusively
+            statement.executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS ssb_farm_ranking_mirror_lock (
+                        id TINYINT NOT NULL PRIMARY KEY
+                    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+                    """);
+            statement.executeUpdate("INSERT IGNORE INTO " + TABLE_MIRROR_LOCK + " (id) VALUES (1)");
             if (schemaReady.compareAndSet(false, true)) {
                 logger.info("Farm ranking database schema ready");
             }
@@ -117,7 +152,11 @@ public final class GatewayRankingService {
         cancelSchemaRetry();
         BukkitScheduler scheduler = plugin.getServer().getScheduler();
         long retryTicks = 20L * 30; // retry every 30 seconds
-        schemaRetryTask = scheduler.runTaskTimerAsynchronously(plugin, () -> initializeSchema(), retryTicks, retryTicks);
+        schemaRetryTask = scheduler.runTaskTimerAsynchronously(plugin, () -> {
+            if (initializeSchema() && !leaderboard.warmed()) {
+                warmLeaderboard();
+            }
+        }, retryTicks, retryTicks);
     }
 
     private void cancelSchemaRetry() {
@@ -153,6 +192,10 @@ public final class GatewayRankingService {
         incrementScores(islandUuid, null, totalIncrement, dailyIncrement, weeklyIncrement);
     }
 
+    /**
+     * Adds the given deltas to the in-memory accumulator. Deltas are persisted by {@link #flush()}, which runs on a
+     * timer, or immediately when no flush interval is configured.
+     */
     public void incrementScores(UUID islandUuid,
                                 UUID contributorUuid,
                                 long totalIncrement,
@@ -165,8 +208,6 @@ public final class GatewayRankingService {
             return;
         }
 
-        ensureSchemaReady();
-
         long effectiveTotal = totalIncrement;
         if (effectiveTotal <= 0) {
             long sum = dailyIncrement + weeklyIncrement;
@@ -178,58 +219,137 @@ public final class GatewayRankingService {
             return;
         }
 
-        SuperiorSkyblockBridge.IslandDetails details = bridge.describeIsland(islandUuid);
-        String islandName = details != null && details.name() != null ? details.name() : "";
-        String ownerUuid = details != null && details.ownerUuid() != null ? details.ownerUuid().toString() : null;
-        String ownerName = details != null && details.ownerName() != null ? details.ownerName() : "";
+        long daily = Math.max(0L, dailyIncrement);
+        long weekly = Math.max(0L, weeklyIncrement);
+        synchronized (accumulatorLock) {
+            pendingScores.merge(islandUuid, new ScoreDelta(effectiveTotal, daily, weekly), ScoreDelta::plus);
+            if (contributorUuid != null) {
+                pendingContributions.merge(new ContributionKey(islandUuid, contributorUuid), effectiveTotal, Long::sum);
+            }
+            if (leaderboard.warmed()) {
+                leaderboard.add(islandUuid, effectiveTotal, daily, weekly);
+            }
+        }
+        if (flushTask == null) {
+            flush();
+        }
+    }
 
-        String contributorName = "";
-        if (contributorUuid != null) {
-            contributorName = bridge.lookupPlayerName(contributorUuid.toString()).orElse("");
+    /**
+     * Persists all accumulated deltas as two multi-row upserts in one transaction. Island and player names are
+     * resolved once per flush. On failure the drained deltas are merged back so they are retried next time.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            if (pendingScores.isEmpty() && pendingContributions.isEmpty()) {
+                if (mirror != null && !mirror.healthy() && leaderboard.warmed()
+                        && System.currentTimeMillis() - lastMirrorRebuildAt >= MIRROR_REBUILD_INTERVAL_MS) {
+                    rebuildMirror();
+                }
+                return;
+            }
+            ensureSchemaReady();
+            Map<UUID, ScoreDelta> scores;
+            Map<ContributionKey, Long> contributions;
+            synchronized (accumulatorLock) {
+                scores = new HashMap<>(pendingScores);
+                contributions = new HashMap<>(pendingContributions);
+                pendingScores.clear();
+                pendingContributions.clear();
+            }
+            if (!writeDeltas(scores, contributions)) {
+                synchronized (accumulatorLock) {
+                    scores.forEach((islandUuid, delta) -> pendingScores.merge(islandUuid, delta, ScoreDelta::plus));
+                    contributions.forEach((key, delta) -> pendingContributions.merge(key, delta, Long::sum));
+                }
+            } else if (mirror != null && !mirror.healthy()
+                    && System.currentTimeMillis() - lastMirrorRebuildAt >= MIRROR_REBUILD_INTERVAL_MS) {
+                rebuildMirror();
+            }
         }
+    }
 
+    private boolean writeDeltas(Map<UUID, ScoreDelta> scores, Map<ContributionKey, Long> contributions) {
+        Map<UUID, String> playerNames = new HashMap<>();
+        Map<UUID, JsonObject> islandMeta = new HashMap<>();
+        for (ContributionKey key : contributions.keySet()) {
+            playerNames.computeIfAbsent(key.playerUuid(),
+                    uuid -> bridge.lookupPlayerName(uuid.toString()).orElse(""));
+        }
+
+        boolean mirrored = mirror != null && mirror.healthy();
         try (Connection connection = database.getConnection()) {
             try {
                 connection.setAutoCommit(false);
+                if (mirrored) {
+                    lockMirror(connection, false);
+                }
 
-                try (PreparedStatement ranking = connection.prepareStatement(
-                        "INSERT INTO " + TABLE_RANKING + " (island_id, island_name, owner_uuid, owner_name, total_points, daily_points, weekly_points) " +
-                                "VALUES (?, ?, ?, ?, ?, ?, ?) " +
-                                "ON DUPLICATE KEY UPDATE island_name = VALUES(island_name), owner_uuid = VALUES(owner_uuid), owner_name = VALUES(owner_name), " +
-                                "total_points = total_points + ?, daily_points = daily_points + ?, weekly_points = weekly_points + ?, updated_at = CURRENT_TIMESTAMP"
-                )) {
-                    ranking.setString(1, islandUuid.toString());
-                    ranking.setString(2, islandName);
-                    if (ownerUuid != null) {
-                        ranking.setString(3, ownerUuid);
-                    } else {
-                        ranking.setNull(3, java.sql.Types.VARCHAR);
+                if (!scores.isEmpty()) {
+                    try (PreparedStatement ranking = connection.prepareStatement(
+                            "INSERT INTO " + TABLE_RANKING + " (island_id, island_name, owner_uuid, owner_name, total_points, daily_points, weekly_points) " +
+                                    "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+                                    "ON DUPLICATE KEY UPDATE island_name = VALUES(island_name), owner_uuid = VALUES(owner_uuid), owner_name = VALUES(owner_name), " +
+                                    "total_points = total_points + VALUES(total_points), daily_points = daily_points + VALUES(daily_points), " +
+                                    "weekly_points = weekly_points + VALUES(weekly_points), updated_at = CURRENT_TIMESTAMP"
+                    )) {
+                        for (Map.Entry<UUID, ScoreDelta> entry : scores.entrySet()) {
+                            SuperiorSkyblockBridge.IslandDetails details = bridge.describeIsland(entry.getKey());
+                            if (details != null) {
+                                String ownerUuid = details.ownerUuid() != null ? details.ownerUuid().toString() : null;
+                                leaderboard.updateNames(entry.getKey(), details.name(), ownerUuid, details.ownerName());
+                                islandMeta.put(entry.getKey(),
+                                        GatewayRankingMirror.describeMeta(details.name(), ownerUuid, details.ownerName()));
+                            }
+                            ScoreDelta delta = entry.getValue();
+                            ranking.setString(1, entry.getKey().toString());
+                            ranking.setString(2, details != null && details.name() != null ? details.name() : "");
+                            if (details != null && details.ownerUuid() != null) {
+                                ranking.setString(3, details.ownerUuid().toString());
+                            } else {
+                                ranking.setNull(3, java.sql.Types.VARCHAR);
+                            }
+                            ranking.setString(4, details != null && details.ownerName() != null ? details.ownerName() : "");
+                            ranking.setLong(5, delta.total());
+                            ranking.setLong(6, delta.daily());
+                            ranking.setLong(7, delta.weekly());
+                            ranking.addBatch();
+                        }
+                        ranking.executeBatch();
                     }
-                    ranking.setString(4, ownerName);
-                    ranking.setLong(5, effectiveTotal);
-                    ranking.setLong(6, dailyIncrement);
-                    ranking.setLong(7, weeklyIncrement);
-                    ranking.setLong(8, effectiveTotal);
-                    ranking.setLong(9, dailyIncrement);
-                    ranking.setLong(10, weeklyIncrement);
-                    ranking.executeUpdate();
                 }
 
-                if (contributorUuid != null) {
+                if (!contributions.isEmpty()) {
                     try (PreparedStatement contribution = connection.prepareStatement(
                             "INSERT INTO " + TABLE_CONTRIBUTIONS + " (island_id, player_uuid, player_name, contribution) " +
                                     "VALUES (?, ?, ?, ?) " +
                                     "ON DUPLICATE KEY UPDATE player_name = VALUES(player_name), contribution = contribution + VALUES(contribution), updated_at = CURRENT_TIMESTAMP"
                     )) {
-                        contribution.setString(1, islandUuid.toString());
-                        contribution.setString(2, contributorUuid.toString());
-                        contribution.setString(3, contributorName);
-                        contribution.setLong(4, effectiveTotal);
-                        contribution.executeUpdate();
+                        for (Map.Entry<ContributionKey, Long> entry : contributions.entrySet()) {
+                            ContributionKey key = entry.getKey();
+                            contribution.setString(1, key.islandUuid().toString());
+                            contribution.setString(2, key.playerUuid().toString());
+                            contribution.setString(3, playerNames.getOrDefault(key.playerUuid(), ""));
+                            contribution.setLong(4, entry.getValue());
+                            contribution.addBatch();
+                        }
+                        contribution.executeBatch();
                     }
                 }
 
-                connection.commit();
+                if (mirrored) {
+                    // applied before the commit, while the shared lock keeps a rebuild from reading in between
+                    mirror.applyDeltas(scores, contributions, islandMeta, playerNames);
+                }
+                try {
+                    connection.commit();
+                } catch (SQLException ex) {
+                    if (mirrored) {
+                        mirror.invalidate("commit ranking deltas");
+                    }
+                    throw ex;
+                }
+                return true;
             } catch (SQLException ex) {
                 try {
                     connection.rollback();
@@ -246,32 +366,62 @@ public final class GatewayRankingService {
             }
         } catch (SQLException ex) {
             logger.log(Level.SEVERE, "Failed to record farm ranking progress", ex);
+            return false;
         }
     }
 
     public JsonObject topIslands(int limit) {
+        return topIslands(null, 0, limit);
+    }
+
+    /**
+     * Returns a page of the farm ranking ordered by the given metric ({@code total}, {@code daily} or
+     * {@code weekly}). Served from the in-memory leaderboard once it is warm, otherwise from SQL.
+     */
+    public JsonObject topIslands(String metricName, int offset, int limit) {
+        FarmLeaderboard.Metric metric = FarmLeaderboard.Metric.byName(metricName);
+        int safeOffset = Math.max(0, offset);
+        int safeLimit = Math.max(1, limit);
+        if (mirror != null) {
+            JsonObject mirrored = mirror.top(metric.name().toLowerCase(Locale.ROOT), safeOffset, safeLimit);
+            if (mirrored != null) {
+                return mirrored;
+            }
+        }
+        if (leaderboard.warmed()) {
+            JsonArray array = new JsonArray();
+            int rank = safeOffset;
+            for (FarmLeaderboard.Standing standing : leaderboard.page(metric, safeOffset, safeLimit)) {
+                JsonObject obj = describeStanding(standing);
+                obj.addProperty("rank", ++rank);
+                array.add(obj);
+            }
+            JsonObject root = new JsonObject();
+            root.add("islands", array);
+            root.addProperty("total", leaderboard.size());
+            return root;
+        }
+
         ensureSchemaReady();
 
         JsonArray array = new JsonArray();
+        String orderColumn = switch (metric) {
+            case TOTAL -> "total_points";
+            case DAILY -> "daily_points";
+            case WEEKLY -> "weekly_points";
+        };
         String sql = "SELECT island_id, island_name, owner_uuid, owner_name, total_points, daily_points, weekly_points " +
-                "FROM " + TABLE_RANKING + " ORDER BY total_points DESC LIMIT ?";
+                "FROM " + TABLE_RANKING + " ORDER BY " + orderColumn + " DESC LIMIT ? OFFSET ?";
 
         try (Connection connection = database.getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setInt(1, Math.max(1, limit));
+            statement.setInt(1, safeLimit);
+            statement.setInt(2, safeOffset);
             try (ResultSet rs = statement.executeQuery()) {
+                int rank = safeOffset;
                 while (rs.next()) {
-                    JsonObject obj = new JsonObject();
-                    obj.addProperty("islandId", rs.getString("island_id"));
-                    obj.addProperty("islandName", rs.getString("island_name"));
-                    String ownerUuid = rs.getString("owner_uuid");
-                    if (ownerUuid != null) {
-                        obj.addProperty("ownerUuid", ownerUuid);
-                    }
-                    obj.addProperty("ownerName", rs.getString("owner_name"));
-                    obj.addProperty("points", rs.getLong("total_points"));
-                    obj.addProperty("dailyPoints", rs.getLong("daily_points"));
-                    obj.addProperty("weeklyPoints", rs.getLong("weekly_points"));
+                    JsonObject obj = describeStanding(readStanding(rs));
+                    obj.addProperty("rank", ++rank);
                     array.add(obj);
                 }
             }
@@ -284,12 +434,155 @@ public final class GatewayRankingService {
         return root;
     }
 
+    private void warmLeaderboard() {
+        synchronized (flushLock) {
+            List<FarmLeaderboard.Standing> rows = new ArrayList<>();
+            String sql = "SELECT island_id, island_name, owner_uuid, owner_name, total_points, daily_points, weekly_points FROM " + TABLE_RANKING;
+            try (Connection connection = database.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(sql);
+                 ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    FarmLeaderboard.Standing standing = readStanding(rs);
+                    if (standing != null) {
+                        rows.add(standing);
+                    }
+                }
+            } catch (SQLException ex) {
+                logger.log(Level.WARNING, "Failed to warm farm leaderboard; falling back to SQL reads", ex);
+                return;
+            }
+            synchronized (accumulatorLock) {
+                leaderboard.load(rows);
+                pendingScores.forEach((islandUuid, delta) ->
+                        leaderboard.add(islandUuid, delta.total(), delta.daily(), delta.weekly()));
+            }
+            logger.info("Farm leaderboard warmed with " + rows.size() + " island(s)");
+            if (mirror != null) {
+                rebuildMirror();
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the Redis mirror from the durable tables. Only one gateway rebuilds at a time, and the rebuild holds
+     * the mirror lock row exclusively from before the SQL read until the new sorted sets are in place. Batches of
+     * every gateway apply their increments while holding the row shared, so each batch is either part of the read
+     * or applied after the rename, never lost or counted twice. Callers hold {@link #flushLock}.
+     */
+    private void rebuildMirror() {
+        lastMirrorRebuildAt = System.currentTimeMillis();
+        String rebuildToken = mirror.tryLockRebuild();
+        if (rebuildToken == null) {
+            logger.fine("Farm ranking Redis mirror is being rebuilt elsewhere; retrying later");
+            return;
+        }
+        try (Connection connection = database.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                lockMirror(connection, true);
+                rebuildMirrorFrom(connection);
+                connection.commit();
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException ex) {
+            logger.log(Level.WARNING, "Failed to read farm ranking tables for the Redis mirror", ex);
+        } finally {
+            mirror.unlockRebuild(rebuildToken);
+        }
+    }
+
+    private void rebuildMirrorFrom(Connection connection) throws SQLException {
+        List<FarmLeaderboard.Standing> islands = new ArrayList<>();
+        Map<UUID, Map<UUID, Long>> members = new HashMap<>();
+        Map<UUID, String> playerNames = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT island_id, island_name, owner_uuid, owner_name, total_points, daily_points, weekly_points FROM " + TABLE_RANKING);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                FarmLeaderboard.Standing standing = readStanding(rs);
+                if (standing != null) {
+                    islands.add(standing);
+                }
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT island_id, player_uuid, player_name, contribution FROM " + TABLE_CONTRIBUTIONS);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                try {
+                    UUID islandUuid = UUID.fromString(rs.getString("island_id"));
+                    UUID playerUuid = UUID.fromString(rs.getString("player_uuid"));
+                    members.computeIfAbsent(islandUuid, unused -> new HashMap<>())
+                            .put(playerUuid, rs.getLong("contribution"));
+                    playerNames.put(playerUuid, rs.getString("player_name"));
+                } catch (IllegalArgumentException | NullPointerException ignored) {
+                    // skip malformed rows
+                }
+            }
+        }
+        mirror.rebuild(islands, members, playerNames);
+    }
+
+    private void lockMirror(Connection connection, boolean exclusive) throws SQLException {
+        String sql = "SELECT id FROM " + TABLE_MIRROR_LOCK + " WHERE id = 1 " + (exclusive ? "FOR UPDATE" : "LOCK IN SHARE MODE");
+        try (PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet ignored = statement.executeQuery()) {
+            // the lock lasts until the transaction ends
+        }
+    }
+
+    private FarmLeaderboard.Standing readStanding(ResultSet rs) throws SQLException {
+        UUID islandId;
+        try {
+            islandId = UUID.fromString(rs.getString("island_id"));
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            return null;
+        }
+        return new FarmLeaderboard.Standing(islandId,
+                rs.getString("island_name"),
+                rs.getString("owner_uuid"),
+                rs.getString("owner_name"),
+                rs.getLong("total_points"),
+                rs.getLong("daily_points"),
+                rs.getLong("weekly_points"));
+    }
+
+    private JsonObject describeStanding(FarmLeaderboard.Standing standing) {
+        JsonObject obj = new JsonObject();
+        obj.addProperty("islandId", standing.islandId().toString());
+        obj.addProperty("islandName", standing.islandName() != null ? standing.islandName() : "");
+        if (standing.ownerUuid() != null) {
+            obj.addProperty("ownerUuid", standing.ownerUuid());
+        }
+        obj.addProperty("ownerName", standing.ownerName() != null ? standing.ownerName() : "");
+        obj.addProperty("points", standing.total());
+        obj.addProperty("dailyPoints", standing.daily());
+        obj.addProperty("weeklyPoints", standing.weekly());
+        return obj;
+    }
+
     public JsonObject islandPoints(UUID islandUuid) {
         ensureSchemaReady();
 
         JsonObject data = new JsonObject();
         data.addProperty("islandId", islandUuid.toString());
 
+        if (leaderboard.warmed()) {
+            FarmLeaderboard.Standing standing = leaderboard.standing(islandUuid).orElse(null);
+            data.addProperty("totalPoints", standing != null ? standing.total() : 0L);
+            data.addProperty("dailyPoints", standing != null ? standing.daily() : 0L);
+            data.addProperty("weeklyPoints", standing != null ? standing.weekly() : 0L);
+            leaderboard.rank(FarmLeaderboard.Metric.TOTAL, islandUuid).ifPresent(rank -> data.addProperty("rank", rank));
+            leaderboard.rank(FarmLeaderboard.Metric.DAILY, islandUuid).ifPresent(rank -> data.addProperty("dailyRank", rank));
+            leaderboard.rank(FarmLeaderboard.Metric.WEEKLY, islandUuid).ifPresent(rank -> data.addProperty("weeklyRank", rank));
+            appendIslandDetails(data, islandUuid);
+            return data;
+        }
+
         long totalPoints = 0L;
         long dailyPoints = 0L;
         long weeklyPoints = 0L;
@@ -313,6 +606,19 @@ public final class GatewayRankingService {
             logger.log(Level.WARNING, "Failed to load farm points for island " + islandUuid, ex);
         }
 
+        appendIslandDetails(data, islandUuid);
+
+        data.addProperty("totalPoints", totalPoints);
+        data.addProperty("dailyPoints", dailyPoints);
+        data.addProperty("weeklyPoints", weeklyPoints);
+        if (updatedAt != null) {
+            data.addProperty("updatedAt", updatedAt.getTime());
+        }
+
+        return data;
+    }
+
+    private void appendIslandDetails(JsonObject data, UUID islandUuid) {
         SuperiorSkyblockBridge.IslandDetails details = bridge.describeIsland(islandUuid);
         if (details != null) {
             data.addProperty("islandName", details.name());
@@ -323,18 +629,15 @@ public final class GatewayRankingService {
                 data.addProperty("ownerName", details.ownerName());
             }
         }
-
-        data.addProperty("totalPoints", totalPoints);
-        data.addProperty("dailyPoints", dailyPoints);
-        data.addProperty("weeklyPoints", weeklyPoints);
-        if (updatedAt != null) {
-            data.addProperty("updatedAt", updatedAt.getTime());
-        }
-
-        return data;
     }
 
     public JsonObject islandMembers(UUID islandUuid, int limit) {
+        if (mirror != null) {
+            JsonObject mirrored = mirror.members(islandUuid, Math.max(1, limit));
+            if (mirrored != null) {
+                return mirrored;
+            }
+        }
         ensureSchemaReady();
 
         JsonArray array = new JsonArray();
@@ -365,6 +668,7 @@ public final class GatewayRankingService {
 
     public void snapshot(String periodId, String displayName, int limit) {
         ensureSchemaReady();
+        flush();
 
         JsonObject top = topIslands(limit);
         JsonArray islands = top.has("islands") ? top.getAsJsonArray("islands") : new JsonArray();
@@ -507,5 +811,20 @@ public final class GatewayRankingService {
 
     public void shutdown() {
         cancelSchemaRetry();
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        flush();
+    }
+
+    record ScoreDelta(long total, long daily, long weekly) {
+
+        ScoreDelta plus(ScoreDelta other) {
+            return new ScoreDelta(total + other.total, daily + other.daily, weekly + other.weekly);
+        }
+    }
+
+    record ContributionKey(UUID islandUuid, UUID playerUuid) {
     }
 }
@@ -0,0 +1,77 @@
+package wiki.creeper.superiorskyblockIntegeration.gateway.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Case-folded name to uuid index of the player profile table, warmed from the table and kept current by this
+ * gateway's profile writes. Names are held in sorted order, so a prefix query is a range scan of the matching
+ * names only.
+ *
+ * <p>Profiles written by other gateways are not seen until they are first looked up here, so the index answers
+ * which uuid a name belonged to when last seen; callers confirm it against the table.</p>
+ */
+final class ProfileNameIndex {
+
+    private final ConcurrentSkipListMap<String, Entry> byName = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, String> nameByUuid = new ConcurrentHashMap<>();
+
+    static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    synchronized void put(String uuid, String name) {
+        if (uuid == null || name == null || name.isBlank()) {
+            return;
+        }
+        String key = normalize(name);
+        String previous = nameByUuid.put(uuid, key);
+        if (previous != null && !previous.equals(key)) {
+            byName.remove(previous);
+        }
+        Entry displaced = byName.put(key, new Entry(uuid, name));
+        if (displaced != null && !displaced.uuid().equals(uuid)) {
+            nameByUuid.remove(displaced.uuid(), key);
+        }
+    }
+
+    synchronized void remove(String uuid, String normalizedName) {
+        Entry entry = byName.get(normalizedName);
+        if (entry != null && entry.uuid().equals(uuid)) {
+            byName.remove(normalizedName);
+            nameByUuid.remove(uuid, normalizedName);
+        }
+    }
+
+    Optional<String> uuidOf(String normalizedName) {
+        Entry entry = byName.get(normalizedName);
+        return entry != null ? Optional.of(entry.uuid()) : Optional.empty();
+    }
+
+    /**
+     * Names starting with {@code prefix}, ignoring case, in alphabetical order.
+     */
+    List<String> namesStartingWith(String prefix, int limit) {
+        String from = prefix == null ? "" : normalize(prefix);
+        List<String> names = new ArrayList<>(Math.min(Math.max(limit, 0), 64));
+        for (Map.Entry<String, Entry> candidate : byName.tailMap(from).entrySet()) {
+            if (names.size() >= limit || !candidate.getKey().startsWith(from)) {
+                break;
+            }
+            names.add(candidate.getValue().name());
+        }
+        return names;
+    }
+
+    int size() {
+        return byName.size();
+    }
+
+    private record Entry(String uuid, String name) {
+    }
+}
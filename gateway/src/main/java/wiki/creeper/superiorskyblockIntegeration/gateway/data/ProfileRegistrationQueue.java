@@ -0,0 +1,202 @@
+package wiki.creeper.superiorskyblockIntegeration.gateway.data;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import wiki.creeper.superiorskyblockIntegeration.common.model.PlayerProfile;
+import wiki.creeper.superiorskyblockIntegeration.config.PluginConfig;
+
+/**
+ * Write-behind queue for {@code player.profile.register}, which every login sends.
+ *
+ * <p>Registrations are keyed by uuid, so a player who joins several servers before the next flush is written
+ * once with the latest values. A registration whose name and {@code lastSeen}, rounded to
+ * {@code lastSeenGranularityMs}, match what this gateway last wrote is dropped. A periodic asynchronous task writes
+ * the queue with batched multi-row upserts; a failed batch is re-queued unless a newer registration replaced it.
+ * Lookups see queued registrations. A flush interval of {@code 0} disables buffering and writes through.</p>
+ */
+public final class ProfileRegistrationQueue {
+
+    private static final Duration LAST_WRITTEN_TTL = Duration.ofMinutes(30);
+
+    private final GatewayDataService dataService;
+    private final Logger logger;
+    private final int maxBatchSize;
+    private final long granularityMs;
+    private final Cache<String, Written> lastWritten;
+    private final Object lock = new Object();
+    private final Object flushMonitor = new Object();
+    private final Map<String, PlayerProfile> queued = new LinkedHashMap<>();
+    private final Map<String, String> queuedNames = new LinkedHashMap<>();
+    private final AtomicLong flushedProfiles = new AtomicLong();
+    private final AtomicLong skippedRegistrations = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private final AtomicLong lastFlushMs = new AtomicLong();
+    private final AtomicLong maxFlushMs = new AtomicLong();
+    private BukkitTask flushTask;
+
+    public ProfileRegistrationQueue(JavaPlugin plugin,
+                                    GatewayDataService dataService,
+                                    PluginConfig.ProfileRegistrationSettings settings) {
+        this.dataService = Objects.requireNonNull(dataService, "dataService");
+        this.logger = plugin.getLogger();
+        this.maxBatchSize = Math.max(1, settings.maxBatchSize());
+        this.granularityMs = Math.max(1L, settings.lastSeenGranularityMs());
+        this.lastWritten = Caffeine.newBuilder()
+                .maximumSize(50_000L)
+                .expireAfterWrite(LAST_WRITTEN_TTL)
+                .build();
+        if (settings.flushIntervalMs() > 0L) {
+            long periodTicks = Math.max(1L, settings.flushIntervalMs() / 50L);
+            this.flushTask = plugin.getServer().getScheduler()
+                    .runTaskTimerAsynchronously(plugin, this::flush, periodTicks, periodTicks);
+        }
+    }
+
+    public void register(PlayerProfile profile) {
+        Written written = new Written(profile.name(), profile.lastSeen() / granularityMs);
+        if (written.equals(lastWritten.getIfPresent(profile.uuid()))) {
+            skippedRegistrations.incrementAndGet();
+            return;
+        }
+        if (flushTask == null) {
+            dataService.setPlayerProfile(profile);
+            lastWritten.put(profile.uuid(), written);
+            return;
+        }
+        synchronized (lock) {
+            enqueue(profile);
+        }
+    }
+
+    public Optional<PlayerProfile> findByUuid(String uuid) {
+        synchronized (lock) {
+            PlayerProfile queuedProfile = queued.get(uuid);
+            if (queuedProfile != null) {
+                return Optional.of(queuedProfile);
+            }
+        }
+        return dataService.findProfileByUuid(uuid);
+    }
+
+    public Optional<PlayerProfile> findByName(String name) {
+        if (name != null && !name.isBlank()) {
+            synchronized (lock) {
+                String uuid = queuedNames.get(ProfileNameIndex.normalize(name));
+                if (uuid != null) {
+                    return Optional.of(queued.get(uuid));
+                }
+            }
+        }
+        return dataService.findProfileByName(name);
+    }
+
+    /**
+     * Writes every queued registration.
+     */
+    public void flush() {
+        synchronized (flushMonitor) {
+            List<PlayerProfile> pending;
+            synchronized (lock) {
+                if (queued.isEmpty()) {
+                    return;
+                }
+                pending = new ArrayList<>(queued.values());
+            }
+            long started = System.nanoTime();
+            int written = 0;
+            for (int from = 0; from < pending.size(); from += maxBatchSize) {
+                List<PlayerProfile> chunk = pending.subList(from, Math.min(pending.size(), from + maxBatchSize));
+                boolean saved = dataService.savePlayerProfilesBatch(chunk);
+                synchronized (lock) {
+                    for (PlayerProfile profile : chunk) {
+                        // a registration queued during the write stays queued
+                        if (queued.get(profile.uuid()) != profile) {
+                            continue;
+                        }
+                        if (saved) {
+                            dequeue(profile);
+                            lastWritten.put(profile.uuid(), new Written(profile.name(), profile.lastSeen() / granularityMs));
+                        }
+                    }
+                }
+                if (saved) {
+                    written += chunk.size();
+                } else {
+                    failedFlushes.incrementAndGet();
+                }
+            }
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000L;
+            flushedProfiles.addAndGet(written);
+            lastFlushMs.set(elapsedMs);
+            maxFlushMs.accumulateAndGet(elapsedMs, Math::max);
+            logger.log(Level.FINE, "Flushed {0} of {1} profile registration(s) in {2}ms",
+                    new Object[]{written, pending.size(), elapsedMs});
+        }
+    }
+
+    public Metrics metrics() {
+        int depth;
+        synchronized (lock) {
+            depth = queued.size();
+        }
+        return new Metrics(depth,
+                flushedProfiles.get(),
+                skippedRegistrations.get(),
+                failedFlushes.get(),
+                lastFlushMs.get(),
+                maxFlushMs.get());
+    }
+
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        flush();
+        Metrics metrics = metrics();
+        if (metrics.queueDepth() > 0) {
+            logger.warning("Profile registration queue shut down with " + metrics.queueDepth() + " unsaved profile(s)");
+        }
+    }
+
+    private void enqueue(PlayerProfile profile) {
+        PlayerProfile previous = queued.put(profile.uuid(), profile);
+        if (previous != null) {
+            queuedNames.remove(ProfileNameIndex.normalize(previous.name()), previous.uuid());
+        }
+        queuedNames.put(ProfileNameIndex.normalize(profile.name()), profile.uuid());
+    }
+
+    private void dequeue(PlayerProfile profile) {
+        queued.remove(profile.uuid());
+        queuedNames.remove(ProfileNameIndex.normalize(profile.name()), profile.uuid());
+    }
+
+    /**
+     * @param lastFlushMs time the most recent flush took to write the whole queue
+     */
+    public record Metrics(int queueDepth,
+                          long flushedProfiles,
+                          long skippedRegistrations,
+                          long failedFlushes,
+                          long lastFlushMs,
+                          long maxFlushMs) {
+    }
+
+    private record Written(String name, long lastSeenBucket) {
+    }
+}
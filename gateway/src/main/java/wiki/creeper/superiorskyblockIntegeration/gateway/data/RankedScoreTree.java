@@ -0,0 +1,166 @@
+package wiki.creeper.superiorskyblockIntegeration.gateway.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Order-statistic treap of island scores sorted by score descending, then island id. Insert, remove, rank and
+ * positional lookups are O(log n) expected. Not thread-safe; callers guard access.
+ */
+final class RankedScoreTree {
+
+    private Node root;
+
+    int size() {
+        return size(root);
+    }
+
+    void clear() {
+        root = null;
+    }
+
+    void insert(UUID islandId, long score) {
+        Node node = new Node(islandId, score, ThreadLocalRandom.current().nextInt());
+        Node[] parts = split(root, islandId, score);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    void remove(UUID islandId, long score) {
+        root = remove(root, islandId, score);
+    }
+
+    /**
+     * Zero-based position of the entry, i.e. the number of entries ranked strictly above it.
+     */
+    int rankOf(UUID islandId, long score) {
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(islandId, score, node.islandId, node.score);
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left);
+                if (cmp == 0) {
+                    return rank;
+                }
+                rank += 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Island ids at positions {@code [offset, offset + limit)} in ranking order.
+     */
+    List<UUID> range(int offset, int limit) {
+        int from = Math.max(0, offset);
+        int to = Math.min(size(), from + Math.max(0, limit));
+        List<UUID> result = new ArrayList<>(Math.max(0, to - from));
+        for (int index = from; index < to; index++) {
+            result.add(select(index));
+        }
+        return result;
+    }
+
+    private UUID select(int index) {
+        Node node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.islandId;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    private Node remove(Node node, UUID islandId, long score) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(islandId, score, node.islandId, node.score);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, islandId, score);
+        } else {
+            node.right = remove(node.right, islandId, score);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Splits into entries ranked before the key and entries ranked at or after it.
+     */
+    private Node[] split(Node node, UUID islandId, long score) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (compare(node.islandId, node.score, islandId, score) < 0) {
+            Node[] parts = split(node.right, islandId, score);
+            node.right = parts[0];
+            node.update();
+            return new Node[]{node, parts[1]};
+        }
+        Node[] parts = split(node.left, islandId, score);
+        node.left = parts[1];
+        node.update();
+        return new Node[]{parts[0], node};
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static int compare(UUID leftId, long leftScore, UUID rightId, long rightScore) {
+        int cmp = Long.compare(rightScore, leftScore);
+        return cmp != 0 ? cmp : leftId.compareTo(rightId);
+    }
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static final class Node {
+
+        private final UUID islandId;
+        private final long score;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        private Node(UUID islandId, long score, int priority) {
+            this.islandId = islandId;
+            this.score = score;
+            this.priority = priority;
+        }
+
+        private void update() {
+            size = 1 + RankedScoreTree.size(left) + RankedScoreTree.size(right);
+        }
+    }
+}
@@ -3,12 +3,17 @@ package wiki.creeper.superiorskyblockIntegeration.gateway.data;
 import com.google.gson.JsonObject;
 
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Types;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.logging.Level;
@@ -20,6 +25,9 @@ import wiki.creeper.superiorskyblockIntegeration.redis.RedisCodec;
 
 /**
  * SQL-backed implementation of {@link GatewayDataService} using the shared gateway database.
+ *
+ * <p>Profile names are matched through the case-folded {@code name_normalized} column and a
+ * {@link ProfileNameIndex} warmed from it, so name lookups never scan the profile table.</p>
  */
 public final class SqlGatewayDataService implements GatewayDataService {
 
@@ -29,25 +37,35 @@ public final class SqlGatewayDataService implements GatewayDataService {
 
     private final GatewayDatabase database;
     private final Logger logger;
+    private final ProfileNameIndex profileNames = new ProfileNameIndex();
 
     public SqlGatewayDataService(GatewayDatabase database, Logger logger) {
         this.database = Objects.requireNonNull(database, "database");
         this.logger = Objects.requireNonNull(logger, "logger");
         initializeSchema();
+        warmProfileNames();
         cleanupExpiredData();
     }
 
     @Override
     public void setData(String namespace, String key, String value, Duration ttl) {
+        writeData(namespace, key, value, computeExpiry(ttl));
+    }
+
+    /**
+     * Stores or, when {@code value} is {@code null}, deletes an entry.
+     *
+     * @param expiresAt epoch millis, or {@code null} to keep the entry until it is overwritten
+     * @return {@code true} when the statement succeeded
+     */
+    boolean writeData(String namespace, String key, String value, Long expiresAt) {
         if (namespace == null || namespace.isBlank() || key == null || key.isBlank()) {
-            return;
+            return false;
         }
         if (value == null) {
-            deleteData(namespace, key);
-            return;
+            return removeData(namespace, key);
         }
 
-        Long expiresAt = computeExpiry(ttl);
         String sql = "INSERT INTO " + TABLE_DATA + " (namespace, data_key, value, expires_at) " +
                 "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE value = VALUES(value), expires_at = VALUES(expires_at), updated_at = CURRENT_TIMESTAMP";
         try (Connection connection = database.getConnection();
@@ -61,9 +79,11 @@ public final class SqlGatewayDataService implements GatewayDataService {
                 statement.setNull(4, Types.BIGINT);
             }
             statement.executeUpdate();
+            return true;
         } catch (SQLException ex) {
             logger.log(Level.WARNING, "Failed to store data entry {0}:{1}", new Object[]{namespace, key});
             logger.log(Level.FINE, "SQL error", ex);
+            return false;
         }
     }
 
@@ -72,6 +92,19 @@ public final class SqlGatewayDataService implements GatewayDataService {
         if (namespace == null || namespace.isBlank() || key == null || key.isBlank()) {
             return Optional.empty();
         }
+        try {
+            return readData(namespace, key).map(DataEntry::value);
+        } catch (SQLException ex) {
+            logger.log(Level.WARNING, "Failed to read data entry {0}:{1}", new Object[]{namespace, key});
+            logger.log(Level.FINE, "SQL error", ex);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Reads an entry together with its expiry, deleting it instead when it has already expired.
+     */
+    Optional<DataEntry> readData(String namespace, String key) throws SQLException {
         String sql = "SELECT value, expires_at FROM " + TABLE_DATA + " WHERE namespace = ? AND data_key = ?";
         long now = System.currentTimeMillis();
         try (Connection connection = database.getConnection();
@@ -83,17 +116,14 @@ public final class SqlGatewayDataService implements GatewayDataService {
                     return Optional.empty();
                 }
                 long expiresAt = result.getLong("expires_at");
-                boolean hasExpiry = !result.wasNull();
-                if (hasExpiry && expiresAt > 0 && expiresAt <= now) {
+                boolean hasExpiry = !result.wasNull() && expiresAt > 0;
+                if (hasExpiry && expiresAt <= now) {
                     deleteData(namespace, key);
                     return Optional.empty();
                 }
-                return Optional.ofNullable(result.getString("value"));
+                String value = result.getString("value");
+                return value != null ? Optional.of(new DataEntry(value, hasExpiry ? expiresAt : 0L)) : Optional.empty();
             }
-        } catch (SQLException ex) {
-            logger.log(Level.WARNING, "Failed to read data entry {0}:{1}", new Object[]{namespace, key});
-            logger.log(Level.FINE, "SQL error", ex);
-            return Optional.empty();
         }
     }
 
@@ -102,15 +132,74 @@ public final class SqlGatewayDataService implements GatewayDataService {
         if (namespace == null || namespace.isBlank() || key == null || key.isBlank()) {
             return;
         }
+        removeData(namespace, key);
+    }
+
+    @Override
+    public boolean writeDataBatch(List<DataWrite> writes) {
+        List<DataWrite> upserts = new ArrayList<>();
+        List<DataWrite> deletes = new ArrayList<>();
+        for (DataWrite write : writes) {
+            if (write.namespace() == null || write.namespace().isBlank() || write.key() == null || write.key().isBlank()) {
+                continue;
+            }
+            (write.value() != null ? upserts : deletes).add(write);
+        }
+        if (upserts.isEmpty() && deletes.isEmpty()) {
+            return true;
+        }
+        try (Connection connection = database.getConnection()) {
+            if (!upserts.isEmpty()) {
+                String sql = "INSERT INTO " + TABLE_DATA + " (namespace, data_key, value, expires_at) VALUES "
+                        + String.join(", ", Collections.nCopies(upserts.size(), "(?, ?, ?, ?)"))
+                        + " ON DUPLICATE KEY UPDATE value = VALUES(value), expires_at = VALUES(expires_at), updated_at = CURRENT_TIMESTAMP";
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    int index = 1;
+                    for (DataWrite write : upserts) {
+                        statement.setString(index++, write.namespace());
+                        statement.setString(index++, write.key());
+                        statement.setString(index++, write.value());
+                        if (write.expiresAt() != null) {
+                            statement.setLong(index++, write.expiresAt());
+                        } else {
+                            statement.setNull(index++, Types.BIGINT);
+                        }
+                    }
+                    statement.executeUpdate();
+                }
+            }
+            if (!deletes.isEmpty()) {
+                String sql = "DELETE FROM " + TABLE_DATA + " WHERE (namespace, data_key) IN ("
+                        + String.join(", ", Collections.nCopies(deletes.size(), "(?, ?)")) + ")";
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    int index = 1;
+                    for (DataWrite write : deletes) {
+                        statement.setString(index++, write.namespace());
+                        statement.setString(index++, write.key());
+                    }
+                    statement.executeUpdate();
+                }
+            }
+            return true;
+        } catch (SQLException ex) {
+            logger.log(Level.WARNING, "Failed to write {0} data entries", writes.size());
+            logger.log(Level.FINE, "SQL error", ex);
+            return false;
+        }
+    }
+
+    private boolean removeData(String namespace, String key) {
         String sql = "DELETE FROM " + TABLE_DATA + " WHERE namespace = ? AND data_key = ?";
         try (Connection connection = database.getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, namespace);
             statement.setString(2, key);
             statement.executeUpdate();
+            return true;
         } catch (SQLException ex) {
             logger.log(Level.WARNING, "Failed to delete data entry {0}:{1}", new Object[]{namespace, key});
             logger.log(Level.FINE, "SQL error", ex);
+            return false;
         }
     }
 
@@ -120,29 +209,78 @@ public final class SqlGatewayDataService implements GatewayDataService {
             return;
         }
         JsonObject json = profile.toJson();
-        String sql = "INSERT INTO " + TABLE_PROFILES + " (uuid, name, payload) VALUES (?, ?, ?) " +
-                "ON DUPLICATE KEY UPDATE name = VALUES(name), payload = VALUES(payload), updated_at = CURRENT_TIMESTAMP";
+        String sql = "INSERT INTO " + TABLE_PROFILES + " (uuid, name, name_normalized, payload) VALUES (?, ?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE name = VALUES(name), name_normalized = VALUES(name_normalized), " +
+                "payload = VALUES(payload), updated_at = CURRENT_TIMESTAMP";
         try (Connection connection = database.getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, profile.uuid());
             statement.setString(2, profile.name());
-            statement.setString(3, json.toString());
+            statement.setString(3, ProfileNameIndex.normalize(profile.name()));
+            statement.setString(4, json.toString());
             statement.executeUpdate();
+            profileNames.put(profile.uuid(), profile.name());
         } catch (SQLException ex) {
             logger.log(Level.WARNING, "Failed to upsert player profile for {0}", profile.uuid());
             logger.log(Level.FINE, "SQL error", ex);
         }
     }
 
+    @Override
+    public boolean savePlayerProfilesBatch(Collection<PlayerProfile> profiles) {
+        List<PlayerProfile> rows = new ArrayList<>(profiles.size());
+        for (PlayerProfile profile : profiles) {
+            if (profile != null) {
+                rows.add(profile);
+            }
+        }
+        if (rows.isEmpty()) {
+            return true;
+        }
+        String sql = "INSERT INTO " + TABLE_PROFILES + " (uuid, name, name_normalized, payload) VALUES "
+                + String.join(", ", Collections.nCopies(rows.size(), "(?, ?, ?, ?)"))
+                + " ON DUPLICATE KEY UPDATE name = VALUES(name), name_normalized = VALUES(name_normalized), "
+                + "payload = VALUES(payload), updated_at = CURRENT_TIMESTAMP";
+        try (Connection connection = database.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (PlayerProfile profile : rows) {
+                statement.setString(index++, profile.uuid());
+                statement.setString(index++, profile.name());
+                statement.setString(index++, ProfileNameIndex.normalize(profile.name()));
+                statement.setString(index++, profile.toJson().toString());
+            }
+            statement.executeUpdate();
+        } catch (SQLException ex) {
+            logger.log(Level.WARNING, "Failed to upsert {0} player profiles", rows.size());
+            logger.log(Level.FINE, "SQL error", ex);
+            return false;
+        }
+        for (PlayerProfile profile : rows) {
+            profileNames.put(profile.uuid(), profile.name());
+        }
+        return true;
+    }
+
     @Override
     public Optional<PlayerProfile> findProfileByName(String name) {
         if (name == null || name.isBlank()) {
             return Optional.empty();
         }
-        String sql = "SELECT payload FROM " + TABLE_PROFILES + " WHERE LOWER(name) = LOWER(?)";
+        String normalized = ProfileNameIndex.normalize(name);
+        Optional<String> indexed = profileNames.uuidOf(normalized);
+        if (indexed.isPresent()) {
+            Optional<PlayerProfile> profile = findProfileByUuid(indexed.get());
+            if (profile.isPresent() && ProfileNameIndex.normalize(profile.get().name()).equals(normalized)) {
+                return profile;
+            }
+            // the name moved to another player through a different gateway
+            profileNames.remove(indexed.get(), normalized);
+        }
+        String sql = "SELECT uuid, payload FROM " + TABLE_PROFILES + " WHERE name_normalized = ?";
         try (Connection connection = database.getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setString(1, name);
+            statement.setString(1, normalized);
             try (ResultSet result = statement.executeQuery()) {
                 if (!result.next()) {
                     return Optional.empty();
@@ -152,7 +290,9 @@ public final class SqlGatewayDataService implements GatewayDataService {
                     return Optional.empty();
                 }
                 JsonObject json = RedisCodec.gson().fromJson(payload, JsonObject.class);
-                return Optional.of(PlayerProfile.fromJson(json));
+                PlayerProfile profile = PlayerProfile.fromJson(json);
+                profileNames.put(result.getString("uuid"), profile.name());
+                return Optional.of(profile);
             }
         } catch (SQLException ex) {
             logger.log(Level.WARNING, "Failed to lookup player profile by name {0}", name);
@@ -188,13 +328,18 @@ public final class SqlGatewayDataService implements GatewayDataService {
         }
     }
 
+    @Override
+    public List<String> findProfileNames(String prefix, int limit) {
+        return profileNames.namesStartingWith(prefix, limit);
+    }
+
     @Override
     public JsonObject toJson(PlayerProfile profile) {
         return profile.toJson();
     }
 
     @Override
-    public Optional<IslandQuestData> loadIslandQuests(String islandUuid) {
+    public Optional<IslandQuestData> loadIslandQuests(String islandUuid) throws SQLException {
         if (islandUuid == null || islandUuid.isBlank()) {
             return Optional.empty();
         }
@@ -213,10 +358,6 @@ public final class SqlGatewayDataService implements GatewayDataService {
                 JsonObject json = RedisCodec.gson().fromJson(payload, JsonObject.class);
                 return Optional.of(IslandQuestData.fromJson(json));
             }
-        } catch (SQLException ex) {
-            logger.log(Level.WARNING, "Failed to load island quest data for {0}", islandUuid);
-            logger.log(Level.FINE, "SQL error", ex);
-            return Optional.empty();
         }
     }
 
@@ -238,6 +379,32 @@ public final class SqlGatewayDataService implements GatewayDataService {
         }
     }
 
+    @Override
+    public boolean saveIslandQuestsBatch(Collection<IslandQuestData> quests) {
+        if (quests == null || quests.isEmpty()) {
+            return true;
+        }
+        String sql = "INSERT INTO " + TABLE_QUESTS + " (island_uuid, payload) VALUES (?, ?) " +
+                "ON DUPLICATE KEY UPDATE payload = VALUES(payload), updated_at = CURRENT_TIMESTAMP";
+        try (Connection connection = database.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (IslandQuestData data : quests) {
+                if (data == null) {
+                    continue;
+                }
+                statement.setString(1, data.islandUuid());
+                statement.setString(2, data.toJson().toString());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            return true;
+        } catch (SQLException ex) {
+            logger.log(Level.WARNING, "Failed to save {0} island quest entries", quests.size());
+            logger.log(Level.FINE, "SQL error", ex);
+            return false;
+        }
+    }
+
     @Override
     public void deleteIslandQuests(String islandUuid) {
         if (islandUuid == null || islandUuid.isBlank()) {
@@ -272,12 +439,15 @@ public final class SqlGatewayDataService implements GatewayDataService {
                     CREATE TABLE IF NOT EXISTS ssb_player_profiles (
                         uuid VARCHAR(36) NOT NULL,
                         name VARCHAR(64) NOT NULL,
+                        name_normalized VARCHAR(64) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NULL,
                         payload LONGTEXT NOT NULL,
                         updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
                         PRIMARY KEY (uuid),
-                        UNIQUE KEY uq_ssb_player_profiles_name (name)
+                        UNIQUE KEY uq_ssb_player_profiles_name (name),
+                        UNIQUE KEY uq_ssb_player_profiles_name_normalized (name_normalized)
                     ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
                     """);
+            migrateProfileNames(connection, statement);
             statement.executeUpdate("""
                     CREATE TABLE IF NOT EXISTS ssb_island_quests (
                         island_uuid VARCHAR(36) NOT NULL,
@@ -291,6 +461,38 @@ public final class SqlGatewayDataService implements GatewayDataService {
         }
     }
 
+    /**
+     * Adds and backfills {@code name_normalized} on profile tables created before it existed.
+     */
+    private void migrateProfileNames(Connection connection, Statement statement) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, TABLE_PROFILES, "name_normalized")) {
+            if (columns.next()) {
+                return;
+            }
+        }
+        logger.info("Adding normalized name column to " + TABLE_PROFILES);
+        statement.executeUpdate("ALTER TABLE " + TABLE_PROFILES + " ADD COLUMN name_normalized "
+                + "VARCHAR(64) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NULL AFTER name");
+        statement.executeUpdate("UPDATE " + TABLE_PROFILES + " SET name_normalized = LOWER(TRIM(name))");
+        statement.executeUpdate("ALTER TABLE " + TABLE_PROFILES
+                + " ADD UNIQUE KEY uq_ssb_player_profiles_name_normalized (name_normalized)");
+    }
+
+    private void warmProfileNames() {
+        String sql = "SELECT uuid, name FROM " + TABLE_PROFILES;
+        try (Connection connection = database.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet result = statement.executeQuery()) {
+            while (result.next()) {
+                profileNames.put(result.getString("uuid"), result.getString("name"));
+            }
+            logger.fine("Indexed " + profileNames.size() + " player profile names");
+        } catch (SQLException ex) {
+            logger.log(Level.WARNING, "Failed to warm the player profile name index", ex);
+        }
+    }
+
     private void cleanupExpiredData() {
         String sql = "DELETE FROM " + TABLE_DATA + " WHERE expires_at IS NOT NULL AND expires_at <= ?";
         long now = System.currentTimeMillis();
@@ -303,7 +505,7 @@ public final class SqlGatewayDataService implements GatewayDataService {
         }
     }
 
-    private Long computeExpiry(Duration ttl) {
+    static Long computeExpiry(Duration ttl) {
         if (ttl == null || ttl.isZero() || ttl.isNegative()) {
             return null;
         }
@@ -315,4 +517,9 @@ public final class SqlGatewayDataService implements GatewayDataService {
         }
         return expiresAt;
     }
+
+    /**
+     * @param expiresAt epoch millis, or {@code 0} when the entry never expires
+     */
+    record DataEntry(String value, long expiresAt) { }
 }
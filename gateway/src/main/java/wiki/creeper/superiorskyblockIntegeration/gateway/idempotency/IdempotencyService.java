@@ -1,76 +1,164 @@
 package wiki.creeper.superiorskyblockIntegeration.gateway.idempotency;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lettuce.core.SetArgs;
+
 import java.time.Duration;
-import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import wiki.creeper.superiorskyblockIntegeration.gateway.GatewayResponse;
+import wiki.creeper.superiorskyblockIntegeration.redis.RedisManager;
 
 /**
- * In-memory idempotency cache to deduplicate gateway write operations.
+ * Two-tier idempotency store for gateway write operations, keyed by {@link IdempotencyKeyBuilder}.
+ *
+ * <p>A caller first {@link #claim(String) claims} the key. The claim is taken in a bounded Caffeine cache (L1) and
+ * then in Redis (L2) with {@code SET NX EX}, so a retry that lands on another gateway either replays the stored
+ * response or is told the original is still running. Completed responses are written back to both tiers; Redis
+ * writes after the claim are fire-and-forget. Expiry is left to Caffeine and Redis, so no sweep ever runs on a
+ * request thread. When Redis is unreachable the store degrades to the local tier.</p>
  */
 public final class IdempotencyService {
 
+    private static final int MAXIMUM_SIZE = 10_000;
+    private static final Duration PENDING_TTL = Duration.ofSeconds(30);
+    private static final long COMMAND_TIMEOUT_MS = 500L;
+    private static final long FAILURE_WARNING_INTERVAL_MS = 60_000L;
+    private static final String PENDING_MARKER = "pending";
+    private static final GatewayResponse PENDING = GatewayResponse.error("PENDING", "", true);
+
     private final Duration ttl;
+    private final RedisManager redisManager;
     private final Logger logger;
-    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+    private final Cache<String, GatewayResponse> local;
+    private final AtomicLong lastFailureWarningAt = new AtomicLong();
 
-    public IdempotencyService(Duration ttl, Logger logger) {
+    /**
+     * @param redisManager shared tier, or {@code null} to deduplicate on this gateway only
+     */
+    public IdempotencyService(Duration ttl, RedisManager redisManager, Logger logger) {
         this.ttl = ttl != null ? ttl : Duration.ofMinutes(5);
+        this.redisManager = redisManager;
         this.logger = logger;
+        this.local = Caffeine.newBuilder()
+                .expireAfterWrite(this.ttl)
+                .maximumSize(MAXIMUM_SIZE)
+                .build();
     }
 
-    public Optional<GatewayResponse> fetch(String key) {
+    /**
+     * Claims {@code key} for execution. A {@link Claim#acquired() acquired} claim must be followed by
+     * {@link #complete(String, GatewayResponse)} or {@link #release(String)}.
+     */
+    public Claim claim(String key) {
         if (key == null || key.isBlank()) {
-            return Optional.empty();
+            return Claim.ACQUIRED;
+        }
+        GatewayResponse existing = local.asMap().putIfAbsent(key, PENDING);
+        if (existing != null) {
+            return existing == PENDING ? Claim.IN_PROGRESS : Claim.replaying(existing);
         }
-        Entry entry = cache.get(key);
-        if (entry == null) {
-            return Optional.empty();
+        if (redisManager == null) {
+            return Claim.ACQUIRED;
         }
-        if (isExpired(entry)) {
-            cache.remove(key, entry);
-            return Optional.empty();
+        try {
+            String set = redisManager.async()
+                    .set(key, PENDING_MARKER, SetArgs.Builder.nx().ex(PENDING_TTL.toSeconds()))
+                    .get(COMMAND_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            if ("OK".equals(set)) {
+                return Claim.ACQUIRED;
+            }
+            String stored = redisManager.async().get(key).get(COMMAND_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            if (stored == null || PENDING_MARKER.equals(stored)) {
+                // still running on another gateway, or the claim expired between the two commands
+                local.asMap().remove(key, PENDING);
+                return Claim.IN_PROGRESS;
+            }
+            GatewayResponse response = GatewayResponse.fromJson(stored);
+            local.put(key, response);
+            return Claim.replaying(response);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            warnFailure(ex);
+            return Claim.ACQUIRED;
+        } catch (Exception ex) {
+            warnFailure(ex);
+            return Claim.ACQUIRED;
         }
-        return Optional.of(entry.response);
     }
 
-    public void store(String key, GatewayResponse response) {
+    /**
+     * Records the outcome of an acquired claim. Retryable failures are released instead so a retry runs again.
+     */
+    public void complete(String key, GatewayResponse response) {
         if (key == null || key.isBlank() || response == null) {
             return;
         }
-        long expiresAt = computeExpiry();
-        cache.put(key, new Entry(response, expiresAt));
-        sweepIfNeeded();
-    }
-
-    private long computeExpiry() {
-        long ttlMillis = Math.max(0L, ttl.toMillis());
-        long now = System.currentTimeMillis();
-        long expiresAt = now + ttlMillis;
-        if (expiresAt <= 0L) {
-            return Long.MAX_VALUE;
+        if (response.retryable()) {
+            release(key);
+            return;
+        }
+        local.put(key, response);
+        if (redisManager != null) {
+            try {
+                redisManager.async().set(key, response.toJson(), SetArgs.Builder.ex(ttl.toSeconds()))
+                        .exceptionally(ex -> {
+                            warnFailure(ex);
+                            return null;
+                        });
+            } catch (RuntimeException ex) {
+                warnFailure(ex);
+            }
         }
-        return expiresAt;
-    }
-
-    private boolean isExpired(Entry entry) {
-        return entry.expiresAt != Long.MAX_VALUE && entry.expiresAt <= System.currentTimeMillis();
     }
 
-    private void sweepIfNeeded() {
-        if (cache.size() < 512) {
+    /**
+     * Gives up an acquired claim without recording a result.
+     */
+    public void release(String key) {
+        if (key == null || key.isBlank()) {
             return;
         }
+        local.asMap().remove(key, PENDING);
+        if (redisManager != null) {
+            try {
+                redisManager.async().del(key).exceptionally(ex -> {
+                    warnFailure(ex);
+                    return null;
+                });
+            } catch (RuntimeException ex) {
+                warnFailure(ex);
+            }
+        }
+    }
+
+    private void warnFailure(Throwable ex) {
         long now = System.currentTimeMillis();
-        cache.entrySet().removeIf(e -> e.getValue().expiresAt != Long.MAX_VALUE && e.getValue().expiresAt <= now);
-        if (logger != null && cache.size() > 4096) {
-            logger.warning("Idempotency cache contains more than 4096 entries; consider reducing TTL");
+        long last = lastFailureWarningAt.get();
+        if (logger == null || now - last < FAILURE_WARNING_INTERVAL_MS || !lastFailureWarningAt.compareAndSet(last, now)) {
+            return;
         }
+        logger.log(Level.WARNING, "Redis idempotency store unavailable; deduplicating on this gateway only", ex);
     }
 
-    private record Entry(GatewayResponse response, long expiresAt) {
+    /**
+     * Outcome of {@link #claim(String)}: exactly one of acquired, in progress, or a stored response to replay.
+     */
+    public record Claim(boolean acquired, GatewayResponse replay) {
+
+        static final Claim ACQUIRED = new Claim(true, null);
+        static final Claim IN_PROGRESS = new Claim(false, null);
+
+        static Claim replaying(GatewayResponse response) {
+            return new Claim(false, response);
+        }
+
+        public boolean inProgress() {
+            return !acquired && replay == null;
+        }
     }
 }